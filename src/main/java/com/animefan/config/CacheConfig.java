@@ -21,11 +21,10 @@ public class CacheConfig {
         CaffeineCacheManager cacheManager = new CaffeineCacheManager();
         cacheManager.setCaffeine(caffeineCacheBuilder());
         cacheManager.setCacheNames(java.util.List.of(
-                "topAnime",
                 "genreStats",
                 "genres",
-                "platformStats",
-                "animeById"
+                "animeById",
+                "animeStats"
         ));
         return cacheManager;
     }
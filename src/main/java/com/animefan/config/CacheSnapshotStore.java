@@ -0,0 +1,186 @@
+package com.animefan.config;
+
+import com.animefan.model.Anime;
+import com.animefan.model.Review;
+import com.animefan.model.Studio;
+import com.animefan.model.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Persists Caffeine cache contents to a local file on shutdown and restores them on boot.
+ * Each snapshot carries a data version stamp; a snapshot whose stamp no longer matches
+ * the database (or which is older than the configured max age) is discarded.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CacheSnapshotStore {
+
+    private final CacheManager cacheManager;
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${app.cache.snapshot.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.cache.snapshot.path:data/cache-snapshot.bin}")
+    private String snapshotPath;
+
+    @Value("${app.cache.snapshot.max-age-minutes:30}")
+    private long maxAgeMinutes;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Write all cache entries to the snapshot file before the cache manager is destroyed
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void save() {
+        if (!enabled) return;
+
+        Map<String, Map<Object, Object>> caches = new LinkedHashMap<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+                Map<Object, Object> entries = new HashMap<>(nativeCache.asMap());
+                if (!entries.isEmpty()) {
+                    caches.put(name, entries);
+                }
+            }
+        }
+
+        if (caches.isEmpty()) {
+            log.info("Cache snapshot skipped - all caches are empty");
+            return;
+        }
+
+        Path target = Paths.get(snapshotPath);
+        try {
+            if (target.getParent() != null) {
+                Files.createDirectories(target.getParent());
+            }
+            Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+            try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeObject(new Snapshot(currentDataVersion(), Instant.now(), caches));
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Cache snapshot written to {} ({} caches)", target, caches.size());
+        } catch (Exception e) {
+            log.warn("Failed to write cache snapshot: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Load the snapshot file into the caches
+     *
+     * @return names of the caches that were restored
+     */
+    public Set<String> restore() {
+        if (!enabled) return Collections.emptySet();
+
+        Path source = Paths.get(snapshotPath);
+        if (!Files.exists(source)) {
+            log.info("No cache snapshot found at {}", source);
+            return Collections.emptySet();
+        }
+
+        try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(source)))) {
+            in.setObjectInputFilter(CacheSnapshotStore::filterClass);
+            Snapshot snapshot = (Snapshot) in.readObject();
+
+            if (snapshot.createdAt().isBefore(Instant.now().minus(Duration.ofMinutes(maxAgeMinutes)))) {
+                log.info("Cache snapshot from {} is older than {} minutes, discarding", snapshot.createdAt(), maxAgeMinutes);
+                return Collections.emptySet();
+            }
+            String version = currentDataVersion();
+            if (!version.equals(snapshot.dataVersion())) {
+                log.info("Cache snapshot is stale (data version {} != {}), discarding", snapshot.dataVersion(), version);
+                return Collections.emptySet();
+            }
+
+            Set<String> restored = new HashSet<>();
+            snapshot.caches().forEach((name, entries) -> {
+                Cache cache = cacheManager.getCache(name);
+                if (cache != null) {
+                    entries.forEach(cache::put);
+                    restored.add(name);
+                }
+            });
+            log.info("Restored {} caches from snapshot taken at {}", restored.size(), snapshot.createdAt());
+            return restored;
+        } catch (Exception e) {
+            log.warn("Failed to read cache snapshot, ignoring it: {}", e.getMessage());
+            return Collections.emptySet();
+        } finally {
+            // A snapshot is only valid once; the next one is written on shutdown
+            try {
+                Files.deleteIfExists(source);
+            } catch (IOException e) {
+                log.debug("Could not delete cache snapshot: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Cheap fingerprint of the cached data: collection sizes plus the latest modification times
+     */
+    private String currentDataVersion() {
+        return String.join(":",
+                String.valueOf(mongoTemplate.estimatedCount(Anime.class)),
+                String.valueOf(mongoTemplate.estimatedCount(User.class)),
+                String.valueOf(mongoTemplate.estimatedCount(Review.class)),
+                String.valueOf(mongoTemplate.estimatedCount(Studio.class)),
+                latestUpdate("anime"),
+                latestUpdate("reviews"));
+    }
+
+    private String latestUpdate(String collection) {
+        Query query = new Query().with(Sort.by(Sort.Direction.DESC, "updatedAt")).limit(1);
+        query.fields().include("updatedAt");
+        Document latest = mongoTemplate.findOne(query, Document.class, collection);
+        return latest != null && latest.get("updatedAt") != null ? latest.get("updatedAt").toString() : "-";
+    }
+
+    private static ObjectInputFilter.Status filterClass(ObjectInputFilter.FilterInfo info) {
+        Class<?> clazz = info.serialClass();
+        if (clazz == null) {
+            return ObjectInputFilter.Status.UNDECIDED;
+        }
+        while (clazz.isArray()) {
+            clazz = clazz.getComponentType();
+        }
+        String name = clazz.getName();
+        if (clazz.isPrimitive()
+                || name.startsWith("java.")
+                || name.startsWith("com.animefan.")
+                || name.equals("org.springframework.cache.interceptor.SimpleKey")) {
+            return ObjectInputFilter.Status.ALLOWED;
+        }
+        return ObjectInputFilter.Status.REJECTED;
+    }
+
+    private record Snapshot(String dataVersion, Instant createdAt,
+                            Map<String, Map<Object, Object>> caches) implements Serializable {
+    }
+}
@@ -0,0 +1,79 @@
+package com.animefan.config;
+
+import com.animefan.service.AnimeService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Preloads the declared caches in parallel before the application reports ready.
+ * Runs after {@link DataInitializer} so that genre counts and sample data are in place.
+ * Caches restored from a valid on-disk snapshot are not recomputed.
+ */
+@Slf4j
+@Component
+@Profile("!test")
+@Order(10)
+@RequiredArgsConstructor
+public class CacheWarmer implements ApplicationRunner {
+
+    private final AnimeService animeService;
+    private final CacheSnapshotStore snapshotStore;
+
+    @Value("${app.cache.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.cache.warmup.timeout-seconds:30}")
+    private long timeoutSeconds;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Set<String> restored = snapshotStore.restore();
+
+        if (!enabled) {
+            log.info("Cache warm-up is disabled");
+            return;
+        }
+
+        Map<String, List<Runnable>> tasks = new LinkedHashMap<>();
+        tasks.put("genreStats", List.of(animeService::getGenreStatistics));
+        tasks.put("genres", List.of(animeService::getAllGenres));
+        restored.forEach(tasks::remove);
+
+        if (tasks.isEmpty()) {
+            log.info("All caches restored from snapshot, skipping warm-up");
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        List<Runnable> jobs = tasks.values().stream().flatMap(List::stream).toList();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(jobs.size(), 4));
+        try {
+            CompletableFuture<?>[] futures = jobs.stream()
+                    .map(job -> CompletableFuture.runAsync(job, executor)
+                            .exceptionally(e -> {
+                                log.warn("Cache warm-up task failed: {}", e.getMessage());
+                                return null;
+                            }))
+                    .toArray(CompletableFuture[]::new);
+            CompletableFuture.allOf(futures).get(timeoutSeconds, TimeUnit.SECONDS);
+            log.info("Warmed up caches {} in {} ms", tasks.keySet(), System.currentTimeMillis() - start);
+        } catch (TimeoutException e) {
+            log.warn("Cache warm-up did not finish within {} s, continuing startup", timeoutSeconds);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.warn("Cache warm-up failed: {}", e.getMessage());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
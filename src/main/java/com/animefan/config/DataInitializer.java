@@ -2,11 +2,14 @@ package com.animefan.config;
 
 import com.animefan.model.*;
 import com.animefan.repository.*;
+import com.animefan.service.EpisodeService;
 import com.animefan.service.GenreService;
+import com.animefan.service.PlatformStatsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
@@ -20,6 +23,7 @@ import java.util.List;
 @Slf4j
 @Component
 @Profile("!test")
+@Order(1)
 @RequiredArgsConstructor
 public class DataInitializer implements CommandLineRunner {
 
@@ -27,7 +31,9 @@ public class DataInitializer implements CommandLineRunner {
     private final AnimeRepository animeRepository;
     private final StudioRepository studioRepository;
     private final PasswordEncoder passwordEncoder;
+    private final EpisodeService episodeService;
     private final GenreService genreService;
+    private final PlatformStatsService platformStatsService;
 
     @Override
     public void run(String... args) {
@@ -45,6 +51,9 @@ public class DataInitializer implements CommandLineRunner {
         // Always recalculate genre counts on startup
         log.info("Recalculating genre counts...");
         genreService.recalculateAllGenreCounts();
+
+        // Exact platform totals; afterwards they are kept current by domain events
+        platformStatsService.reconcile();
     }
 
     private void initUsers() {
@@ -136,11 +145,6 @@ public class DataInitializer implements CommandLineRunner {
                         .posterUrl("https://cdn.myanimelist.net/images/anime/10/47347.jpg")
                         .studioId(studios.stream().filter(s -> s.getName().equals("Wit Studio")).findFirst().map(Studio::getId).orElse(null))
                         .studioName("Wit Studio")
-                        .episodes(Arrays.asList(
-                                Anime.Episode.builder().number(1).title("Падение Сигансины").duration(24).build(),
-                                Anime.Episode.builder().number(2).title("Тот день").duration(24).build(),
-                                Anime.Episode.builder().number(3).title("Мерцание во тьме").duration(24).build()
-                        ))
                         .build(),
 
                 Anime.builder()
@@ -161,10 +165,6 @@ public class DataInitializer implements CommandLineRunner {
                         .posterUrl("https://cdn.myanimelist.net/images/anime/1286/99889.jpg")
                         .studioId(studios.stream().filter(s -> s.getName().equals("ufotable")).findFirst().map(Studio::getId).orElse(null))
                         .studioName("ufotable")
-                        .episodes(Arrays.asList(
-                                Anime.Episode.builder().number(1).title("Жестокость").duration(24).build(),
-                                Anime.Episode.builder().number(2).title("Учитель Саконджи Урокодаки").duration(24).build()
-                        ))
                         .build(),
 
                 Anime.builder()
@@ -273,7 +273,19 @@ public class DataInitializer implements CommandLineRunner {
                         .build()
         );
 
-        animeRepository.saveAll(animeList);
+        List<Anime> saved = animeRepository.saveAll(animeList);
+
+        // Episodes are stored in buckets outside the anime documents
+        episodeService.saveEpisodes(saved.get(0).getId(), Arrays.asList(
+                Anime.Episode.builder().number(1).title("Падение Сигансины").duration(24).build(),
+                Anime.Episode.builder().number(2).title("Тот день").duration(24).build(),
+                Anime.Episode.builder().number(3).title("Мерцание во тьме").duration(24).build()
+        ));
+        episodeService.saveEpisodes(saved.get(1).getId(), Arrays.asList(
+                Anime.Episode.builder().number(1).title("Жестокость").duration(24).build(),
+                Anime.Episode.builder().number(2).title("Учитель Саконджи Урокодаки").duration(24).build()
+        ));
+
         log.info("Created {} sample anime", animeList.size());
     }
 }
@@ -1,5 +1,6 @@
 package com.animefan.config;
 
+import com.animefan.service.UserDetailsCache;
 import com.animefan.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
@@ -7,6 +8,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.CachingUserDetailsService;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -26,6 +28,7 @@ import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 public class SecurityConfig {
 
     private final UserService userService;
+    private final UserDetailsCache userDetailsCache;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -51,6 +54,11 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.GET, "/api/v1/genres/**").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/v1/studios/**").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/v1/reviews/**").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/v1/recommendations/anime/**").permitAll()
+                .requestMatchers("/api/v1/stats/activity/**").hasRole("ADMIN")
+                .requestMatchers("/api/v1/stats/denormalization").hasRole("ADMIN")
+                .requestMatchers("/api/v1/import-jobs/**").hasRole("ADMIN")
+                .requestMatchers("/api/v1/export/**").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.GET, "/api/v1/stats/**").permitAll()
 
                 // User registration
@@ -87,6 +95,7 @@ public class SecurityConfig {
             )
             .rememberMe(remember -> remember
                 .key("animefan-remember-me-key")
+                .userDetailsService(cachingUserDetailsService())
                 .tokenValiditySeconds(86400 * 7) // 7 days
             );
 
@@ -98,9 +107,19 @@ public class SecurityConfig {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
         provider.setUserDetailsService(userService);
         provider.setPasswordEncoder(passwordEncoder);
+        provider.setUserCache(userDetailsCache);
         return provider;
     }
 
+    /**
+     * Remember-me loads the user on every request of a new session, bypassing the provider's cache
+     */
+    private CachingUserDetailsService cachingUserDetailsService() {
+        CachingUserDetailsService service = new CachingUserDetailsService(userService);
+        service.setUserCache(userDetailsCache);
+        return service;
+    }
+
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration config) throws Exception {
         return config.getAuthenticationManager();
@@ -5,6 +5,8 @@ import com.animefan.dto.AnimeSearchDTO;
 import com.animefan.dto.GenreStatsDTO;
 import com.animefan.model.Anime;
 import com.animefan.service.AnimeService;
+import com.animefan.service.ChangeFeedService;
+import com.animefan.service.EpisodeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -30,6 +32,8 @@ import java.util.List;
 public class AnimeApiController {
 
     private final AnimeService animeService;
+    private final ChangeFeedService changeFeedService;
+    private final EpisodeService episodeService;
 
     @GetMapping
     @Operation(summary = "Get all anime", description = "Get paginated list of all anime")
@@ -44,6 +48,20 @@ public class AnimeApiController {
         return ResponseEntity.ok(animePage);
     }
 
+    @GetMapping("/changes")
+    @Operation(summary = "Get catalog changes",
+            description = "Anime summaries and tombstones changed after the given sequence number, oldest first. Pass nextSince back to continue; 410 means the cursor is too old and the client must resync from 0")
+    public ResponseEntity<ChangeFeedService.ChangesPage> getChanges(
+            @Parameter(description = "Last sequence number seen, 0 for a full sync") @RequestParam(defaultValue = "0") long since,
+            @Parameter(description = "Maximum number of changes") @RequestParam(defaultValue = "500") int limit) {
+
+        log.info("GET /api/v1/anime/changes - since: {}, limit: {}", since, limit);
+        if (changeFeedService.isExpired(since)) {
+            return ResponseEntity.status(HttpStatus.GONE).build();
+        }
+        return ResponseEntity.ok(changeFeedService.getChanges(since, Math.max(1, Math.min(limit, 1000))));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get anime by ID", description = "Get anime details by ID")
     public ResponseEntity<Anime> getAnimeById(
@@ -170,6 +188,18 @@ public class AnimeApiController {
 
     // Episode management endpoints
 
+    @GetMapping("/{animeId}/episodes")
+    @Operation(summary = "Get episodes",
+            description = "Episodes in number order starting at the given number. Pass nextFrom back to get the next page; it is null on the last page")
+    public ResponseEntity<EpisodeService.EpisodePage> getEpisodes(
+            @PathVariable String animeId,
+            @Parameter(description = "First episode number") @RequestParam(defaultValue = "1") int from,
+            @Parameter(description = "Maximum number of episodes") @RequestParam(defaultValue = "50") int limit) {
+
+        log.info("GET /api/v1/anime/{}/episodes - from: {}, limit: {}", animeId, from, limit);
+        return ResponseEntity.ok(episodeService.getEpisodes(animeId, from, Math.max(1, Math.min(limit, 500))));
+    }
+
     @PostMapping("/{animeId}/episodes")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Add episode", description = "Add episode to anime (Admin only)")
@@ -178,7 +208,7 @@ public class AnimeApiController {
             @Valid @RequestBody Anime.Episode episode) {
 
         log.info("POST /api/v1/anime/{}/episodes - number: {}", animeId, episode.getNumber());
-        animeService.addEpisode(animeId, episode);
+        episodeService.addEpisode(animeId, episode);
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
@@ -191,7 +221,7 @@ public class AnimeApiController {
             @Valid @RequestBody Anime.Episode episode) {
 
         log.info("PUT /api/v1/anime/{}/episodes/{}", animeId, episodeNumber);
-        animeService.updateEpisode(animeId, episodeNumber, episode.getTitle(), episode.getVideoUrl(), episode.getThumbnailUrl(), episode.getDuration());
+        episodeService.updateEpisode(animeId, episodeNumber, episode.getTitle(), episode.getVideoUrl(), episode.getThumbnailUrl(), episode.getDuration());
         return ResponseEntity.ok().build();
     }
 
@@ -203,7 +233,7 @@ public class AnimeApiController {
             @PathVariable int episodeNumber) {
 
         log.info("DELETE /api/v1/anime/{}/episodes/{}", animeId, episodeNumber);
-        animeService.deleteEpisode(animeId, episodeNumber);
+        episodeService.deleteEpisode(animeId, episodeNumber);
         return ResponseEntity.noContent().build();
     }
 }
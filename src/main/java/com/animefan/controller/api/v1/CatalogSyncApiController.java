@@ -0,0 +1,38 @@
+package com.animefan.controller.api.v1;
+
+import com.animefan.dto.CatalogSyncResultDTO;
+import com.animefan.service.CatalogSyncService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * REST API Controller for syncing catalog metadata from an external feed
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/anime/sync")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+@Tag(name = "Catalog Sync", description = "Diff-based catalog metadata sync API (admin only)")
+public class CatalogSyncApiController {
+
+    private final CatalogSyncService catalogSyncService;
+
+    @PostMapping(consumes = {"application/x-ndjson", "text/plain"})
+    @Operation(summary = "Sync catalog",
+            description = "Apply an NDJSON feed (one anime per line, matched by title). Unchanged anime are skipped, changed ones get field-level updates")
+    public ResponseEntity<CatalogSyncResultDTO> sync(InputStream feed) throws IOException {
+        log.info("POST /api/v1/anime/sync");
+        return ResponseEntity.ok(catalogSyncService.sync(new InputStreamReader(feed, StandardCharsets.UTF_8)));
+    }
+}
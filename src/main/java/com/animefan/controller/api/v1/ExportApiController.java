@@ -0,0 +1,68 @@
+package com.animefan.controller.api.v1;
+
+import com.animefan.service.ExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * REST API Controller for streaming data exports
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/export")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+@Tag(name = "Export", description = "Streaming catalog, review and user export API (admin only)")
+public class ExportApiController {
+
+    private final ExportService exportService;
+
+    @GetMapping("/{dataset}")
+    @Operation(summary = "Export dataset",
+            description = "Stream anime, reviews or users as NDJSON or CSV. Fields are a comma-separated subset of the allowed fields")
+    public ResponseEntity<StreamingResponseBody> export(
+            @PathVariable String dataset,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+
+        log.info("GET /api/v1/export/{} - format: {}, fields: {}, gzip: {}", dataset, format, fields, gzip);
+
+        ExportService.Dataset exportDataset = ExportService.Dataset.of(dataset);
+        ExportService.Format exportFormat = ExportService.Format.of(format);
+        List<String> exportFields = exportService.resolveFields(exportDataset, fields);
+
+        String fileName = exportDataset.name().toLowerCase() + "-" + LocalDate.now() + "." + exportFormat.getExtension()
+                + (gzip ? ".gz" : "");
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024);
+                exportService.export(exportDataset, exportFormat, exportFields, compressed);
+                compressed.finish();
+            } else {
+                exportService.export(exportDataset, exportFormat, exportFields, out);
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(gzip
+                        ? MediaType.parseMediaType("application/gzip")
+                        : MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,80 @@
+package com.animefan.controller.api.v1;
+
+import com.animefan.exception.ValidationException;
+import com.animefan.model.ImportJob;
+import com.animefan.model.User;
+import com.animefan.service.ImportJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * REST API Controller for background anime import jobs
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/import-jobs")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+@Tag(name = "Import Jobs", description = "Background bulk anime import API (admin only)")
+public class ImportJobApiController {
+
+    private final ImportJobService importJobService;
+
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Start import", description = "Upload a JSON array or quick-format file and start a background import")
+    public ResponseEntity<ImportJob> submit(
+            @RequestParam MultipartFile file,
+            @RequestParam(defaultValue = "JSON") ImportJob.Format format,
+            @RequestParam(defaultValue = "true") boolean skipDuplicates,
+            @AuthenticationPrincipal User user) throws IOException {
+
+        log.info("POST /api/v1/import-jobs - format: {}, size: {}", format, file.getSize());
+        if (file.isEmpty()) {
+            throw new ValidationException("Файл импорта пуст");
+        }
+        ImportJob job = importJobService.submit(file.getInputStream(), file.getOriginalFilename(), file.getSize(),
+                format, skipDuplicates, user.getUsername());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    @GetMapping
+    @Operation(summary = "List import jobs", description = "Get the most recent import jobs")
+    public ResponseEntity<List<ImportJob>> getRecentJobs() {
+        log.info("GET /api/v1/import-jobs");
+        return ResponseEntity.ok(importJobService.getRecentJobs());
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get import job", description = "Get status and progress of an import job")
+    public ResponseEntity<ImportJob> getJob(@PathVariable String id) {
+        log.info("GET /api/v1/import-jobs/{}", id);
+        return ResponseEntity.ok(importJobService.getJob(id));
+    }
+
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Follow import job", description = "Server-sent progress events until the job stops")
+    public SseEmitter followJob(@PathVariable String id) {
+        log.info("GET /api/v1/import-jobs/{}/events", id);
+        return importJobService.subscribe(id);
+    }
+
+    @PostMapping("/{id}/resume")
+    @Operation(summary = "Resume import job", description = "Continue a failed or interrupted job from its last checkpoint")
+    public ResponseEntity<ImportJob> resumeJob(@PathVariable String id) {
+        log.info("POST /api/v1/import-jobs/{}/resume", id);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(importJobService.resume(id));
+    }
+}
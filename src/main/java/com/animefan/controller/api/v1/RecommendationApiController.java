@@ -0,0 +1,55 @@
+package com.animefan.controller.api.v1;
+
+import com.animefan.dto.AnimeDTO;
+import com.animefan.model.User;
+import com.animefan.service.RecommendationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST API Controller for anime recommendations
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/recommendations")
+@RequiredArgsConstructor
+@Tag(name = "Recommendations", description = "Collaborative filtering recommendations API")
+public class RecommendationApiController {
+
+    private static final int MAX_LIMIT = 50;
+
+    private final RecommendationService recommendationService;
+
+    @GetMapping("/me")
+    @Operation(summary = "Get my recommendations", description = "Personalized picks based on the current user's anime list")
+    public ResponseEntity<List<AnimeDTO>> getMyRecommendations(
+            @AuthenticationPrincipal User user,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        log.info("GET /api/v1/recommendations/me - user: {}", user.getUsername());
+        List<AnimeDTO> anime = recommendationService.getPersonalized(user.getId(), Math.min(limit, MAX_LIMIT)).stream()
+                .map(AnimeDTO::fromEntity)
+                .toList();
+        return ResponseEntity.ok(anime);
+    }
+
+    @GetMapping("/anime/{animeId}")
+    @Operation(summary = "Get also watched", description = "Anime most often listed together with the given anime")
+    public ResponseEntity<List<AnimeDTO>> getAlsoWatched(
+            @PathVariable String animeId,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        log.info("GET /api/v1/recommendations/anime/{}", animeId);
+        List<AnimeDTO> anime = recommendationService.getAlsoWatched(animeId, Math.min(limit, MAX_LIMIT)).stream()
+                .map(AnimeDTO::fromEntity)
+                .toList();
+        return ResponseEntity.ok(anime);
+    }
+}
@@ -1,13 +1,20 @@
 package com.animefan.controller.api.v1;
 
+import com.animefan.model.ActivityBucket;
+import com.animefan.service.ActivityService;
+import com.animefan.service.DenormalizationService;
 import com.animefan.service.StatsService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 /**
  * REST API Controller for Statistics and Analytics
  */
@@ -19,6 +26,8 @@ import org.springframework.web.bind.annotation.*;
 public class StatsApiController {
 
     private final StatsService statsService;
+    private final ActivityService activityService;
+    private final DenormalizationService denormalizationService;
 
     @GetMapping("/platform")
     @Operation(summary = "Get platform stats", description = "Get platform-wide statistics")
@@ -67,4 +76,27 @@ public class StatsApiController {
         log.info("GET /api/v1/stats/top/reviewers - limit: {}", limit);
         return ResponseEntity.ok(statsService.getTopReviewers(limit));
     }
+
+    @GetMapping("/activity/{metric}")
+    @Operation(summary = "Get activity series",
+            description = "Get activity counts over time (admin only). Granularity is chosen from the range when omitted")
+    public ResponseEntity<List<ActivityService.ActivityPoint>> getActivity(
+            @PathVariable ActivityBucket.Metric metric,
+            @RequestParam(required = false) ActivityBucket.Granularity granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        log.info("GET /api/v1/stats/activity/{} - granularity: {}, from: {}, to: {}", metric, granularity, from, to);
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusHours(24);
+        return ResponseEntity.ok(activityService.getSeries(metric, granularity, start, end));
+    }
+
+    @GetMapping("/denormalization")
+    @Operation(summary = "Get propagation status",
+            description = "Get progress of copying changed titles, posters and avatars to dependent documents (admin only)")
+    public ResponseEntity<DenormalizationService.PropagationStatus> getDenormalizationStatus() {
+        log.info("GET /api/v1/stats/denormalization");
+        return ResponseEntity.ok(denormalizationService.getStatus());
+    }
 }
@@ -1,6 +1,7 @@
 package com.animefan.controller.api.v1;
 
 import com.animefan.model.Studio;
+import com.animefan.model.StudioStatistics;
 import com.animefan.service.StudioService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -117,4 +118,12 @@ public class StudioApiController {
         List<Studio> studios = studioService.getTopStudios(limit);
         return ResponseEntity.ok(studios);
     }
+
+    @GetMapping("/{id}/stats")
+    @Operation(summary = "Get studio statistics", description = "Get anime count, average rating and total views of a studio")
+    public ResponseEntity<StudioStatistics> getStudioStatistics(@PathVariable String id) {
+        log.info("GET /api/v1/studios/{}/stats", id);
+        StudioStatistics statistics = studioService.getStudioStatistics(id);
+        return ResponseEntity.ok(statistics);
+    }
 }
@@ -0,0 +1,53 @@
+package com.animefan.controller.api.v1;
+
+import com.animefan.dto.WatchProgressDTO;
+import com.animefan.model.User;
+import com.animefan.service.WatchProgressService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST API Controller for playback position heartbeats and resume lookups
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/progress")
+@RequiredArgsConstructor
+@Tag(name = "Watch Progress", description = "Per-episode playback position API")
+public class WatchProgressApiController {
+
+    private final WatchProgressService watchProgressService;
+
+    @PostMapping("/heartbeat")
+    @Operation(summary = "Report playback position",
+            description = "Called by the player every few seconds; positions are buffered and written in batches")
+    public ResponseEntity<Void> heartbeat(
+            @AuthenticationPrincipal User user,
+            @Valid @RequestBody WatchProgressDTO heartbeat) {
+
+        // Logged at debug: players send these every few seconds
+        log.debug("POST /api/v1/progress/heartbeat - user: {}, anime: {}, episode: {}",
+                user.getUsername(), heartbeat.getAnimeId(), heartbeat.getEpisode());
+        watchProgressService.heartbeat(user.getId(), heartbeat);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/anime/{animeId}/episodes/{episode}")
+    @Operation(summary = "Get resume position", description = "Where to resume the episode; 204 if it was never played")
+    public ResponseEntity<WatchProgressDTO> getResumePosition(
+            @AuthenticationPrincipal User user,
+            @PathVariable String animeId,
+            @PathVariable int episode) {
+
+        log.debug("GET /api/v1/progress/anime/{}/episodes/{} - user: {}", animeId, episode, user.getUsername());
+        return watchProgressService.getResumePosition(user.getId(), animeId, episode)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+}
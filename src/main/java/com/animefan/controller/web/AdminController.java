@@ -1,11 +1,8 @@
 package com.animefan.controller.web;
 
 import com.animefan.dto.AnimeDTO;
-import com.animefan.dto.BulkImportResultDTO;
 import com.animefan.model.*;
 import com.animefan.service.*;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -15,10 +12,13 @@ import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import jakarta.validation.Valid;
-import java.util.Arrays;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -39,7 +39,8 @@ public class AdminController {
     private final StatsService statsService;
     private final BannerService bannerService;
     private final GenreService genreService;
-    private final ObjectMapper objectMapper;
+    private final ImportJobService importJobService;
+    private final EpisodeService episodeService;
 
     @GetMapping
     public String adminDashboard(Model model, @AuthenticationPrincipal User user) {
@@ -107,11 +108,7 @@ public class AdminController {
         }
 
         try {
-            Anime anime = animeService.createAnime(animeDTO);
-            // Update genre counts
-            if (animeDTO.getGenres() != null) {
-                genreService.updateGenreCounts(animeDTO.getGenres());
-            }
+            animeService.createAnime(animeDTO);
             redirectAttributes.addFlashAttribute("success", "Аниме успешно создано");
             return "redirect:/admin/anime";
         } catch (Exception e) {
@@ -128,150 +125,78 @@ public class AdminController {
     // Bulk Import
 
     @GetMapping("/anime/bulk-import")
-    public String bulkImportForm(Model model, @AuthenticationPrincipal User user) {
+    public String bulkImportForm(
+            @RequestParam(required = false) String job,
+            Model model,
+            @AuthenticationPrincipal User user) {
         log.info("GET /admin/anime/bulk-import");
+        model.addAttribute("importJobs", importJobService.getRecentJobs());
+        model.addAttribute("activeJobId", job);
         model.addAttribute("currentUser", user);
         return "admin/anime/bulk-import";
     }
 
     @PostMapping("/anime/bulk-import/json")
     public String bulkImportJson(
-            @RequestParam String jsonData,
+            @RequestParam(required = false) MultipartFile file,
+            @RequestParam(required = false) String jsonData,
             @RequestParam(required = false, defaultValue = "true") boolean skipDuplicates,
             RedirectAttributes redirectAttributes,
             @AuthenticationPrincipal User user) {
 
         log.info("POST /admin/anime/bulk-import/json");
-
-        BulkImportResultDTO result = new BulkImportResultDTO();
-
-        try {
-            List<AnimeDTO> animeList = objectMapper.readValue(jsonData, new TypeReference<List<AnimeDTO>>() {});
-
-            for (AnimeDTO animeDTO : animeList) {
-                try {
-                    // Validate required fields
-                    if (animeDTO.getTitle() == null || animeDTO.getTitle().isBlank()) {
-                        result.addError("Пропущено аниме без названия");
-                        continue;
-                    }
-                    if (animeDTO.getDescription() == null || animeDTO.getDescription().length() < 10) {
-                        result.addError("\"" + animeDTO.getTitle() + "\": описание должно быть не менее 10 символов");
-                        continue;
-                    }
-                    if (animeDTO.getGenres() == null || animeDTO.getGenres().isEmpty()) {
-                        result.addError("\"" + animeDTO.getTitle() + "\": укажите хотя бы один жанр");
-                        continue;
-                    }
-
-                    // Check for duplicates
-                    if (skipDuplicates && animeService.existsByTitle(animeDTO.getTitle())) {
-                        result.incrementSkipped();
-                        continue;
-                    }
-
-                    // Set defaults
-                    if (animeDTO.getType() == null) animeDTO.setType("TV");
-                    if (animeDTO.getStatus() == null) animeDTO.setStatus("ONGOING");
-
-                    animeService.createAnime(animeDTO);
-                    if (animeDTO.getGenres() != null) {
-                        genreService.updateGenreCounts(animeDTO.getGenres());
-                    }
-                    result.addSuccess(animeDTO.getTitle());
-
-                } catch (Exception e) {
-                    result.addError("\"" + animeDTO.getTitle() + "\": " + e.getMessage());
-                }
-            }
-
-        } catch (Exception e) {
-            log.error("Error parsing JSON for bulk import", e);
-            result.addError("Ошибка парсинга JSON: " + e.getMessage());
-        }
-
-        redirectAttributes.addFlashAttribute("importResults", result);
-        return "redirect:/admin/anime/bulk-import";
+        return submitImport(ImportJob.Format.JSON, file, jsonData, skipDuplicates, redirectAttributes, user);
     }
 
     @PostMapping("/anime/bulk-import/quick")
     public String bulkImportQuick(
-            @RequestParam String quickData,
+            @RequestParam(required = false) MultipartFile file,
+            @RequestParam(required = false) String quickData,
             @RequestParam(required = false, defaultValue = "true") boolean skipDuplicates,
             RedirectAttributes redirectAttributes,
             @AuthenticationPrincipal User user) {
 
         log.info("POST /admin/anime/bulk-import/quick");
+        return submitImport(ImportJob.Format.QUICK, file, quickData, skipDuplicates, redirectAttributes, user);
+    }
 
-        BulkImportResultDTO result = new BulkImportResultDTO();
-
-        String[] lines = quickData.split("\\r?\\n");
-
-        for (String line : lines) {
-            if (line.isBlank()) continue;
-
-            try {
-                String[] parts = line.split("\\|");
-                if (parts.length < 3) {
-                    result.addError("Неверный формат строки: " + line.substring(0, Math.min(50, line.length())));
-                    continue;
-                }
-
-                String title = parts[0].trim();
-                String description = parts[1].trim();
-                List<String> genres = Arrays.stream(parts[2].split(","))
-                        .map(String::trim)
-                        .filter(s -> !s.isEmpty())
-                        .collect(Collectors.toList());
-
-                if (title.isBlank()) {
-                    result.addError("Пустое название в строке");
-                    continue;
-                }
-                if (description.length() < 10) {
-                    result.addError("\"" + title + "\": описание должно быть не менее 10 символов");
-                    continue;
-                }
-                if (genres.isEmpty()) {
-                    result.addError("\"" + title + "\": укажите хотя бы один жанр");
-                    continue;
-                }
-
-                // Check for duplicates
-                if (skipDuplicates && animeService.existsByTitle(title)) {
-                    result.incrementSkipped();
-                    continue;
-                }
-
-                AnimeDTO animeDTO = AnimeDTO.builder()
-                        .title(title)
-                        .description(description)
-                        .genres(genres)
-                        .releaseYear(parts.length > 3 ? parseIntSafe(parts[3].trim()) : null)
-                        .type(parts.length > 4 ? parts[4].trim().toUpperCase() : "TV")
-                        .status(parts.length > 5 ? parts[5].trim().toUpperCase() : "ONGOING")
-                        .build();
-
-                animeService.createAnime(animeDTO);
-                if (animeDTO.getGenres() != null) {
-                    genreService.updateGenreCounts(animeDTO.getGenres());
-                }
-                result.addSuccess(title);
-
-            } catch (Exception e) {
-                result.addError("Ошибка в строке: " + e.getMessage());
-            }
+    @PostMapping("/anime/bulk-import/jobs/{id}/resume")
+    public String resumeImportJob(@PathVariable String id, RedirectAttributes redirectAttributes) {
+        log.info("POST /admin/anime/bulk-import/jobs/{}/resume", id);
+        try {
+            importJobService.resume(id);
+            redirectAttributes.addFlashAttribute("success", "Импорт возобновлён");
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("error", e.getMessage());
         }
-
-        redirectAttributes.addFlashAttribute("importResults", result);
-        return "redirect:/admin/anime/bulk-import";
+        return "redirect:/admin/anime/bulk-import?job=" + id;
     }
 
-    private Integer parseIntSafe(String value) {
+    /**
+     * Queue an import job for the uploaded file, or for the pasted text when no file was chosen
+     */
+    private String submitImport(ImportJob.Format format, MultipartFile file, String text, boolean skipDuplicates,
+                                RedirectAttributes redirectAttributes, User user) {
         try {
-            return Integer.parseInt(value);
-        } catch (NumberFormatException e) {
-            return null;
+            ImportJob job;
+            if (file != null && !file.isEmpty()) {
+                job = importJobService.submit(file.getInputStream(), file.getOriginalFilename(), file.getSize(),
+                        format, skipDuplicates, user.getUsername());
+            } else if (text != null && !text.isBlank()) {
+                byte[] content = text.getBytes(StandardCharsets.UTF_8);
+                job = importJobService.submit(new ByteArrayInputStream(content),
+                        format == ImportJob.Format.JSON ? "import.json" : "import.txt", content.length,
+                        format, skipDuplicates, user.getUsername());
+            } else {
+                redirectAttributes.addFlashAttribute("error", "Выберите файл или вставьте данные для импорта");
+                return "redirect:/admin/anime/bulk-import";
+            }
+            redirectAttributes.addFlashAttribute("success", "Импорт запущен в фоне");
+            return "redirect:/admin/anime/bulk-import?job=" + job.getId();
+        } catch (IOException e) {
+            log.error("Failed to read import upload", e);
+            redirectAttributes.addFlashAttribute("error", "Не удалось прочитать файл: " + e.getMessage());
+            return "redirect:/admin/anime/bulk-import";
         }
     }
 
@@ -321,10 +246,6 @@ public class AdminController {
 
         try {
             animeService.updateAnime(id, animeDTO);
-            // Update genre counts
-            if (animeDTO.getGenres() != null) {
-                genreService.updateGenreCounts(animeDTO.getGenres());
-            }
             redirectAttributes.addFlashAttribute("success", "Аниме успешно обновлено");
             return "redirect:/admin/anime";
         } catch (Exception e) {
@@ -369,6 +290,8 @@ public class AdminController {
         Page<Studio> studios = studioService.getAllStudios(page, 20);
 
         model.addAttribute("studios", studios);
+        model.addAttribute("studioStats", studioService.getStudioStatistics(
+                studios.getContent().stream().map(Studio::getId).toList()));
         model.addAttribute("currentUser", user);
 
         return "admin/studios/list";
@@ -470,14 +393,20 @@ public class AdminController {
     @GetMapping("/anime/{id}/episodes")
     public String episodeList(
             @PathVariable String id,
+            @RequestParam(defaultValue = "1") int from,
             Model model,
             @AuthenticationPrincipal User user) {
 
-        log.info("GET /admin/anime/{}/episodes", id);
+        log.info("GET /admin/anime/{}/episodes - from: {}", id, from);
 
         Anime anime = animeService.getAnimeById(id);
+        EpisodeService.EpisodePage episodes = episodeService.getEpisodes(id, from, EpisodeBucket.SIZE);
 
         model.addAttribute("anime", anime);
+        model.addAttribute("episodes", episodes);
+        model.addAttribute("from", Math.max(from, 1));
+        model.addAttribute("prevFrom", from > 1 ? Math.max(from - EpisodeBucket.SIZE, 1) : null);
+        model.addAttribute("nextEpisodeNumber", episodeService.getLastEpisodeNumber(id) + 1);
         model.addAttribute("currentUser", user);
 
         return "admin/anime/episodes";
@@ -504,7 +433,7 @@ public class AdminController {
                     .duration(duration)
                     .build();
 
-            animeService.addEpisode(id, episode);
+            episodeService.addEpisode(id, episode);
             redirectAttributes.addFlashAttribute("success", "Эпизод " + number + " успешно добавлен");
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("error", e.getMessage());
@@ -526,7 +455,7 @@ public class AdminController {
         log.info("POST /admin/anime/{}/episodes/{}/update", id, episodeNumber);
 
         try {
-            animeService.updateEpisode(id, episodeNumber, title, videoUrl, thumbnailUrl, duration);
+            episodeService.updateEpisode(id, episodeNumber, title, videoUrl, thumbnailUrl, duration);
             redirectAttributes.addFlashAttribute("success", "Эпизод " + episodeNumber + " обновлен");
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("error", e.getMessage());
@@ -544,7 +473,7 @@ public class AdminController {
         log.info("POST /admin/anime/{}/episodes/{}/delete", id, episodeNumber);
 
         try {
-            animeService.deleteEpisode(id, episodeNumber);
+            episodeService.deleteEpisode(id, episodeNumber);
             redirectAttributes.addFlashAttribute("success", "Эпизод " + episodeNumber + " удален");
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("error", e.getMessage());
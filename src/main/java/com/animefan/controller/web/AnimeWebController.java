@@ -14,7 +14,10 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Web Controller for Anime pages
@@ -25,11 +28,17 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class AnimeWebController {
 
+    private static final int EPISODE_PAGE_SIZE = 50;
+    private static final int SIDEBAR_EPISODES = 50;
+
     private final AnimeService animeService;
     private final ReviewService reviewService;
     private final UserAnimeRelationService relationService;
     private final StatsService statsService;
     private final StudioService studioService;
+    private final RecommendationService recommendationService;
+    private final EpisodeService episodeService;
+    private final WatchProgressService watchProgressService;
 
     @GetMapping
     public String animeList(
@@ -65,11 +74,12 @@ public class AnimeWebController {
 
         Anime anime = animeService.getAnimeByIdWithView(id);
         Page<Review> reviews = reviewService.getReviewsForAnime(id, reviewPage, 5);
-        StatsService.AnimeStats stats = statsService.getAnimeStats(id);
+        StatsService.AnimeStats stats = statsService.getAnimeStats(anime);
 
         model.addAttribute("anime", anime);
         model.addAttribute("reviews", reviews);
         model.addAttribute("stats", stats);
+        model.addAttribute("episodes", episodeService.getEpisodes(id, 1, EPISODE_PAGE_SIZE));
         model.addAttribute("currentUser", user);
 
         // Check user's relation with this anime
@@ -84,14 +94,11 @@ public class AnimeWebController {
             }
         }
 
-        // Get related anime by genre
-        if (anime.getGenres() != null && !anime.getGenres().isEmpty()) {
-            Page<Anime> relatedAnime = animeService.getAnimeByGenre(anime.getGenres().get(0), 0, 6);
-            model.addAttribute("relatedAnime", relatedAnime.getContent().stream()
-                    .filter(a -> !a.getId().equals(id))
-                    .limit(5)
-                    .toList());
+        // Similar anime are precomputed and embedded in the anime document
+        if (anime.getSimilarAnime() != null) {
+            model.addAttribute("similarAnime", anime.getSimilarAnime().stream().limit(5).toList());
         }
+        model.addAttribute("alsoWatched", recommendationService.getAlsoWatched(id, 5));
 
         return "anime/detail";
     }
@@ -107,7 +114,7 @@ public class AnimeWebController {
         Anime anime = animeService.getAnimeById(id);
 
         model.addAttribute("anime", anime);
-        model.addAttribute("episodes", anime.getEpisodes());
+        model.addAttribute("episodes", episodeService.getEpisodes(id, 1, EPISODE_PAGE_SIZE));
         model.addAttribute("currentUser", user);
 
         if (user != null) {
@@ -128,10 +135,14 @@ public class AnimeWebController {
         log.info("GET /anime/{}/watch/{}", animeId, episodeNumber);
 
         Anime anime = animeService.getAnimeById(animeId);
-        Anime.Episode currentEpisode = anime.getEpisodes().stream()
-                .filter(e -> e.getNumber() == episodeNumber)
-                .findFirst()
-                .orElse(null);
+
+        // Only the episodes around the current one are fetched; they fill the sidebar
+        // and hold the previous and next episode. The full list is paged.
+        List<Anime.Episode> window = episodeService.getEpisodeRange(
+                animeId, episodeNumber - SIDEBAR_EPISODES / 2, episodeNumber + SIDEBAR_EPISODES / 2);
+        Map<Integer, Anime.Episode> byNumber = window.stream()
+                .collect(Collectors.toMap(Anime.Episode::getNumber, Function.identity()));
+        Anime.Episode currentEpisode = byNumber.get(episodeNumber);
 
         if (currentEpisode == null) {
             return "redirect:/anime/" + animeId;
@@ -139,19 +150,22 @@ public class AnimeWebController {
 
         model.addAttribute("anime", anime);
         model.addAttribute("currentEpisode", currentEpisode);
-        model.addAttribute("episodes", anime.getEpisodes());
+        model.addAttribute("episodes", window);
+        model.addAttribute("episodeTotal", episodeService.countEpisodes(animeId));
         model.addAttribute("currentUser", user);
 
+        if (user != null) {
+            watchProgressService.getResumePosition(user.getId(), animeId, episodeNumber)
+                    .ifPresent(progress -> model.addAttribute("resume", progress));
+        }
+
         // Find prev/next episodes
-        anime.getEpisodes().stream()
-                .filter(e -> e.getNumber() == episodeNumber - 1)
-                .findFirst()
-                .ifPresent(e -> model.addAttribute("prevEpisode", e));
-
-        anime.getEpisodes().stream()
-                .filter(e -> e.getNumber() == episodeNumber + 1)
-                .findFirst()
-                .ifPresent(e -> model.addAttribute("nextEpisode", e));
+        if (byNumber.containsKey(episodeNumber - 1)) {
+            model.addAttribute("prevEpisode", byNumber.get(episodeNumber - 1));
+        }
+        if (byNumber.containsKey(episodeNumber + 1)) {
+            model.addAttribute("nextEpisode", byNumber.get(episodeNumber + 1));
+        }
 
         return "anime/watch";
     }
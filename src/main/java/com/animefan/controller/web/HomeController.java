@@ -8,6 +8,7 @@ import com.animefan.model.User;
 import com.animefan.service.AnimeService;
 import com.animefan.service.BannerService;
 import com.animefan.service.GenreService;
+import com.animefan.service.HomeFeedService;
 import com.animefan.service.StatsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -32,6 +33,7 @@ public class HomeController {
     private final StatsService statsService;
     private final BannerService bannerService;
     private final GenreService genreService;
+    private final HomeFeedService homeFeedService;
 
     /**
      * Handle favicon.ico requests to prevent 404 errors
@@ -62,6 +64,10 @@ public class HomeController {
         model.addAttribute("genres", genresWithBanners);
         model.addAttribute("currentUser", user);
 
+        if (user != null) {
+            model.addAttribute("homeFeed", homeFeedService.getFeed(user.getId(), 12));
+        }
+
         return "home";
     }
 
@@ -174,7 +180,7 @@ public class HomeController {
         StatsService.PlatformStats stats = statsService.getPlatformStats();
 
         // Check services status
-        boolean mongoStatus = checkMongoConnection();
+        boolean mongoStatus = statsService.isDatabaseAvailable();
 
         model.addAttribute("stats", stats);
         model.addAttribute("mongoStatus", mongoStatus);
@@ -185,15 +191,4 @@ public class HomeController {
 
         return "status";
     }
-
-    private boolean checkMongoConnection() {
-        try {
-            // Try to get stats - if it works, MongoDB is connected
-            statsService.getPlatformStats();
-            return true;
-        } catch (Exception e) {
-            log.error("MongoDB connection check failed", e);
-            return false;
-        }
-    }
 }
@@ -1,5 +1,6 @@
 package com.animefan.controller.web;
 
+import com.animefan.dto.UserDTO;
 import com.animefan.model.Review;
 import com.animefan.model.User;
 import com.animefan.model.UserAnimeRelation;
@@ -27,6 +28,7 @@ public class ProfileController {
     private final UserAnimeRelationService relationService;
     private final ReviewService reviewService;
     private final StatsService statsService;
+    private final SimilarUserService similarUserService;
 
     @GetMapping
     public String myProfile(Model model, @AuthenticationPrincipal User user) {
@@ -54,6 +56,7 @@ public class ProfileController {
         model.addAttribute("currentUser", currentUser);
         model.addAttribute("activeTab", tab);
         model.addAttribute("isOwnProfile", currentUser != null && currentUser.getId().equals(profileUser.getId()));
+        model.addAttribute("similarUsers", similarUserService.getSimilarUsers(profileUser.getId(), 6));
 
         // Load list based on tab
         Page<?> listContent = switch (tab) {
@@ -109,26 +112,23 @@ public class ProfileController {
         log.info("POST /profile/edit");
 
         try {
-            User currentUser = userService.getUserById(user.getId());
-
+            UserDTO profile = new UserDTO();
             if (displayName != null && !displayName.isBlank()) {
-                currentUser.setDisplayName(displayName);
-            }
-            if (bio != null) {
-                currentUser.setBio(bio);
+                profile.setDisplayName(displayName);
             }
+            profile.setBio(bio);
 
             // Handle avatar - URL takes priority over file
             if (avatarUrl != null && !avatarUrl.isBlank()) {
-                currentUser.setAvatarUrl(avatarUrl);
+                profile.setAvatarUrl(avatarUrl);
             } else if (avatarFile != null && !avatarFile.isEmpty()) {
                 // For now, just store as base64 (in production, upload to cloud storage)
                 String base64 = java.util.Base64.getEncoder().encodeToString(avatarFile.getBytes());
                 String mimeType = avatarFile.getContentType();
-                currentUser.setAvatarUrl("data:" + mimeType + ";base64," + base64);
+                profile.setAvatarUrl("data:" + mimeType + ";base64," + base64);
             }
 
-            userService.saveUser(currentUser);
+            userService.updateUserProfile(user.getId(), profile);
             redirectAttributes.addFlashAttribute("success", "Профиль успешно обновлен!");
         } catch (Exception e) {
             log.error("Error updating profile", e);
@@ -0,0 +1,60 @@
+package com.animefan.dto;
+
+import com.animefan.model.Anime;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for one change feed entry: an anime summary, or a tombstone for a deleted anime
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AnimeChangeDTO {
+
+    private long seq;
+    private String id;
+    private boolean deleted;
+
+    private String title;
+    private String posterUrl;
+    private List<String> genres;
+    private String type;
+    private String status;
+    private Integer releaseYear;
+    private Integer episodeCount;
+    private Double rating;
+    private Integer ratingCount;
+    private String studioName;
+    private LocalDateTime updatedAt;
+
+    public static AnimeChangeDTO tombstone(long seq, String id) {
+        return AnimeChangeDTO.builder().seq(seq).id(id).deleted(true).build();
+    }
+
+    public static AnimeChangeDTO summary(long seq, Anime anime) {
+        return AnimeChangeDTO.builder()
+                .seq(seq)
+                .id(anime.getId())
+                .title(anime.getTitle())
+                .posterUrl(anime.getPosterUrl())
+                .genres(anime.getGenres())
+                .type(anime.getType())
+                .status(anime.getStatus())
+                .releaseYear(anime.getReleaseYear())
+                .episodeCount(anime.getEpisodeCount())
+                .rating(anime.getRating())
+                .ratingCount(anime.getRatingCount())
+                .studioName(anime.getStudioName())
+                .updatedAt(anime.getUpdatedAt())
+                .build();
+    }
+}
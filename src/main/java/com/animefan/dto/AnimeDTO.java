@@ -55,8 +55,6 @@ public class AnimeDTO {
     private Integer viewCount;
     private Integer favoriteCount;
 
-    private List<Anime.Episode> episodes;
-
     private List<Anime.RelatedAnime> relatedAnime;
 
     /**
@@ -85,7 +83,6 @@ public class AnimeDTO {
                 .ratingCount(anime.getRatingCount())
                 .viewCount(anime.getViewCount())
                 .favoriteCount(anime.getFavoriteCount())
-                .episodes(anime.getEpisodes())
                 .relatedAnime(anime.getRelatedAnime())
                 .build();
     }
@@ -115,7 +112,6 @@ public class AnimeDTO {
                 .ratingCount(this.ratingCount != null ? this.ratingCount : 0)
                 .viewCount(this.viewCount != null ? this.viewCount : 0)
                 .favoriteCount(this.favoriteCount != null ? this.favoriteCount : 0)
-                .episodes(this.episodes)
                 .relatedAnime(this.relatedAnime)
                 .build();
     }
@@ -0,0 +1,57 @@
+package com.animefan.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * DTO for catalog sync results
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogSyncResultDTO {
+
+    private int insertedCount;
+    private int updatedCount;
+    private int unchangedCount;
+    private int errorCount;
+
+    @Builder.Default
+    private List<String> errors = new ArrayList<>();
+
+    // Number of anime on which each field changed
+    @Builder.Default
+    private Map<String, Integer> changedFields = new TreeMap<>();
+
+    public void addError(String error) {
+        if (errors == null) {
+            errors = new ArrayList<>();
+        }
+        errors.add(error);
+        errorCount++;
+    }
+
+    public void incrementInserted() {
+        insertedCount++;
+    }
+
+    public void incrementUpdated(List<String> fields) {
+        if (changedFields == null) {
+            changedFields = new TreeMap<>();
+        }
+        fields.forEach(field -> changedFields.merge(field, 1, Integer::sum));
+        updatedCount++;
+    }
+
+    public void incrementUnchanged() {
+        unchangedCount++;
+    }
+}
@@ -5,7 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.util.List;
+import java.io.Serializable;
 
 /**
  * DTO for genre statistics
@@ -14,7 +14,7 @@ import java.util.List;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class GenreStatsDTO {
+public class GenreStatsDTO implements Serializable {
     private String genre;
     private Long animeCount;
     private Double averageRating;
@@ -0,0 +1,36 @@
+package com.animefan.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Playback position heartbeat from the player, and the resume position returned to it
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WatchProgressDTO {
+
+    @NotBlank(message = "Anime ID is required")
+    private String animeId;
+
+    @Min(value = 1, message = "Episode number must be positive")
+    private int episode;
+
+    @Min(value = 0, message = "Position cannot be negative")
+    private int position;
+
+    @Min(value = 0, message = "Duration cannot be negative")
+    private Integer duration;
+
+    // Set in responses only
+    private boolean completed;
+    private LocalDateTime updatedAt;
+}
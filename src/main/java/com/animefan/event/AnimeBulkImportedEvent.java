@@ -0,0 +1,10 @@
+package com.animefan.event;
+
+import java.util.List;
+
+/**
+ * Published once after a bulk import has inserted a batch of anime,
+ * in place of one {@link AnimeCreatedEvent} per title
+ */
+public record AnimeBulkImportedEvent(List<String> animeIds) {
+}
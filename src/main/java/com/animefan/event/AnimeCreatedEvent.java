@@ -0,0 +1,9 @@
+package com.animefan.event;
+
+import com.animefan.model.Anime;
+
+/**
+ * Published after a new anime has been saved
+ */
+public record AnimeCreatedEvent(Anime anime) {
+}
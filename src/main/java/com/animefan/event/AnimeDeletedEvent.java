@@ -0,0 +1,9 @@
+package com.animefan.event;
+
+import com.animefan.model.Anime;
+
+/**
+ * Published after an anime has been deleted
+ */
+public record AnimeDeletedEvent(Anime anime) {
+}
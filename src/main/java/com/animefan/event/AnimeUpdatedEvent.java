@@ -0,0 +1,29 @@
+package com.animefan.event;
+
+import com.animefan.model.Anime;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Published after an anime has been updated.
+ * Carries the genre list, title, poster and studio the anime had before the update.
+ */
+public record AnimeUpdatedEvent(Anime anime, List<String> previousGenres, String previousTitle,
+                                String previousPosterUrl, String previousStudioId) {
+
+    public boolean genresChanged() {
+        List<String> genres = anime.getGenres() != null ? anime.getGenres() : List.of();
+        List<String> previous = previousGenres != null ? previousGenres : List.of();
+        return !new HashSet<>(genres).equals(new HashSet<>(previous));
+    }
+
+    public boolean titleChanged() {
+        return !Objects.equals(previousTitle, anime.getTitle());
+    }
+
+    public boolean posterUrlChanged() {
+        return !Objects.equals(previousPosterUrl, anime.getPosterUrl());
+    }
+}
@@ -0,0 +1,7 @@
+package com.animefan.event;
+
+/**
+ * Published when an anime detail page has been viewed
+ */
+public record AnimeViewedEvent(String animeId, String studioId) {
+}
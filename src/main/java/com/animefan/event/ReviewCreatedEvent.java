@@ -0,0 +1,13 @@
+package com.animefan.event;
+
+import com.animefan.model.Review;
+
+/**
+ * Published after a new review has been saved, with the author's updated review count
+ */
+public record ReviewCreatedEvent(Review review, UserReviewCount userReviewCount) {
+
+    public ReviewCreatedEvent(Review review) {
+        this(review, null);
+    }
+}
@@ -0,0 +1,13 @@
+package com.animefan.event;
+
+import com.animefan.model.Review;
+
+/**
+ * Published after a review has been deleted, with the author's updated review count
+ */
+public record ReviewDeletedEvent(Review review, UserReviewCount userReviewCount) {
+
+    public ReviewDeletedEvent(Review review) {
+        this(review, null);
+    }
+}
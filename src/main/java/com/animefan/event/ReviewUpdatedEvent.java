@@ -0,0 +1,14 @@
+package com.animefan.event;
+
+import com.animefan.model.Review;
+
+/**
+ * Published after a review has been edited.
+ * Carries the rating the review had before the edit.
+ */
+public record ReviewUpdatedEvent(Review review, Integer previousRating) {
+
+    public boolean ratingChanged() {
+        return previousRating != null && !previousRating.equals(review.getRating());
+    }
+}
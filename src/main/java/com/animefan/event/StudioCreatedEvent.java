@@ -0,0 +1,9 @@
+package com.animefan.event;
+
+import com.animefan.model.Studio;
+
+/**
+ * Published after a new studio has been saved
+ */
+public record StudioCreatedEvent(Studio studio) {
+}
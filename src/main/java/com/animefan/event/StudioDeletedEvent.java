@@ -0,0 +1,7 @@
+package com.animefan.event;
+
+/**
+ * Published after a studio has been deleted
+ */
+public record StudioDeletedEvent(String studioId) {
+}
@@ -0,0 +1,52 @@
+package com.animefan.event;
+
+import com.animefan.model.UserAnimeRelation;
+
+import java.util.Objects;
+
+/**
+ * Published whenever a list entry is added, changed or removed.
+ * A null status means the anime was not (or is no longer) in the user's list.
+ */
+public record UserAnimeRelationChangedEvent(String userId,
+                                            String animeId,
+                                            UserAnimeRelation.Status previousStatus,
+                                            UserAnimeRelation.Status status,
+                                            boolean previousFavorite,
+                                            boolean favorite,
+                                            Integer previousUserRating,
+                                            Integer userRating) {
+
+    /**
+     * Change that does not touch the user's personal rating
+     */
+    public UserAnimeRelationChangedEvent(String userId, String animeId,
+                                         UserAnimeRelation.Status previousStatus, UserAnimeRelation.Status status,
+                                         boolean previousFavorite, boolean favorite, Integer userRating) {
+        this(userId, animeId, previousStatus, status, previousFavorite, favorite, userRating, userRating);
+    }
+
+    public static UserAnimeRelationChangedEvent added(UserAnimeRelation relation) {
+        return new UserAnimeRelationChangedEvent(relation.getUserId(), relation.getAnimeId(),
+                null, relation.getStatus(), false, Boolean.TRUE.equals(relation.getFavorite()),
+                null, relation.getUserRating());
+    }
+
+    public static UserAnimeRelationChangedEvent removed(UserAnimeRelation relation) {
+        return new UserAnimeRelationChangedEvent(relation.getUserId(), relation.getAnimeId(),
+                relation.getStatus(), null, Boolean.TRUE.equals(relation.getFavorite()), false,
+                relation.getUserRating(), null);
+    }
+
+    public boolean statusChanged() {
+        return previousStatus != status;
+    }
+
+    public boolean favoriteChanged() {
+        return previousFavorite != favorite;
+    }
+
+    public boolean userRatingChanged() {
+        return !Objects.equals(previousUserRating, userRating);
+    }
+}
@@ -0,0 +1,7 @@
+package com.animefan.event;
+
+/**
+ * Published after a user account has been deleted
+ */
+public record UserDeletedEvent(String userId) {
+}
@@ -0,0 +1,16 @@
+package com.animefan.event;
+
+import com.animefan.model.User;
+
+import java.util.Objects;
+
+/**
+ * Published after a user has edited their profile.
+ * Carries the avatar the user had before the update.
+ */
+public record UserProfileUpdatedEvent(User user, String previousAvatarUrl) {
+
+    public boolean avatarUrlChanged() {
+        return !Objects.equals(previousAvatarUrl, user.getAvatarUrl());
+    }
+}
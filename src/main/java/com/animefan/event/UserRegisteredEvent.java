@@ -0,0 +1,9 @@
+package com.animefan.event;
+
+import com.animefan.model.User;
+
+/**
+ * Published after a new user account has been saved
+ */
+public record UserRegisteredEvent(User user) {
+}
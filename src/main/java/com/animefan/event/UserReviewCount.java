@@ -0,0 +1,8 @@
+package com.animefan.event;
+
+/**
+ * A user's review count right after a review was added or removed.
+ * The version grows with every change of the count, so listeners can tell which of two changes is newer.
+ */
+public record UserReviewCount(long count, long version) {
+}
@@ -0,0 +1,63 @@
+package com.animefan.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Time-series bucket of activity counts for one metric.
+ * An HOUR bucket covers one day with a slot per hour ("0".."23"),
+ * a DAY bucket covers one month with a slot per day ("1".."31").
+ * Buckets expire through a TTL index on expireAt.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "activity_buckets")
+@CompoundIndex(name = "metric_granularity_start_idx", def = "{'metric': 1, 'granularity': 1, 'start': 1}")
+public class ActivityBucket {
+
+    @Id
+    private String id;
+
+    private Metric metric;
+
+    private Granularity granularity;
+
+    private LocalDateTime start;
+
+    @Builder.Default
+    private Map<String, Long> slots = new HashMap<>();
+
+    private long total;
+
+    @Indexed(expireAfterSeconds = 0)
+    private LocalDateTime expireAt;
+
+    public static String bucketId(Metric metric, Granularity granularity, LocalDateTime start) {
+        return metric + ":" + granularity + ":" + start.toLocalDate();
+    }
+
+    public enum Metric {
+        VIEWS,
+        REGISTRATIONS,
+        REVIEWS,
+        LIST_ADDITIONS
+    }
+
+    public enum Granularity {
+        MINUTE,
+        HOUR,
+        DAY
+    }
+}
@@ -17,13 +17,14 @@ import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import java.io.Serializable;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Anime entity with embedded episodes
+ * Anime entity; episodes are stored separately in episode buckets
  * Uses MongoDB text index for full-text search on title and description
  */
 @Data
@@ -33,7 +34,10 @@ import java.util.List;
 @Document(collection = "anime")
 @CompoundIndex(name = "genre_rating_idx", def = "{'genres': 1, 'rating': -1}")
 @CompoundIndex(name = "studio_year_idx", def = "{'studioId': 1, 'releaseYear': -1}")
-public class Anime {
+// Multikey indexes used to find the anime that copy another anime's title and poster
+@CompoundIndex(name = "related_anime_idx", def = "{'relatedAnime.animeId': 1}")
+@CompoundIndex(name = "similar_anime_idx", def = "{'similarAnime.animeId': 1}")
+public class Anime implements Serializable {
 
     @Id
     private String id;
@@ -86,14 +90,14 @@ public class Anime {
 
     private String studioName;
 
-    // Embedded episodes
-    @Builder.Default
-    private List<Episode> episodes = new ArrayList<>();
-
     // Related anime (seasons, sequels, prequels, etc.)
     @Builder.Default
     private List<RelatedAnime> relatedAnime = new ArrayList<>();
 
+    // Content-based neighbours, best first (precomputed by a background job)
+    @Builder.Default
+    private List<SimilarAnime> similarAnime = new ArrayList<>();
+
     private Integer viewCount = 0;
 
     private Integer favoriteCount = 0;
@@ -101,6 +105,9 @@ public class Anime {
     @TextScore
     private Float score;
 
+    // Hash of the upstream fields as last applied by catalog sync
+    private String syncHash;
+
     @CreatedDate
     private LocalDateTime createdAt;
 
@@ -108,13 +115,13 @@ public class Anime {
     private LocalDateTime updatedAt;
 
     /**
-     * Embedded Episode document
+     * Episode document, embedded in an EpisodeBucket
      */
     @Data
     @Builder
     @NoArgsConstructor
     @AllArgsConstructor
-    public static class Episode {
+    public static class Episode implements Serializable {
         private Integer number;
         private String title;
         private String description;
@@ -133,7 +140,7 @@ public class Anime {
     @Builder
     @NoArgsConstructor
     @AllArgsConstructor
-    public static class RelatedAnime {
+    public static class RelatedAnime implements Serializable {
         private String animeId;       // ID of the related anime
         private String title;         // Title for display (cached)
         private String posterUrl;     // Poster URL (cached)
@@ -163,4 +170,18 @@ public class Anime {
             }
         }
     }
+
+    /**
+     * Embedded content-similar anime with cached display fields
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SimilarAnime implements Serializable {
+        private String animeId;
+        private String title;
+        private String posterUrl;
+        private double score;
+    }
 }
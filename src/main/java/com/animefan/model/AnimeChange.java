@@ -0,0 +1,34 @@
+package com.animefan.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Latest change of one anime in the change feed (one document per anime).
+ * Every change moves the anime to a new, higher sequence number; a deleted
+ * anime keeps its entry as a tombstone.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "anime_changes")
+public class AnimeChange {
+
+    @Id
+    private String animeId;
+
+    @Indexed(unique = true)
+    private long seq;
+
+    private boolean deleted;
+
+    private LocalDateTime changedAt;
+}
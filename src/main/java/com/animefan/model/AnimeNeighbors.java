@@ -0,0 +1,39 @@
+package com.animefan.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Precomputed nearest neighbours of one anime (one document per anime).
+ * Written by background similarity jobs and read in bulk into memory.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "anime_neighbors")
+public class AnimeNeighbors {
+
+    @Id
+    private String animeId;
+
+    // Item-item collaborative filtering over user lists, best first
+    private List<Neighbor> collaborative;
+
+    private LocalDateTime collaborativeComputedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Neighbor {
+        private String animeId;
+        private double score;
+    }
+}
@@ -0,0 +1,50 @@
+package com.animefan.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Per-anime list counters and rating histogram, keyed by anime ID.
+ * Kept current with atomic $inc updates from list and review write paths
+ * and periodically checked against the source collections.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "anime_stats")
+public class AnimeStatistics implements Serializable {
+
+    public static final int RATING_SCALE = 10;
+
+    @Id
+    private String animeId;
+
+    @Builder.Default
+    private ListCounters counters = new ListCounters();
+
+    /**
+     * Review count per rating, index 0 holds rating 1
+     */
+    private long[] ratingHistogram;
+
+    private LocalDateTime rebuiltAt;
+
+    private LocalDateTime reconciledAt;
+
+    public boolean isConsistent() {
+        return counters != null && counters.isConsistent()
+                && ratingHistogram != null && ratingHistogram.length == RATING_SCALE;
+    }
+
+    public static String histogramField(int rating) {
+        return "ratingHistogram." + (rating - 1);
+    }
+}
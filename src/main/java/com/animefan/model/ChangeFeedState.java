@@ -0,0 +1,30 @@
+package com.animefan.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Sequence counter of a change feed (single document per feed).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "change_feed_state")
+public class ChangeFeedState {
+
+    public static final String ANIME = "anime";
+
+    @Id
+    private String id;
+
+    // Last sequence number handed out
+    private long lastSeq;
+
+    // Tombstones up to this sequence have been pruned; older cursors must resync
+    private long prunedThroughSeq;
+}
@@ -0,0 +1,45 @@
+package com.animefan.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A fixed range of episodes of one anime (bucket pattern).
+ * Bucket k holds episode numbers 100k+1 to 100k+100, sorted by number, so any
+ * episode is found in exactly one small document and a page of episodes is a
+ * range scan over a few buckets instead of the whole list.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "episode_buckets")
+@CompoundIndex(name = "anime_bucket_idx", def = "{'animeId': 1, 'bucket': 1}", unique = true)
+public class EpisodeBucket {
+
+    public static final int SIZE = 100;
+
+    @Id
+    private String id;
+
+    private String animeId;
+
+    private int bucket;
+
+    private int count;
+
+    @Builder.Default
+    private List<Anime.Episode> episodes = new ArrayList<>();
+
+    public static int bucketOf(int episodeNumber) {
+        return Math.floorDiv(episodeNumber - 1, SIZE);
+    }
+}
@@ -0,0 +1,26 @@
+package com.animefan.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Embedded per-genre affinity of a user: completed anime in the genre and their personal ratings
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GenreAffinity implements Serializable {
+
+    private long count;
+    private long ratingSum;
+    private long ratedCount;
+
+    public Double getAvgRating() {
+        return ratedCount > 0 ? (double) ratingSum / ratedCount : null;
+    }
+}
@@ -0,0 +1,83 @@
+package com.animefan.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Background bulk import of an uploaded file.
+ * The upload is kept in GridFS until the job completes; {@code processed} is the number of
+ * entries committed so far, from which an interrupted job resumes.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "import_jobs")
+public class ImportJob {
+
+    @Id
+    private String id;
+
+    private Format format;
+
+    @Indexed
+    private Status status;
+
+    private boolean skipDuplicates;
+
+    private String fileId;
+    private String fileName;
+    private long fileSize;
+    private String createdBy;
+
+    // Checkpoint: entries consumed by committed chunks and the counters at that point
+    private int processed;
+    private int successCount;
+    private int skippedCount;
+    private int errorCount;
+
+    // First errors only; errorCount has the full number
+    @Builder.Default
+    private List<String> errors = new ArrayList<>();
+
+    private String failureMessage;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime finishedAt;
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED;
+    }
+
+    public boolean isActive() {
+        return status == Status.QUEUED || status == Status.RUNNING;
+    }
+
+    public boolean isResumable() {
+        return status == Status.FAILED || status == Status.INTERRUPTED;
+    }
+
+    public enum Format {
+        JSON,
+        QUICK
+    }
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        INTERRUPTED,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -0,0 +1,49 @@
+package com.animefan.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Embedded list counters sub-document: entries per status, favorites and reviews.
+ * Shared by per-user and per-anime statistics.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ListCounters implements Serializable {
+
+    private long watching;
+    private long completed;
+    private long onHold;
+    private long dropped;
+    private long planToWatch;
+    private long favorites;
+    private long reviews;
+
+    public long totalInList() {
+        return watching + completed + onHold + dropped + planToWatch;
+    }
+
+    public boolean isConsistent() {
+        return watching >= 0 && completed >= 0 && onHold >= 0 && dropped >= 0
+                && planToWatch >= 0 && favorites >= 0 && reviews >= 0;
+    }
+
+    /**
+     * Name of the counter field for a list status
+     */
+    public static String field(UserAnimeRelation.Status status) {
+        return switch (status) {
+            case WATCHING -> "watching";
+            case COMPLETED -> "completed";
+            case ON_HOLD -> "onHold";
+            case DROPPED -> "dropped";
+            case PLAN_TO_WATCH -> "planToWatch";
+        };
+    }
+}
@@ -0,0 +1,37 @@
+package com.animefan.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Materialized platform-wide counters (single document).
+ * Maintained incrementally from domain events and periodically reconciled with exact counts.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "platform_stats")
+public class PlatformStatistics implements Serializable {
+
+    public static final String GLOBAL_ID = "global";
+
+    @Id
+    private String id;
+
+    private long totalAnime;
+    private long totalUsers;
+    private long totalReviews;
+    private long totalStudios;
+
+    private LocalDateTime reconciledAt;
+
+    private LocalDateTime updatedAt;
+}
@@ -13,11 +13,10 @@ import org.springframework.data.mongodb.core.mapping.Document;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
- * Studio entity representing anime production studios
+ * Studio entity representing anime production studios.
+ * Its anime are the anime with this studio ID; totals live in {@link StudioStatistics}.
  */
 @Data
 @Builder
@@ -44,12 +43,6 @@ public class Studio {
 
     private String website;
 
-    // List of anime IDs produced by this studio
-    @Builder.Default
-    private List<String> animeIds = new ArrayList<>();
-
-    private Integer animeCount = 0;
-
     @CreatedDate
     private LocalDateTime createdAt;
 
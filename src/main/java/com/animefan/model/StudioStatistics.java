@@ -0,0 +1,46 @@
+package com.animefan.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Per-studio catalog totals, keyed by studio ID.
+ * Kept current with atomic $inc updates when anime are added, moved, rated, viewed
+ * or removed, and periodically recomputed from the anime collection.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "studio_stats")
+public class StudioStatistics implements Serializable {
+
+    @Id
+    private String studioId;
+
+    @Indexed
+    private long animeCount;
+
+    /**
+     * Anime with at least one rating; the average is taken over these only
+     */
+    private long ratedAnimeCount;
+
+    private double ratingSum;
+
+    private long totalViews;
+
+    private LocalDateTime rebuiltAt;
+
+    public Double getAvgRating() {
+        return ratedAnimeCount > 0 ? Math.round(ratingSum / ratedAnimeCount * 10.0) / 10.0 : null;
+    }
+}
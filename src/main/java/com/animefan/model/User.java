@@ -71,6 +71,7 @@ public class User implements UserDetails {
     // User statistics
     private Integer watchedCount = 0;
     private Integer reviewCount = 0;
+    private Long reviewCountVersion;     // Bumped with every reviewCount change
     private Integer favoriteCount = 0;
 
     // Email verification
@@ -12,6 +12,7 @@ import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * UserAnimeRelation entity - tracks user's anime lists
@@ -39,6 +40,7 @@ public class UserAnimeRelation {
     private String animeTitle;
     private String animePosterUrl;
     private Double animeRating;
+    private List<String> animeGenres;
 
     private Status status;
 
@@ -0,0 +1,36 @@
+package com.animefan.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Per-user list counters, keyed by user ID.
+ * Kept current with atomic $inc updates from list and review write paths.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "user_stats")
+public class UserStatistics {
+
+    @Id
+    private String userId;
+
+    @Builder.Default
+    private ListCounters counters = new ListCounters();
+
+    /**
+     * Affinity per genre over completed anime; null until computed or after invalidation
+     */
+    private Map<String, GenreAffinity> genreAffinity;
+
+    private LocalDateTime rebuiltAt;
+}
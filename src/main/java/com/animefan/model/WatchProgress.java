@@ -0,0 +1,44 @@
+package com.animefan.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Last reported playback position of one user in one episode.
+ * The id is derived from user, anime and episode, so heartbeats upsert
+ * a single small document without a separate unique index.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "watch_progress")
+@CompoundIndex(name = "user_anime_idx", def = "{'userId': 1, 'animeId': 1}")
+public class WatchProgress {
+
+    @Id
+    private String id;
+
+    private String userId;
+
+    private String animeId;
+
+    private int episode;
+
+    private int position; // in seconds
+
+    private Integer duration; // in seconds, when the player reports it
+
+    private LocalDateTime updatedAt;
+
+    public static String progressId(String userId, String animeId, int episode) {
+        return userId + ":" + animeId + ":" + episode;
+    }
+}
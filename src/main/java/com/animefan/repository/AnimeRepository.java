@@ -73,16 +73,6 @@ public interface AnimeRepository extends MongoRepository<Anime, String>, AnimeRe
     })
     List<GenreCount> getGenreStatistics();
 
-    // Get anime by studio with statistics
-    @Aggregation(pipeline = {
-            "{ $match: { studioId: ?0 } }",
-            "{ $group: { _id: '$studioId', " +
-                    "animeCount: { $sum: 1 }, " +
-                    "avgRating: { $avg: '$rating' }, " +
-                    "totalViews: { $sum: '$viewCount' } } }"
-    })
-    StudioAnimeStats getStudioStatistics(String studioId);
-
     // Check if anime exists by title
     boolean existsByTitle(String title);
 
@@ -101,12 +91,4 @@ public interface AnimeRepository extends MongoRepository<Anime, String>, AnimeRe
         Long getCount();
         Double getAvgRating();
     }
-
-    // Interface for studio statistics aggregation result
-    interface StudioAnimeStats {
-        String getId();
-        Long getAnimeCount();
-        Double getAvgRating();
-        Long getTotalViews();
-    }
 }
@@ -33,9 +33,9 @@ public interface AnimeRepositoryCustom {
     List<Anime> getTopAnimeByRating(int limit);
 
     /**
-     * Update anime rating based on reviews
+     * Update anime rating based on reviews; returns the studio and rating from before the update
      */
-    void updateAnimeRating(String animeId, double newRating, int ratingCount);
+    Anime updateAnimeRating(String animeId, double newRating, int ratingCount);
 
     /**
      * Increment view count
@@ -46,19 +46,4 @@ public interface AnimeRepositoryCustom {
      * Increment/decrement favorite count
      */
     void updateFavoriteCount(String animeId, int delta);
-
-    /**
-     * Add episode to anime
-     */
-    void addEpisode(String animeId, Anime.Episode episode);
-
-    /**
-     * Update specific episode
-     */
-    void updateEpisode(String animeId, int episodeNumber, Anime.Episode episode);
-
-    /**
-     * Remove episode from anime
-     */
-    void removeEpisode(String animeId, int episodeNumber);
 }
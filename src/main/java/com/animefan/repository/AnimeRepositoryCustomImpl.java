@@ -175,15 +175,16 @@ public class AnimeRepositoryCustomImpl implements AnimeRepositoryCustom {
     }
 
     @Override
-    public void updateAnimeRating(String animeId, double newRating, int ratingCount) {
+    public Anime updateAnimeRating(String animeId, double newRating, int ratingCount) {
         log.debug("Updating rating for anime {}: {} ({} ratings)", animeId, newRating, ratingCount);
 
         Query query = Query.query(Criteria.where("id").is(animeId));
+        query.fields().include("studioId").include("rating").include("ratingCount");
         Update update = new Update()
                 .set("rating", newRating)
                 .set("ratingCount", ratingCount);
 
-        mongoTemplate.updateFirst(query, update, Anime.class);
+        return mongoTemplate.findAndModify(query, update, Anime.class);
     }
 
     @Override
@@ -206,42 +207,6 @@ public class AnimeRepositoryCustomImpl implements AnimeRepositoryCustom {
         mongoTemplate.updateFirst(query, update, Anime.class);
     }
 
-    @Override
-    public void addEpisode(String animeId, Anime.Episode episode) {
-        log.debug("Adding episode {} to anime: {}", episode.getNumber(), animeId);
-
-        Query query = Query.query(Criteria.where("id").is(animeId));
-        Update update = new Update()
-                .push("episodes", episode)
-                .inc("episodeCount", 1);
-
-        mongoTemplate.updateFirst(query, update, Anime.class);
-    }
-
-    @Override
-    public void updateEpisode(String animeId, int episodeNumber, Anime.Episode episode) {
-        log.debug("Updating episode {} in anime: {}", episodeNumber, animeId);
-
-        Query query = Query.query(Criteria.where("id").is(animeId)
-                .and("episodes.number").is(episodeNumber));
-        Update update = new Update()
-                .set("episodes.$", episode);
-
-        mongoTemplate.updateFirst(query, update, Anime.class);
-    }
-
-    @Override
-    public void removeEpisode(String animeId, int episodeNumber) {
-        log.debug("Removing episode {} from anime: {}", episodeNumber, animeId);
-
-        Query query = Query.query(Criteria.where("id").is(animeId));
-        Update update = new Update()
-                .pull("episodes", Query.query(Criteria.where("number").is(episodeNumber)))
-                .inc("episodeCount", -1);
-
-        mongoTemplate.updateFirst(query, update, Anime.class);
-    }
-
     private Sort createSort(String sortBy, String sortDirection) {
         if (!StringUtils.hasText(sortBy)) {
             return Sort.by(Sort.Direction.DESC, "rating");
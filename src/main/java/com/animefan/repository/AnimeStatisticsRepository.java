@@ -0,0 +1,12 @@
+package com.animefan.repository;
+
+import com.animefan.model.AnimeStatistics;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for materialized per-anime statistics
+ */
+@Repository
+public interface AnimeStatisticsRepository extends MongoRepository<AnimeStatistics, String> {
+}
@@ -0,0 +1,19 @@
+package com.animefan.repository;
+
+import com.animefan.model.ImportJob;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for ImportJob entity
+ */
+@Repository
+public interface ImportJobRepository extends MongoRepository<ImportJob, String> {
+
+    List<ImportJob> findByStatusIn(Collection<ImportJob.Status> statuses);
+
+    List<ImportJob> findTop20ByOrderByCreatedAtDesc();
+}
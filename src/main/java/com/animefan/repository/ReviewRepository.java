@@ -9,6 +9,7 @@ import org.springframework.data.mongodb.repository.Query;
 import org.springframework.data.mongodb.repository.Update;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -55,6 +56,14 @@ public interface ReviewRepository extends MongoRepository<Review, String> {
     })
     List<RatingDistribution> getRatingDistribution(String animeId);
 
+    // Get rating distribution for a batch of anime
+    @Aggregation(pipeline = {
+            "{ $match: { animeId: { $in: ?0 } } }",
+            "{ $group: { _id: { animeId: '$animeId', rating: '$rating' }, count: { $sum: 1 } } }",
+            "{ $project: { _id: 0, animeId: '$_id.animeId', rating: '$_id.rating', count: 1 } }"
+    })
+    List<AnimeRatingBucket> getRatingDistributions(Collection<String> animeIds);
+
     // Get top reviewers
     @Aggregation(pipeline = {
             "{ $group: { _id: '$userId', username: { $first: '$username' }, reviewCount: { $sum: 1 } } }",
@@ -92,6 +101,13 @@ public interface ReviewRepository extends MongoRepository<Review, String> {
         Long getCount();
     }
 
+    // Interface for per-anime rating distribution
+    interface AnimeRatingBucket {
+        String getAnimeId();
+        Integer getRating();
+        Long getCount();
+    }
+
     // Interface for top reviewers
     interface TopReviewer {
         String getId();
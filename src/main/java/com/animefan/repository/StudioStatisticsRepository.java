@@ -0,0 +1,17 @@
+package com.animefan.repository;
+
+import com.animefan.model.StudioStatistics;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for materialized per-studio statistics
+ */
+@Repository
+public interface StudioStatisticsRepository extends MongoRepository<StudioStatistics, String> {
+
+    List<StudioStatistics> findAllByOrderByAnimeCountDesc(Pageable pageable);
+}
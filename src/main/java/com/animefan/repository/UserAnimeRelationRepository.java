@@ -16,7 +16,8 @@ import java.util.Optional;
  * Repository for UserAnimeRelation entity
  */
 @Repository
-public interface UserAnimeRelationRepository extends MongoRepository<UserAnimeRelation, String> {
+public interface UserAnimeRelationRepository extends MongoRepository<UserAnimeRelation, String>,
+        UserAnimeRelationRepositoryCustom {
 
     // Find by user and anime
     Optional<UserAnimeRelation> findByUserIdAndAnimeId(String userId, String animeId);
@@ -73,18 +74,6 @@ public interface UserAnimeRelationRepository extends MongoRepository<UserAnimeRe
     })
     List<StatusCount> getUserStatusCounts(String userId);
 
-    // Get genre preferences for user
-    @Aggregation(pipeline = {
-            "{ $match: { userId: ?0, status: 'COMPLETED' } }",
-            "{ $lookup: { from: 'anime', localField: 'animeId', foreignField: '_id', as: 'anime' } }",
-            "{ $unwind: '$anime' }",
-            "{ $unwind: '$anime.genres' }",
-            "{ $group: { _id: '$anime.genres', count: { $sum: 1 }, avgRating: { $avg: '$userRating' } } }",
-            "{ $sort: { count: -1 } }",
-            "{ $limit: 10 }"
-    })
-    List<GenrePreference> getUserGenrePreferences(String userId);
-
     // Delete all relations for user
     void deleteByUserId(String userId);
 
@@ -0,0 +1,27 @@
+package com.animefan.repository;
+
+import com.animefan.model.GenreAffinity;
+import com.animefan.model.ListCounters;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Custom repository interface for UserAnimeRelation aggregations
+ */
+public interface UserAnimeRelationRepositoryCustom {
+
+    /**
+     * Count list entries per status and favorites in a single $group pass
+     *
+     * @param groupField "userId" or "animeId"
+     * @param ids        values of the group field to include
+     * @return counters per ID (review counts are not filled in); IDs without relations are absent
+     */
+    Map<String, ListCounters> countListEntries(String groupField, Collection<String> ids);
+
+    /**
+     * Compute a user's genre affinity from completed entries using the denormalized anime genres
+     */
+    Map<String, GenreAffinity> computeGenreAffinity(String userId);
+}
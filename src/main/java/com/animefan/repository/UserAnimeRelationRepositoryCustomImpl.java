@@ -0,0 +1,91 @@
+package com.animefan.repository;
+
+import com.animefan.model.GenreAffinity;
+import com.animefan.model.ListCounters;
+import com.animefan.model.UserAnimeRelation;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.GroupOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.*;
+
+/**
+ * Custom repository implementation for UserAnimeRelation aggregations using MongoTemplate
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class UserAnimeRelationRepositoryCustomImpl implements UserAnimeRelationRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Map<String, ListCounters> countListEntries(String groupField, Collection<String> ids) {
+        log.debug("Counting list entries by {} for {} ids", groupField, ids.size());
+
+        GroupOperation group = group(groupField);
+        for (UserAnimeRelation.Status status : UserAnimeRelation.Status.values()) {
+            group = group.sum(ConditionalOperators.when(Criteria.where("status").is(status.name()))
+                    .then(1).otherwise(0)).as(ListCounters.field(status));
+        }
+        group = group.sum(ConditionalOperators.when(Criteria.where("favorite").is(true))
+                .then(1).otherwise(0)).as("favorites");
+
+        Aggregation aggregation = newAggregation(
+                match(Criteria.where(groupField).in(ids)),
+                group
+        );
+
+        Map<String, ListCounters> result = new HashMap<>();
+        for (Document row : mongoTemplate.aggregate(aggregation, "user_anime_relations", Document.class)) {
+            result.put(row.getString("_id"), ListCounters.builder()
+                    .watching(number(row, "watching"))
+                    .completed(number(row, "completed"))
+                    .onHold(number(row, "onHold"))
+                    .dropped(number(row, "dropped"))
+                    .planToWatch(number(row, "planToWatch"))
+                    .favorites(number(row, "favorites"))
+                    .build());
+        }
+        return result;
+    }
+
+    @Override
+    public Map<String, GenreAffinity> computeGenreAffinity(String userId) {
+        log.debug("Computing genre affinity for user {}", userId);
+
+        Aggregation aggregation = newAggregation(
+                match(Criteria.where("userId").is(userId).and("status").is(UserAnimeRelation.Status.COMPLETED.name())),
+                unwind("animeGenres"),
+                group("animeGenres")
+                        .count().as("count")
+                        .sum("userRating").as("ratingSum")
+                        .sum(ConditionalOperators.when(Criteria.where("userRating").gt(0))
+                                .then(1).otherwise(0)).as("ratedCount")
+        );
+
+        Map<String, GenreAffinity> result = new HashMap<>();
+        for (Document row : mongoTemplate.aggregate(aggregation, "user_anime_relations", Document.class)) {
+            result.put(row.getString("_id"), GenreAffinity.builder()
+                    .count(number(row, "count"))
+                    .ratingSum(number(row, "ratingSum"))
+                    .ratedCount(number(row, "ratedCount"))
+                    .build());
+        }
+        return result;
+    }
+
+    private static long number(Document document, String field) {
+        return document.get(field) instanceof Number value ? value.longValue() : 0;
+    }
+}
@@ -44,10 +44,6 @@ public interface UserRepository extends MongoRepository<User, String> {
     @Update("{ '$inc': { 'watchedCount': ?1 } }")
     void incrementWatchedCount(String userId, int delta);
 
-    @Query("{ '_id': ?0 }")
-    @Update("{ '$inc': { 'reviewCount': ?1 } }")
-    void incrementReviewCount(String userId, int delta);
-
     @Query("{ '_id': ?0 }")
     @Update("{ '$inc': { 'favoriteCount': ?1 } }")
     void incrementFavoriteCount(String userId, int delta);
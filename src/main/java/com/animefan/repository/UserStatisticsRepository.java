@@ -0,0 +1,12 @@
+package com.animefan.repository;
+
+import com.animefan.model.UserStatistics;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for materialized per-user statistics
+ */
+@Repository
+public interface UserStatisticsRepository extends MongoRepository<UserStatistics, String> {
+}
@@ -0,0 +1,266 @@
+package com.animefan.service;
+
+import com.animefan.event.AnimeViewedEvent;
+import com.animefan.event.ReviewCreatedEvent;
+import com.animefan.event.UserAnimeRelationChangedEvent;
+import com.animefan.event.UserRegisteredEvent;
+import com.animefan.exception.ValidationException;
+import com.animefan.model.ActivityBucket;
+import com.animefan.model.ActivityBucket.Granularity;
+import com.animefan.model.ActivityBucket.Metric;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Time-series activity counters.
+ * Domain events are counted in per-minute in-memory buckets; closed minutes are periodically
+ * rolled up with one bulk $inc into hourly and daily {@link ActivityBucket} documents.
+ * Recent minutes stay in memory for live charts, hourly and daily buckets expire by TTL.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ActivityService {
+
+    private static final int MAX_POINTS = 2000;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${app.activity.minute-retention-minutes:180}")
+    private int minuteRetentionMinutes = 180;
+
+    @Value("${app.activity.hourly-retention-days:90}")
+    private int hourlyRetentionDays = 90;
+
+    @Value("${app.activity.daily-retention-days:730}")
+    private int dailyRetentionDays = 730;
+
+    private final Map<MinuteKey, LongAdder> pending = new ConcurrentHashMap<>();
+    private final Map<MinuteKey, Long> recent = new ConcurrentHashMap<>();
+
+    /**
+     * Count one occurrence of a metric in the current minute
+     */
+    public void record(Metric metric) {
+        pending.computeIfAbsent(new MinuteKey(metric, LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES)),
+                key -> new LongAdder()).increment();
+    }
+
+    /**
+     * Get a zero-filled series for the given range. A null granularity is chosen from the range:
+     * minutes while in memory, hours up to a week within hourly retention, days otherwise.
+     */
+    public List<ActivityPoint> getSeries(Metric metric, Granularity granularity, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new ValidationException("Range start must be before range end");
+        }
+        Granularity resolved = granularity != null ? granularity : resolveGranularity(from, to);
+        ChronoUnit unit = unit(resolved);
+
+        LocalDateTime start = truncate(from, resolved);
+        long points = unit.between(start, to);
+        if (points > MAX_POINTS) {
+            throw new ValidationException("Range is too large for " + resolved + " granularity");
+        }
+
+        Map<LocalDateTime, Long> counts = resolved == Granularity.MINUTE
+                ? new HashMap<>()
+                : loadBuckets(metric, resolved, start, to);
+        addInMemory(metric, resolved, counts);
+
+        List<ActivityPoint> series = new ArrayList<>();
+        for (LocalDateTime time = start; time.isBefore(to); time = time.plus(1, unit)) {
+            series.add(new ActivityPoint(time, counts.getOrDefault(time, 0L)));
+        }
+        return series;
+    }
+
+    /**
+     * Roll closed minutes up into hourly and daily buckets
+     */
+    @Scheduled(fixedDelayString = "${app.activity.flush-interval-ms:60000}")
+    public void flush() {
+        // The previous minute may still receive increments that started before the minute changed
+        flushBefore(LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES).minusMinutes(1));
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void flushAll() {
+        flushBefore(LocalDateTime.now().plusMinutes(1));
+    }
+
+    void flushBefore(LocalDateTime cutoff) {
+        Map<MinuteKey, Long> closed = new HashMap<>();
+        for (MinuteKey key : pending.keySet()) {
+            if (key.minute().isBefore(cutoff)) {
+                LongAdder adder = pending.remove(key);
+                if (adder != null && adder.sum() > 0) {
+                    closed.put(key, adder.sum());
+                }
+            }
+        }
+        pruneRecent();
+        if (closed.isEmpty()) {
+            return;
+        }
+
+        Map<BucketSlot, Long> rollup = new HashMap<>();
+        closed.forEach((key, count) -> {
+            LocalDateTime day = key.minute().toLocalDate().atStartOfDay();
+            rollup.merge(new BucketSlot(key.metric(), Granularity.HOUR, day, key.minute().getHour()), count, Long::sum);
+            rollup.merge(new BucketSlot(key.metric(), Granularity.DAY, day.withDayOfMonth(1), day.getDayOfMonth()),
+                    count, Long::sum);
+        });
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ActivityBucket.class);
+        rollup.forEach((slot, count) -> bulk.upsert(
+                Query.query(Criteria.where("id").is(ActivityBucket.bucketId(slot.metric(), slot.granularity(), slot.start()))),
+                new Update()
+                        .inc("slots." + slot.slot(), count)
+                        .inc("total", count)
+                        .setOnInsert("metric", slot.metric())
+                        .setOnInsert("granularity", slot.granularity())
+                        .setOnInsert("start", slot.start())
+                        .setOnInsert("expireAt", expireAt(slot.granularity(), slot.start()))));
+        try {
+            bulk.execute();
+            closed.forEach((key, count) -> recent.merge(key, count, Long::sum));
+            log.debug("Flushed {} activity minutes into {} bucket slots", closed.size(), rollup.size());
+        } catch (Exception e) {
+            log.warn("Failed to flush activity buckets, retrying next cycle: {}", e.getMessage());
+            closed.forEach((key, count) -> pending.computeIfAbsent(key, k -> new LongAdder()).add(count));
+        }
+    }
+
+    @EventListener
+    public void onAnimeViewed(AnimeViewedEvent event) {
+        record(Metric.VIEWS);
+    }
+
+    @EventListener
+    public void onUserRegistered(UserRegisteredEvent event) {
+        record(Metric.REGISTRATIONS);
+    }
+
+    @EventListener
+    public void onReviewCreated(ReviewCreatedEvent event) {
+        record(Metric.REVIEWS);
+    }
+
+    @EventListener
+    public void onRelationChanged(UserAnimeRelationChangedEvent event) {
+        if (event.previousStatus() == null && event.status() != null) {
+            record(Metric.LIST_ADDITIONS);
+        }
+    }
+
+    private Granularity resolveGranularity(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(LocalDateTime.now().minusMinutes(minuteRetentionMinutes))) {
+            return Granularity.MINUTE;
+        }
+        if (Duration.between(from, to).toDays() <= 7
+                && from.isAfter(LocalDateTime.now().minusDays(hourlyRetentionDays))) {
+            return Granularity.HOUR;
+        }
+        return Granularity.DAY;
+    }
+
+    private Map<LocalDateTime, Long> loadBuckets(Metric metric, Granularity granularity,
+                                                 LocalDateTime from, LocalDateTime to) {
+        Set<String> ids = new LinkedHashSet<>();
+        LocalDateTime bucketStart = bucketStart(granularity, from);
+        while (bucketStart.isBefore(to)) {
+            ids.add(ActivityBucket.bucketId(metric, granularity, bucketStart));
+            bucketStart = granularity == Granularity.HOUR ? bucketStart.plusDays(1) : bucketStart.plusMonths(1);
+        }
+
+        Map<LocalDateTime, Long> counts = new HashMap<>();
+        for (ActivityBucket bucket : mongoTemplate.find(Query.query(Criteria.where("id").in(ids)), ActivityBucket.class)) {
+            bucket.getSlots().forEach((slot, count) -> counts.merge(granularity == Granularity.HOUR
+                    ? bucket.getStart().withHour(Integer.parseInt(slot))
+                    : bucket.getStart().withDayOfMonth(Integer.parseInt(slot)), count, Long::sum));
+        }
+        return counts;
+    }
+
+    /**
+     * Add minutes that are not part of the stored buckets yet (or, for minute series, all retained minutes)
+     */
+    private void addInMemory(Metric metric, Granularity granularity, Map<LocalDateTime, Long> counts) {
+        pending.forEach((key, adder) -> {
+            if (key.metric() == metric) {
+                counts.merge(truncate(key.minute(), granularity), adder.sum(), Long::sum);
+            }
+        });
+        if (granularity == Granularity.MINUTE) {
+            recent.forEach((key, count) -> {
+                if (key.metric() == metric) {
+                    counts.merge(key.minute(), count, Long::sum);
+                }
+            });
+        }
+    }
+
+    private void pruneRecent() {
+        LocalDateTime horizon = LocalDateTime.now().minusMinutes(minuteRetentionMinutes);
+        recent.keySet().removeIf(key -> key.minute().isBefore(horizon));
+    }
+
+    private LocalDateTime expireAt(Granularity granularity, LocalDateTime start) {
+        return granularity == Granularity.HOUR
+                ? start.plusDays(hourlyRetentionDays + 1L)
+                : start.plusMonths(1).plusDays(dailyRetentionDays);
+    }
+
+    private static LocalDateTime bucketStart(Granularity granularity, LocalDateTime time) {
+        LocalDateTime day = time.toLocalDate().atStartOfDay();
+        return granularity == Granularity.HOUR ? day : day.withDayOfMonth(1);
+    }
+
+    private static LocalDateTime truncate(LocalDateTime time, Granularity granularity) {
+        return switch (granularity) {
+            case MINUTE -> time.truncatedTo(ChronoUnit.MINUTES);
+            case HOUR -> time.truncatedTo(ChronoUnit.HOURS);
+            case DAY -> time.truncatedTo(ChronoUnit.DAYS);
+        };
+    }
+
+    private static ChronoUnit unit(Granularity granularity) {
+        return switch (granularity) {
+            case MINUTE -> ChronoUnit.MINUTES;
+            case HOUR -> ChronoUnit.HOURS;
+            case DAY -> ChronoUnit.DAYS;
+        };
+    }
+
+    public record ActivityPoint(LocalDateTime time, long count) {
+    }
+
+    private record MinuteKey(Metric metric, LocalDateTime minute) {
+    }
+
+    private record BucketSlot(Metric metric, Granularity granularity, LocalDateTime start, int slot) {
+    }
+}
@@ -0,0 +1,398 @@
+package com.animefan.service;
+
+import com.animefan.dto.AnimeDTO;
+import com.animefan.dto.BulkImportResultDTO;
+import com.animefan.event.AnimeBulkImportedEvent;
+import com.animefan.model.Anime;
+import com.animefan.model.ImportJob;
+import com.animefan.model.Studio;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk anime import from a JSON array or the line-based quick format.
+ * The input is read incrementally (Jackson's streaming parser for JSON) in chunks. Each chunk is
+ * validated in parallel while the next one is parsed, checked for duplicates against one
+ * preloaded title set, inserted with a single unordered bulk write and linked to its studios.
+ * Cache eviction and the genre recount happen once at the end instead of per title.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AnimeImportService {
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.import.chunk-size:500}")
+    private int chunkSize = 500;
+
+    @Value("${app.import.validation-threads:0}")
+    private int validationThreads;
+
+    /**
+     * Import anime from a JSON array; invalid entries and duplicates are reported, not fatal
+     */
+    @CacheEvict(value = {"genreStats", "genres"}, allEntries = true)
+    public BulkImportResultDTO importJson(Reader reader, boolean skipDuplicates) {
+        return importEntries(ImportJob.Format.JSON, reader, skipDuplicates, 0, new BulkImportResultDTO(), null);
+    }
+
+    /**
+     * Import entries in the given format, skipping the first {@code skip} entries (already
+     * committed by an earlier run) and adding to {@code result}. The progress callback is
+     * invoked on the calling thread after every committed chunk, and asked before every chunk
+     * whether to stop; a stopped import still commits the chunks it has already read.
+     */
+    @CacheEvict(value = {"genreStats", "genres"}, allEntries = true)
+    public BulkImportResultDTO importEntries(ImportJob.Format format, Reader reader, boolean skipDuplicates,
+                                             int skip, BulkImportResultDTO result, ImportProgress progress) {
+        long start = System.currentTimeMillis();
+        ImportRun run = new ImportRun(skipDuplicates, result, loadTitles(), progress);
+        run.processed = skip;
+
+        int threads = validationThreads > 0 ? validationThreads : Runtime.getRuntime().availableProcessors();
+        ExecutorService validators = Executors.newFixedThreadPool(threads);
+        List<Entry> chunk = new ArrayList<>(chunkSize);
+        boolean stopped = false;
+        try {
+            EntrySource source = format == ImportJob.Format.QUICK
+                    ? quickSource(new BufferedReader(reader))
+                    : jsonSource(objectMapper.getFactory().createParser(reader));
+            for (int i = 0; i < skip && source.next() != null; i++) {
+                // Entries committed by an earlier run of the same import
+            }
+            boolean more = true;
+            while (more) {
+                if (progress != null && progress.stopRequested()) {
+                    stopped = true;
+                    break;
+                }
+                more = fillChunk(source, chunk);
+                if (!chunk.isEmpty()) {
+                    submit(chunk, run, validators, threads);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+        } catch (IOException e) {
+            log.error("Error reading {} data for bulk import", format, e);
+            result.addError((e instanceof JsonProcessingException ? "Ошибка парсинга JSON: " : "Ошибка чтения данных: ")
+                    + e.getMessage());
+            // Entries parsed before the syntax error are still imported
+            if (!chunk.isEmpty()) {
+                submit(chunk, run, validators, threads);
+            }
+        } finally {
+            try {
+                if (run.pending != null) {
+                    write(run.pending.join(), run);
+                }
+            } finally {
+                validators.shutdown();
+            }
+        }
+
+        finish(run);
+        log.info("Bulk import {} in {} ms: {} imported, {} skipped, {} errors",
+                stopped ? "stopped" : "finished", System.currentTimeMillis() - start,
+                result.getSuccessCount(), result.getSkippedCount(), result.getErrorCount());
+        return result;
+    }
+
+    /**
+     * Read up to chunkSize entries into the chunk; returns false once the source is exhausted
+     */
+    private boolean fillChunk(EntrySource source, List<Entry> chunk) throws IOException {
+        while (chunk.size() < chunkSize) {
+            Entry entry = source.next();
+            if (entry == null) {
+                return false;
+            }
+            chunk.add(entry);
+        }
+        return true;
+    }
+
+    /**
+     * Start validating the chunk, then write the previously validated one while it runs
+     */
+    private void submit(List<Entry> chunk, ImportRun run, ExecutorService validators, int threads) {
+        CompletableFuture<List<Candidate>> next = validate(chunk, validators, threads);
+        if (run.pending != null) {
+            write(run.pending.join(), run);
+        }
+        run.pending = next;
+    }
+
+    private EntrySource jsonSource(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            throw new JsonParseException(parser, "Expected a JSON array of anime");
+        }
+        return () -> parser.nextToken() == JsonToken.START_OBJECT
+                ? new Entry(objectMapper.readValue(parser, AnimeDTO.class), null)
+                : null;
+    }
+
+    private static EntrySource quickSource(BufferedReader reader) {
+        return () -> {
+            String line;
+            do {
+                line = reader.readLine();
+            } while (line != null && line.isBlank());
+            return line != null ? quickEntry(line) : null;
+        };
+    }
+
+    /**
+     * Parse one line of the quick format: {@code Title | Description | Genre, Genre | Year | Type | Status}
+     */
+    static Entry quickEntry(String line) {
+        String[] parts = line.split("\\|");
+        if (parts.length < 3) {
+            return new Entry(null, "Неверный формат строки: " + line.substring(0, Math.min(50, line.length())));
+        }
+        AnimeDTO dto = AnimeDTO.builder()
+                .title(parts[0].trim())
+                .description(parts[1].trim())
+                .genres(Arrays.stream(parts[2].split(","))
+                        .map(String::trim)
+                        .filter(genre -> !genre.isEmpty())
+                        .collect(Collectors.toList()))
+                .releaseYear(parts.length > 3 ? parseIntSafe(parts[3].trim()) : null)
+                .type(parts.length > 4 ? parts[4].trim().toUpperCase() : "TV")
+                .status(parts.length > 5 ? parts[5].trim().toUpperCase() : "ONGOING")
+                .build();
+        return new Entry(dto, null);
+    }
+
+    private static Integer parseIntSafe(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private CompletableFuture<List<Candidate>> validate(List<Entry> chunk, ExecutorService validators, int slices) {
+        int sliceSize = Math.max(1, (chunk.size() + slices - 1) / slices);
+        List<CompletableFuture<List<Candidate>>> parts = new ArrayList<>();
+        for (int from = 0; from < chunk.size(); from += sliceSize) {
+            List<Entry> slice = chunk.subList(from, Math.min(from + sliceSize, chunk.size()));
+            parts.add(CompletableFuture.supplyAsync(() -> slice.stream()
+                    .map(entry -> entry.error() != null ? Candidate.rejected(entry.error()) : toCandidate(entry.dto()))
+                    .toList(), validators));
+        }
+        return CompletableFuture.allOf(parts.toArray(CompletableFuture[]::new))
+                .thenApply(done -> parts.stream().flatMap(part -> part.join().stream()).toList());
+    }
+
+    /**
+     * Check required fields and build the entity with a client-side id
+     */
+    static Candidate toCandidate(AnimeDTO dto) {
+        if (dto.getTitle() == null || dto.getTitle().isBlank()) {
+            return Candidate.rejected("Пропущено аниме без названия");
+        }
+        if (dto.getDescription() == null || dto.getDescription().length() < 10) {
+            return Candidate.rejected("\"" + dto.getTitle() + "\": описание должно быть не менее 10 символов");
+        }
+        if (dto.getGenres() == null || dto.getGenres().isEmpty()) {
+            return Candidate.rejected("\"" + dto.getTitle() + "\": укажите хотя бы один жанр");
+        }
+
+        if (dto.getType() == null) {
+            dto.setType("TV");
+        }
+        if (dto.getStatus() == null) {
+            dto.setStatus("ONGOING");
+        }
+        Anime anime = dto.toEntity();
+        anime.setId(new ObjectId().toHexString());
+        LocalDateTime now = LocalDateTime.now();
+        anime.setCreatedAt(now);
+        anime.setUpdatedAt(now);
+        return new Candidate(anime, null);
+    }
+
+    private void write(List<Candidate> candidates, ImportRun run) {
+        List<Anime> batch = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates) {
+            if (candidate.error() != null) {
+                run.result.addError(candidate.error());
+                continue;
+            }
+            Anime anime = candidate.anime();
+            if (!run.titles.add(anime.getTitle())) {
+                if (run.skipDuplicates) {
+                    run.result.incrementSkipped();
+                } else {
+                    run.result.addError("\"" + anime.getTitle() + "\": Anime with this title already exists");
+                }
+                continue;
+            }
+            batch.add(anime);
+        }
+        if (!batch.isEmpty()) {
+            insert(batch, run);
+        }
+
+        run.processed += candidates.size();
+        if (run.progress != null) {
+            run.progress.committed(run.processed, run.result);
+        }
+    }
+
+    private void insert(List<Anime> batch, ImportRun run) {
+        resolveStudios(mongoTemplate, batch, run.studioNames);
+
+        Set<Integer> failed = new HashSet<>();
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Anime.class).insert(batch).execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                failed.add(error.getIndex());
+                Anime anime = batch.get(error.getIndex());
+                run.titles.remove(anime.getTitle());
+                run.result.addError("\"" + anime.getTitle() + "\": " + error.getMessage());
+            }
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            if (!failed.contains(i)) {
+                Anime anime = batch.get(i);
+                run.result.addSuccess(anime.getTitle());
+                run.insertedIds.add(anime.getId());
+            }
+        }
+    }
+
+    /**
+     * Fill studio names for a batch about to be inserted, fetching only studios missing from
+     * {@code studioNames}, the names already resolved by the run (shared with catalog sync)
+     */
+    static void resolveStudios(MongoTemplate mongoTemplate, List<Anime> batch, Map<String, String> studioNames) {
+        Set<String> unknown = batch.stream()
+                .map(Anime::getStudioId)
+                .filter(id -> id != null && !studioNames.containsKey(id))
+                .collect(Collectors.toSet());
+        if (!unknown.isEmpty()) {
+            Query query = Query.query(Criteria.where("id").in(unknown));
+            query.fields().include("name");
+            mongoTemplate.find(query, Studio.class).forEach(studio -> studioNames.put(studio.getId(), studio.getName()));
+            unknown.forEach(id -> studioNames.putIfAbsent(id, null));
+        }
+        for (Anime anime : batch) {
+            if (anime.getStudioId() != null) {
+                anime.setStudioName(studioNames.get(anime.getStudioId()));
+            }
+        }
+    }
+
+    /**
+     * Notify listeners once for everything this run inserted
+     */
+    private void finish(ImportRun run) {
+        if (!run.insertedIds.isEmpty()) {
+            eventPublisher.publishEvent(new AnimeBulkImportedEvent(run.insertedIds));
+        }
+    }
+
+    private Set<String> loadTitles() {
+        Query query = new Query();
+        query.fields().include("title");
+        return mongoTemplate.find(query, Anime.class).stream()
+                .map(Anime::getTitle)
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    /**
+     * Sequential reader of import entries; returns null once the input is exhausted
+     */
+    @FunctionalInterface
+    interface EntrySource {
+        Entry next() throws IOException;
+    }
+
+    /**
+     * Receives the number of entries consumed so far and the running result after each committed chunk
+     */
+    @FunctionalInterface
+    public interface ImportProgress {
+        void committed(int processed, BulkImportResultDTO result);
+
+        /**
+         * Checked before every chunk; the import stops there once this returns true
+         */
+        default boolean stopRequested() {
+            return false;
+        }
+    }
+
+    /**
+     * A parsed entry, or the reason the raw input could not be turned into one
+     */
+    record Entry(AnimeDTO dto, String error) {
+    }
+
+    record Candidate(Anime anime, String error) {
+
+        static Candidate rejected(String error) {
+            return new Candidate(null, error);
+        }
+    }
+
+    /**
+     * State of one import, touched only by the writing thread
+     */
+    private static final class ImportRun {
+
+        final boolean skipDuplicates;
+        final BulkImportResultDTO result;
+        final Set<String> titles;
+        final Map<String, String> studioNames = new HashMap<>();
+        final List<String> insertedIds = new ArrayList<>();
+        final ImportProgress progress;
+        CompletableFuture<List<Candidate>> pending;
+        int processed;
+
+        ImportRun(boolean skipDuplicates, BulkImportResultDTO result, Set<String> titles, ImportProgress progress) {
+            this.skipDuplicates = skipDuplicates;
+            this.result = result;
+            this.titles = titles;
+            this.progress = progress;
+        }
+    }
+}
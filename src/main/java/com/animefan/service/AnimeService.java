@@ -4,6 +4,10 @@ import com.animefan.dto.AnimeDTO;
 import com.animefan.dto.AnimeSearchDTO;
 import com.animefan.dto.GenreStatsDTO;
 import com.animefan.exception.ResourceNotFoundException;
+import com.animefan.event.AnimeCreatedEvent;
+import com.animefan.event.AnimeDeletedEvent;
+import com.animefan.event.AnimeUpdatedEvent;
+import com.animefan.event.AnimeViewedEvent;
 import com.animefan.exception.ValidationException;
 import com.animefan.model.Anime;
 import com.animefan.model.Review;
@@ -14,6 +18,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -22,6 +27,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Service for Anime business logic
@@ -34,6 +40,10 @@ public class AnimeService {
     private final AnimeRepository animeRepository;
     private final StudioRepository studioRepository;
     private final ReviewRepository reviewRepository;
+    private final TopRatedAnimeIndex topRatedAnimeIndex;
+    private final StudioStatsService studioStatsService;
+    private final DenormalizationService denormalizationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Get all anime with pagination
@@ -62,6 +72,7 @@ public class AnimeService {
         Anime anime = getAnimeById(id);
         animeRepository.incrementViewCount(id);
         anime.setViewCount(anime.getViewCount() + 1);
+        eventPublisher.publishEvent(new AnimeViewedEvent(id, anime.getStudioId()));
         return anime;
     }
 
@@ -69,7 +80,7 @@ public class AnimeService {
      * Create new anime
      */
     @Transactional
-    @CacheEvict(value = {"topAnime", "genreStats"}, allEntries = true)
+    @CacheEvict(value = "genreStats", allEntries = true)
     public Anime createAnime(AnimeDTO animeDTO) {
         log.info("Creating new anime: {}", animeDTO.getTitle());
 
@@ -82,24 +93,28 @@ public class AnimeService {
         // Set studio name if studio ID is provided
         if (anime.getStudioId() != null) {
             studioRepository.findById(anime.getStudioId())
-                    .ifPresent(studio -> {
-                        anime.setStudioName(studio.getName());
-                        studioRepository.addAnimeToStudio(studio.getId(), anime.getId());
-                    });
+                    .ifPresent(studio -> anime.setStudioName(studio.getName()));
         }
 
-        return animeRepository.save(anime);
+        Anime saved = animeRepository.save(anime);
+        eventPublisher.publishEvent(new AnimeCreatedEvent(saved));
+        return saved;
     }
 
     /**
      * Update anime
      */
     @Transactional
-    @CacheEvict(value = {"topAnime", "genreStats"}, allEntries = true)
+    @CacheEvict(value = "genreStats", allEntries = true)
     public Anime updateAnime(String id, AnimeDTO animeDTO) {
         log.info("Updating anime: {}", id);
 
         Anime existingAnime = getAnimeById(id);
+        List<String> previousGenres = existingAnime.getGenres() != null
+                ? List.copyOf(existingAnime.getGenres()) : List.of();
+        String previousTitle = existingAnime.getTitle();
+        String previousPosterUrl = existingAnime.getPosterUrl();
+        String previousStudioId = existingAnime.getStudioId();
 
         // Update fields
         existingAnime.setTitle(animeDTO.getTitle());
@@ -120,39 +135,31 @@ public class AnimeService {
         if (animeDTO.getStudioId() != null &&
             !animeDTO.getStudioId().equals(existingAnime.getStudioId())) {
 
-            // Remove from old studio
-            if (existingAnime.getStudioId() != null) {
-                studioRepository.removeAnimeFromStudio(existingAnime.getStudioId(), id);
-            }
-
-            // Add to new studio
             studioRepository.findById(animeDTO.getStudioId())
                     .ifPresent(studio -> {
                         existingAnime.setStudioId(studio.getId());
                         existingAnime.setStudioName(studio.getName());
-                        studioRepository.addAnimeToStudio(studio.getId(), id);
                     });
         }
 
-        return animeRepository.save(existingAnime);
+        Anime saved = animeRepository.save(existingAnime);
+        eventPublisher.publishEvent(new AnimeUpdatedEvent(saved, previousGenres, previousTitle,
+                previousPosterUrl, previousStudioId));
+        return saved;
     }
 
     /**
      * Delete anime
      */
     @Transactional
-    @CacheEvict(value = {"topAnime", "genreStats"}, allEntries = true)
+    @CacheEvict(value = "genreStats", allEntries = true)
     public void deleteAnime(String id) {
         log.info("Deleting anime: {}", id);
 
         Anime anime = getAnimeById(id);
 
-        // Remove from studio
-        if (anime.getStudioId() != null) {
-            studioRepository.removeAnimeFromStudio(anime.getStudioId(), id);
-        }
-
         animeRepository.deleteById(id);
+        eventPublisher.publishEvent(new AnimeDeletedEvent(anime));
     }
 
     /**
@@ -190,12 +197,10 @@ public class AnimeService {
     }
 
     /**
-     * Get top anime by rating (cached)
+     * Get top anime by rating (served from the in-memory index; the returned anime are shared and must not be modified)
      */
-    @Cacheable(value = "topAnime", key = "#limit")
     public List<Anime> getTopAnime(int limit) {
-        log.info("Getting top {} anime by rating", limit);
-        return animeRepository.getTopAnimeByRating(limit);
+        return topRatedAnimeIndex.getTop(limit);
     }
 
     /**
@@ -235,7 +240,7 @@ public class AnimeService {
     /**
      * Update anime rating (called when review is added/updated/deleted)
      */
-    @CacheEvict(value = {"topAnime", "genreStats"}, allEntries = true)
+    @CacheEvict(value = "genreStats", allEntries = true)
     public void recalculateRating(String animeId) {
         log.info("Recalculating rating for anime: {}", animeId);
 
@@ -246,13 +251,13 @@ public class AnimeService {
                 ReviewRepository.AnimeRatingStats stats = statsList.get(0);
                 if (stats.getAvgRating() != null) {
                     double roundedRating = Math.round(stats.getAvgRating() * 10.0) / 10.0;
-                    animeRepository.updateAnimeRating(animeId, roundedRating, stats.getCount().intValue());
+                    updateRating(animeId, roundedRating, stats.getCount().intValue());
                     log.info("Updated anime {} rating to {} ({} reviews)", animeId, roundedRating, stats.getCount());
                 } else {
-                    animeRepository.updateAnimeRating(animeId, 0.0, 0);
+                    updateRating(animeId, 0.0, 0);
                 }
             } else {
-                animeRepository.updateAnimeRating(animeId, 0.0, 0);
+                updateRating(animeId, 0.0, 0);
             }
         } catch (Exception e) {
             log.error("Error in aggregation, falling back to simple calculation: {}", e.getMessage());
@@ -265,10 +270,10 @@ public class AnimeService {
                             .average()
                             .orElse(0.0);
                     double roundedRating = Math.round(avgRating * 10.0) / 10.0;
-                    animeRepository.updateAnimeRating(animeId, roundedRating, reviews.size());
+                    updateRating(animeId, roundedRating, reviews.size());
                     log.info("Fallback: Updated anime {} rating to {} ({} reviews)", animeId, roundedRating, reviews.size());
                 } else {
-                    animeRepository.updateAnimeRating(animeId, 0.0, 0);
+                    updateRating(animeId, 0.0, 0);
                 }
             } catch (Exception ex) {
                 log.error("Fallback also failed: {}", ex.getMessage());
@@ -276,63 +281,15 @@ public class AnimeService {
         }
     }
 
-    /**
-     * Add episode to anime
-     */
-    public void addEpisode(String animeId, Anime.Episode episode) {
-        log.info("Adding episode {} to anime: {}", episode.getNumber(), animeId);
-
-        // Validate anime exists
-        Anime anime = getAnimeById(animeId);
-
-        // Check if episode already exists
-        if (anime.getEpisodes() != null) {
-            boolean exists = anime.getEpisodes().stream()
-                    .anyMatch(e -> e.getNumber() == episode.getNumber());
-            if (exists) {
-                throw new IllegalArgumentException("Episode " + episode.getNumber() + " already exists");
-            }
-        }
-
-        animeRepository.addEpisode(animeId, episode);
-    }
-
-    /**
-     * Update episode
-     */
-    public void updateEpisode(String animeId, int episodeNumber, String title, String videoUrl, String thumbnailUrl, int duration) {
-        log.info("Updating episode {} in anime: {}", episodeNumber, animeId);
-
-        // Validate anime exists
-        Anime anime = getAnimeById(animeId);
-
-        // Find and update episode
-        if (anime.getEpisodes() != null) {
-            for (Anime.Episode ep : anime.getEpisodes()) {
-                if (ep.getNumber() == episodeNumber) {
-                    ep.setTitle(title);
-                    ep.setVideoUrl(videoUrl);
-                    ep.setThumbnailUrl(thumbnailUrl);
-                    ep.setDuration(duration);
-                    break;
-                }
-            }
-            animeRepository.save(anime);
+    private void updateRating(String animeId, double rating, int ratingCount) {
+        Anime previous = animeRepository.updateAnimeRating(animeId, rating, ratingCount);
+        topRatedAnimeIndex.onRatingChanged(animeId, rating, ratingCount);
+        studioStatsService.onRatingChanged(previous, rating, ratingCount);
+        if (previous != null && !Objects.equals(previous.getRating(), rating)) {
+            denormalizationService.onRatingChanged(animeId, rating);
         }
     }
 
-    /**
-     * Delete episode
-     */
-    public void deleteEpisode(String animeId, int episodeNumber) {
-        log.info("Deleting episode {} from anime: {}", episodeNumber, animeId);
-
-        // Validate anime exists
-        getAnimeById(animeId);
-
-        animeRepository.removeEpisode(animeId, episodeNumber);
-    }
-
     /**
      * Add related anime
      */
@@ -0,0 +1,321 @@
+package com.animefan.service;
+
+import com.animefan.event.AnimeDeletedEvent;
+import com.animefan.event.ReviewCreatedEvent;
+import com.animefan.event.ReviewDeletedEvent;
+import com.animefan.event.ReviewUpdatedEvent;
+import com.animefan.event.UserAnimeRelationChangedEvent;
+import com.animefan.model.Anime;
+import com.animefan.model.AnimeStatistics;
+import com.animefan.model.ListCounters;
+import com.animefan.repository.AnimeStatisticsRepository;
+import com.animefan.repository.ReviewRepository;
+import com.animefan.repository.UserAnimeRelationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Maintains per-anime list counters and rating histograms in the anime_stats collection.
+ * List and review writes apply atomic $inc updates and refresh the "animeStats" cache entry;
+ * a periodic reconciler recounts anime in parallel batches and corrects any drift.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AnimeStatsService {
+
+    static final String CACHE_NAME = "animeStats";
+
+    private final AnimeStatisticsRepository animeStatisticsRepository;
+    private final UserAnimeRelationRepository relationRepository;
+    private final ReviewRepository reviewRepository;
+    private final MongoTemplate mongoTemplate;
+    private final CacheManager cacheManager;
+
+    @Value("${app.stats.anime-reconcile-batch-size:500}")
+    private int reconcileBatchSize = 500;
+
+    @Value("${app.stats.anime-reconcile-threads:4}")
+    private int reconcileThreads = 4;
+
+    /**
+     * Get counters for anime (cache, then one read by _id, rebuilt on demand)
+     */
+    public AnimeStatistics getAnimeStatistics(String animeId) {
+        Cache cache = cache();
+        AnimeStatistics cached = cache != null ? cache.get(animeId, AnimeStatistics.class) : null;
+        if (cached != null) {
+            return cached;
+        }
+
+        AnimeStatistics stats = animeStatisticsRepository.findById(animeId)
+                .filter(AnimeStatistics::isConsistent)
+                .orElseGet(() -> rebuild(animeId));
+        if (cache != null) {
+            cache.put(animeId, stats);
+        }
+        return stats;
+    }
+
+    /**
+     * Get rating distribution for anime (ratings with at least one review, ascending)
+     */
+    public List<ReviewRepository.RatingDistribution> getRatingDistribution(String animeId) {
+        long[] histogram = getAnimeStatistics(animeId).getRatingHistogram();
+        List<ReviewRepository.RatingDistribution> distribution = new ArrayList<>();
+        for (int i = 0; i < histogram.length; i++) {
+            if (histogram[i] > 0) {
+                distribution.add(new RatingBucket(i + 1, histogram[i]));
+            }
+        }
+        return distribution;
+    }
+
+    /**
+     * Recompute counters from source collections and overwrite the stored document
+     */
+    public AnimeStatistics rebuild(String animeId) {
+        log.info("Rebuilding list statistics for anime: {}", animeId);
+
+        ListCounters counters = relationRepository.countListEntries("animeId", List.of(animeId))
+                .getOrDefault(animeId, new ListCounters());
+        long[] histogram = new long[AnimeStatistics.RATING_SCALE];
+        for (ReviewRepository.RatingDistribution bucket : reviewRepository.getRatingDistribution(animeId)) {
+            addToHistogram(histogram, bucket.getId(), bucket.getCount());
+        }
+        counters.setReviews(Arrays.stream(histogram).sum());
+
+        return animeStatisticsRepository.save(AnimeStatistics.builder()
+                .animeId(animeId)
+                .counters(counters)
+                .ratingHistogram(histogram)
+                .rebuiltAt(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * Compare stored statistics with exact counts for the whole catalog.
+     * Batches are processed in parallel and only drifted documents are rewritten.
+     */
+    @Scheduled(fixedDelayString = "${app.stats.anime-reconcile-interval-ms:21600000}",
+            initialDelayString = "${app.stats.anime-reconcile-interval-ms:21600000}")
+    public int reconcile() {
+        log.info("Reconciling anime statistics in batches of {} on {} threads", reconcileBatchSize, reconcileThreads);
+        long start = System.currentTimeMillis();
+
+        List<CompletableFuture<Integer>> batches = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(reconcileThreads);
+        try {
+            String lastId = null;
+            while (true) {
+                List<String> ids = nextAnimeIds(lastId);
+                if (ids.isEmpty()) {
+                    break;
+                }
+                batches.add(CompletableFuture.supplyAsync(() -> reconcileBatch(ids), executor));
+                lastId = ids.get(ids.size() - 1);
+            }
+            int corrected = batches.stream().mapToInt(CompletableFuture::join).sum();
+            log.info("Anime statistics reconciled: {} batches, {} corrected in {} ms",
+                    batches.size(), corrected, System.currentTimeMillis() - start);
+            return corrected;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Backfill statistics in the background when documents without a rating histogram exist
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfNeeded() {
+        try {
+            long animeCount = mongoTemplate.estimatedCount(Anime.class);
+            long complete = mongoTemplate.count(
+                    Query.query(Criteria.where("ratingHistogram").exists(true)), AnimeStatistics.class);
+            if (complete < animeCount) {
+                log.info("Backfilling anime statistics ({} of {} complete)", complete, animeCount);
+                CompletableFuture.runAsync(this::reconcile)
+                        .exceptionally(e -> {
+                            log.warn("Anime statistics backfill failed: {}", e.getMessage());
+                            return null;
+                        });
+            }
+        } catch (Exception e) {
+            log.warn("Failed to check anime statistics backfill: {}", e.getMessage());
+        }
+    }
+
+    @EventListener
+    public void onRelationChanged(UserAnimeRelationChangedEvent event) {
+        Update update = ListCounterUpdates.forRelationChange(event);
+        if (update != null) {
+            increment(event.animeId(), update);
+        }
+    }
+
+    @EventListener
+    public void onReviewCreated(ReviewCreatedEvent event) {
+        Update update = ListCounterUpdates.reviews(1);
+        incrementRating(update, event.review().getRating(), 1);
+        increment(event.review().getAnimeId(), update);
+    }
+
+    @EventListener
+    public void onReviewUpdated(ReviewUpdatedEvent event) {
+        if (event.ratingChanged()) {
+            Update update = new Update();
+            incrementRating(update, event.previousRating(), -1);
+            incrementRating(update, event.review().getRating(), 1);
+            increment(event.review().getAnimeId(), update);
+        }
+    }
+
+    @EventListener
+    public void onReviewDeleted(ReviewDeletedEvent event) {
+        Update update = ListCounterUpdates.reviews(-1);
+        incrementRating(update, event.review().getRating(), -1);
+        increment(event.review().getAnimeId(), update);
+    }
+
+    @EventListener
+    public void onAnimeDeleted(AnimeDeletedEvent event) {
+        animeStatisticsRepository.deleteById(event.anime().getId());
+        evict(event.anime().getId());
+    }
+
+    private List<String> nextAnimeIds(String afterId) {
+        Query query = new Query().with(Sort.by(Sort.Direction.ASC, "_id")).limit(reconcileBatchSize);
+        if (afterId != null) {
+            query.addCriteria(Criteria.where("_id").gt(afterId));
+        }
+        query.fields().include("_id");
+        return mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(Anime.class)).stream()
+                .map(doc -> doc.get("_id").toString())
+                .toList();
+    }
+
+    private int reconcileBatch(List<String> ids) {
+        Map<String, ListCounters> expected = relationRepository.countListEntries("animeId", ids);
+        Map<String, long[]> histograms = new HashMap<>();
+        for (ReviewRepository.AnimeRatingBucket bucket : reviewRepository.getRatingDistributions(ids)) {
+            addToHistogram(histograms.computeIfAbsent(bucket.getAnimeId(), id -> new long[AnimeStatistics.RATING_SCALE]),
+                    bucket.getRating(), bucket.getCount());
+        }
+
+        Map<String, AnimeStatistics> stored = new HashMap<>();
+        animeStatisticsRepository.findAllById(ids).forEach(s -> stored.put(s.getAnimeId(), s));
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, AnimeStatistics.class);
+        List<String> drifted = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (String id : ids) {
+            ListCounters counters = expected.getOrDefault(id, new ListCounters());
+            long[] histogram = histograms.getOrDefault(id, new long[AnimeStatistics.RATING_SCALE]);
+            counters.setReviews(Arrays.stream(histogram).sum());
+
+            AnimeStatistics current = stored.get(id);
+            if (current != null && counters.equals(current.getCounters())
+                    && Arrays.equals(histogram, current.getRatingHistogram())) {
+                continue;
+            }
+            bulk.upsert(Query.query(Criteria.where("animeId").is(id)), new Update()
+                    .set("counters", counters)
+                    .set("ratingHistogram", histogram)
+                    .set("reconciledAt", now));
+            drifted.add(id);
+        }
+
+        if (!drifted.isEmpty()) {
+            bulk.execute();
+            drifted.forEach(this::evict);
+        }
+        return drifted.size();
+    }
+
+    private static void addToHistogram(long[] histogram, Integer rating, Long count) {
+        if (rating != null && rating >= 1 && rating <= AnimeStatistics.RATING_SCALE && count != null) {
+            histogram[rating - 1] += count;
+        }
+    }
+
+    private static void incrementRating(Update update, Integer rating, int delta) {
+        if (rating != null && rating >= 1 && rating <= AnimeStatistics.RATING_SCALE) {
+            update.inc(AnimeStatistics.histogramField(rating), delta);
+        }
+    }
+
+    /**
+     * Apply an increment to an existing, complete document only and refresh the cached copy.
+     * Documents that are missing or lack a histogram are dropped and rebuilt on the next read.
+     */
+    private void increment(String animeId, Update update) {
+        try {
+            AnimeStatistics stats = mongoTemplate.findAndModify(
+                    Query.query(Criteria.where("animeId").is(animeId).and("ratingHistogram").exists(true)), update,
+                    FindAndModifyOptions.options().returnNew(true), AnimeStatistics.class);
+            if (stats == null) {
+                animeStatisticsRepository.deleteById(animeId);
+                evict(animeId);
+                return;
+            }
+            Cache cache = cache();
+            if (cache != null) {
+                cache.put(animeId, stats);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to update statistics for anime {}, dropping document for rebuild: {}", animeId, e.getMessage());
+            animeStatisticsRepository.deleteById(animeId);
+            evict(animeId);
+        }
+    }
+
+    private void evict(String animeId) {
+        Cache cache = cache();
+        if (cache != null) {
+            cache.evict(animeId);
+        }
+    }
+
+    private Cache cache() {
+        return cacheManager.getCache(CACHE_NAME);
+    }
+
+    private record RatingBucket(Integer id, Long count) implements ReviewRepository.RatingDistribution {
+
+        @Override
+        public Integer getId() {
+            return id;
+        }
+
+        @Override
+        public Long getCount() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package com.animefan.service;
+
+import com.animefan.dto.AnimeDTO;
+import com.animefan.dto.CatalogSyncResultDTO;
+import com.animefan.event.AnimeBulkImportedEvent;
+import com.animefan.event.AnimeUpdatedEvent;
+import com.animefan.model.Anime;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Applies an NDJSON metadata feed to the catalog, matching anime by title.
+ * Each record's upstream fields are hashed; records whose hash equals the one stored at the
+ * last sync are skipped without touching the database. Changed anime get a field-level
+ * $set of only the fields that differ, and new titles are inserted, both in bulk batches.
+ * Fields absent from a record are left as they are. Caches and listeners are notified
+ * only for what actually changed.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CatalogSyncService {
+
+    private static final Map<String, Field> SYNC_FIELDS = new LinkedHashMap<>();
+
+    static {
+        field("titleEnglish", Anime::getTitleEnglish, Anime::setTitleEnglish);
+        field("titleJapanese", Anime::getTitleJapanese, Anime::setTitleJapanese);
+        field("description", Anime::getDescription, Anime::setDescription);
+        field("genres", Anime::getGenres, Anime::setGenres);
+        field("releaseYear", Anime::getReleaseYear, Anime::setReleaseYear);
+        field("releaseDate", Anime::getReleaseDate, Anime::setReleaseDate);
+        field("status", Anime::getStatus, Anime::setStatus);
+        field("type", Anime::getType, Anime::setType);
+        field("episodeCount", Anime::getEpisodeCount, Anime::setEpisodeCount);
+        field("posterUrl", Anime::getPosterUrl, Anime::setPosterUrl);
+        field("bannerUrl", Anime::getBannerUrl, Anime::setBannerUrl);
+        field("trailerUrl", Anime::getTrailerUrl, Anime::setTrailerUrl);
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+
+    @Value("${app.catalog-sync.batch-size:500}")
+    private int batchSize = 500;
+
+    /**
+     * Apply the feed (one anime JSON object per line) and report what changed
+     */
+    public CatalogSyncResultDTO sync(Reader feed) throws IOException {
+        long start = System.currentTimeMillis();
+        SyncRun run = new SyncRun(loadIndex());
+
+        BufferedReader reader = new BufferedReader(feed);
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                accept(objectMapper.readValue(line, AnimeDTO.class), run);
+            } catch (JsonProcessingException e) {
+                run.result.addError("Строка " + lineNumber + ": " + e.getOriginalMessage());
+            }
+            if (run.changed.size() >= batchSize || run.inserts.size() >= batchSize) {
+                // Inserts go first so a later record for a title new in this feed finds its document
+                flushInserts(run);
+                flushUpdates(run);
+            }
+        }
+        flushInserts(run);
+        flushUpdates(run);
+        notifyChanges(run);
+
+        CatalogSyncResultDTO result = run.result;
+        log.info("Catalog sync finished in {} ms: {} inserted, {} updated, {} unchanged, {} errors",
+                System.currentTimeMillis() - start, result.getInsertedCount(), result.getUpdatedCount(),
+                result.getUnchangedCount(), result.getErrorCount());
+        return result;
+    }
+
+    private void accept(AnimeDTO record, SyncRun run) {
+        if (record.getTitle() == null || record.getTitle().isBlank()) {
+            run.result.addError("Пропущена запись без названия");
+            return;
+        }
+        Anime incoming = record.toEntity();
+        String hash = contentHash(incoming);
+        IndexEntry existing = run.index.get(incoming.getTitle());
+
+        if (existing == null) {
+            AnimeImportService.Candidate candidate = AnimeImportService.toCandidate(record);
+            if (candidate.error() != null) {
+                run.result.addError(candidate.error());
+                return;
+            }
+            candidate.anime().setSyncHash(hash);
+            run.inserts.add(candidate.anime());
+            run.index.put(incoming.getTitle(), new IndexEntry(candidate.anime().getId(), hash));
+        } else if (hash.equals(existing.syncHash())) {
+            run.result.incrementUnchanged();
+        } else {
+            run.changed.put(existing.id(), new Change(incoming, hash));
+            run.index.put(incoming.getTitle(), new IndexEntry(existing.id(), hash));
+        }
+    }
+
+    /**
+     * Diff the batch against the stored fields and $set only what differs
+     */
+    private void flushUpdates(SyncRun run) {
+        if (run.changed.isEmpty()) {
+            return;
+        }
+        Query query = Query.query(Criteria.where("id").in(run.changed.keySet()));
+        SYNC_FIELDS.keySet().forEach(name -> query.fields().include(name));
+        query.fields().include("title");
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Anime.class);
+        LocalDateTime now = LocalDateTime.now();
+        for (Anime current : mongoTemplate.find(query, Anime.class)) {
+            Change change = run.changed.get(current.getId());
+            List<String> previousGenres = current.getGenres() != null ? List.copyOf(current.getGenres()) : List.of();
+            String previousPosterUrl = current.getPosterUrl();
+
+            Update update = new Update().set("syncHash", change.hash());
+            List<String> changedFields = new ArrayList<>();
+            SYNC_FIELDS.forEach((name, field) -> {
+                Object value = field.getter().apply(change.incoming());
+                if (value != null && !Objects.equals(value, field.getter().apply(current))) {
+                    update.set(name, value);
+                    field.setter().accept(current, value);
+                    changedFields.add(name);
+                }
+            });
+
+            if (changedFields.isEmpty()) {
+                // First sync of an anime that already matches upstream: only record the hash
+                run.result.incrementUnchanged();
+            } else {
+                update.set("updatedAt", now);
+                run.result.incrementUpdated(changedFields);
+                run.updated.add(new AnimeUpdatedEvent(current, previousGenres, current.getTitle(), previousPosterUrl,
+                        current.getStudioId()));
+                if (changedFields.contains("genres")) {
+                    run.genresChanged = true;
+                }
+            }
+            bulk.updateOne(Query.query(Criteria.where("id").is(current.getId())), update);
+        }
+        bulk.execute();
+        run.changed.clear();
+    }
+
+    private void flushInserts(SyncRun run) {
+        if (run.inserts.isEmpty()) {
+            return;
+        }
+        AnimeImportService.resolveStudios(mongoTemplate, run.inserts, run.studioNames);
+        mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Anime.class).insert(run.inserts).execute();
+        run.inserts.forEach(anime -> {
+            run.insertedIds.add(anime.getId());
+            run.result.incrementInserted();
+        });
+        run.inserts.clear();
+    }
+
+    /**
+     * Publish and clear the genre caches only for anime that were inserted or actually changed
+     */
+    private void notifyChanges(SyncRun run) {
+        run.updated.forEach(eventPublisher::publishEvent);
+        if (!run.insertedIds.isEmpty()) {
+            eventPublisher.publishEvent(new AnimeBulkImportedEvent(run.insertedIds));
+        }
+        if (run.genresChanged || !run.insertedIds.isEmpty()) {
+            for (String name : List.of("genreStats", "genres")) {
+                Cache cache = cacheManager.getCache(name);
+                if (cache != null) {
+                    cache.clear();
+                }
+            }
+        }
+    }
+
+    /**
+     * Hash of the synced fields present in the record, in a fixed order
+     */
+    static String contentHash(Anime anime) {
+        StringBuilder canonical = new StringBuilder(anime.getTitle());
+        SYNC_FIELDS.forEach((name, field) -> {
+            Object value = field.getter().apply(anime);
+            if (value != null) {
+                canonical.append('\u0000').append(name).append('=').append(value);
+            }
+        });
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Map<String, IndexEntry> loadIndex() {
+        Query query = new Query();
+        query.fields().include("title").include("syncHash");
+        return mongoTemplate.find(query, Anime.class).stream()
+                .collect(Collectors.toMap(Anime::getTitle, anime -> new IndexEntry(anime.getId(), anime.getSyncHash()),
+                        (first, second) -> first, (Supplier<Map<String, IndexEntry>>) HashMap::new));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void field(String name, Function<Anime, T> getter, BiConsumer<Anime, T> setter) {
+        SYNC_FIELDS.put(name, new Field((Function<Anime, Object>) getter, (BiConsumer<Anime, Object>) setter));
+    }
+
+    private record Field(Function<Anime, Object> getter, BiConsumer<Anime, Object> setter) {
+    }
+
+    private record IndexEntry(String id, String syncHash) {
+    }
+
+    private record Change(Anime incoming, String hash) {
+    }
+
+    /**
+     * State of one sync, touched only by the calling thread
+     */
+    private static final class SyncRun {
+
+        final Map<String, IndexEntry> index;
+        final CatalogSyncResultDTO result = new CatalogSyncResultDTO();
+        final Map<String, Change> changed = new LinkedHashMap<>();
+        final List<Anime> inserts = new ArrayList<>();
+        final List<String> insertedIds = new ArrayList<>();
+        final Map<String, String> studioNames = new HashMap<>();
+        final List<AnimeUpdatedEvent> updated = new ArrayList<>();
+        boolean genresChanged;
+
+        SyncRun(Map<String, IndexEntry> index) {
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.animefan.service;
+
+import com.animefan.dto.AnimeChangeDTO;
+import com.animefan.event.AnimeBulkImportedEvent;
+import com.animefan.event.AnimeCreatedEvent;
+import com.animefan.event.AnimeDeletedEvent;
+import com.animefan.event.AnimeUpdatedEvent;
+import com.animefan.event.ReviewCreatedEvent;
+import com.animefan.event.ReviewDeletedEvent;
+import com.animefan.event.ReviewUpdatedEvent;
+import com.animefan.model.Anime;
+import com.animefan.model.AnimeChange;
+import com.animefan.model.ChangeFeedState;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * "Changes since" feed over the anime catalog for incremental client sync.
+ * Every create, edit, rating change or delete moves the anime's single entry in
+ * anime_changes to the next value of a persistent sequence, so a client only needs
+ * the last sequence it has seen. Sequence numbers are handed out and written under
+ * one lock in ascending order, so a reader never sees a later change without all
+ * earlier ones. Deleted anime stay in the feed as tombstones until pruned.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChangeFeedService {
+
+    private static final int WRITE_BATCH_SIZE = 1000;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${app.change-feed.tombstone-retention-days:90}")
+    private int tombstoneRetentionDays = 90;
+
+    private final Object writeLock = new Object();
+
+    /**
+     * Changes after the given sequence number, oldest first, with summaries of current anime
+     */
+    public ChangesPage getChanges(long since, int limit) {
+        Query query = Query.query(Criteria.where("seq").gt(since))
+                .with(Sort.by("seq"))
+                .limit(limit + 1);
+        List<AnimeChange> changes = mongoTemplate.find(query, AnimeChange.class);
+        boolean hasMore = changes.size() > limit;
+        if (hasMore) {
+            changes = changes.subList(0, limit);
+        }
+
+        List<String> liveIds = changes.stream().filter(change -> !change.isDeleted()).map(AnimeChange::getAnimeId).toList();
+        Map<String, Anime> anime = Map.of();
+        if (!liveIds.isEmpty()) {
+            Query animeQuery = Query.query(Criteria.where("id").in(liveIds));
+            animeQuery.fields().include("title").include("posterUrl").include("genres").include("type")
+                    .include("status").include("releaseYear").include("episodeCount").include("rating")
+                    .include("ratingCount").include("studioName").include("updatedAt");
+            anime = mongoTemplate.find(animeQuery, Anime.class).stream()
+                    .collect(Collectors.toMap(Anime::getId, Function.identity()));
+        }
+
+        List<AnimeChangeDTO> result = new ArrayList<>(changes.size());
+        for (AnimeChange change : changes) {
+            if (change.isDeleted()) {
+                result.add(AnimeChangeDTO.tombstone(change.getSeq(), change.getAnimeId()));
+            } else if (anime.containsKey(change.getAnimeId())) {
+                result.add(AnimeChangeDTO.summary(change.getSeq(), anime.get(change.getAnimeId())));
+            }
+            // An anime deleted since this page was read shows up later as a tombstone
+        }
+        long nextSince = changes.isEmpty() ? since : changes.get(changes.size() - 1).getSeq();
+        return new ChangesPage(result, nextSince, hasMore);
+    }
+
+    /**
+     * Whether tombstones after the cursor may have been pruned, so the client must resync from zero
+     */
+    public boolean isExpired(long since) {
+        if (since <= 0) {
+            return false;
+        }
+        ChangeFeedState state = mongoTemplate.findById(ChangeFeedState.ANIME, ChangeFeedState.class);
+        return state != null && since < state.getPrunedThroughSeq();
+    }
+
+    /**
+     * Move the anime to the head of the feed, in the given order
+     */
+    public void record(Collection<String> animeIds, boolean deleted) {
+        if (animeIds.isEmpty()) {
+            return;
+        }
+        synchronized (writeLock) {
+            ChangeFeedState state = mongoTemplate.findAndModify(
+                    Query.query(Criteria.where("id").is(ChangeFeedState.ANIME)),
+                    new Update().inc("lastSeq", animeIds.size()),
+                    FindAndModifyOptions.options().returnNew(true).upsert(true),
+                    ChangeFeedState.class);
+            long seq = state.getLastSeq() - animeIds.size();
+            LocalDateTime now = LocalDateTime.now();
+
+            // Ordered, so the written entries are always a prefix of the sequence range
+            BulkOperations bulk = null;
+            int pending = 0;
+            for (String animeId : animeIds) {
+                if (bulk == null) {
+                    bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, AnimeChange.class);
+                }
+                bulk.upsert(Query.query(Criteria.where("animeId").is(animeId)), new Update()
+                        .set("seq", ++seq)
+                        .set("deleted", deleted)
+                        .set("changedAt", now));
+                if (++pending == WRITE_BATCH_SIZE) {
+                    bulk.execute();
+                    bulk = null;
+                    pending = 0;
+                }
+            }
+            if (bulk != null) {
+                bulk.execute();
+            }
+        }
+    }
+
+    /**
+     * Seed the feed with the whole catalog on first start, so a client syncing from zero gets everything
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedIfEmpty() {
+        try {
+            if (mongoTemplate.exists(new Query(), AnimeChange.class)) {
+                return;
+            }
+            Query query = new Query().with(Sort.by("_id"));
+            query.fields().include("_id");
+            List<String> ids;
+            try (Stream<Anime> anime = mongoTemplate.stream(query, Anime.class)) {
+                ids = anime.map(Anime::getId).toList();
+            }
+            record(ids, false);
+            log.info("Seeded anime change feed with {} anime", ids.size());
+        } catch (Exception e) {
+            log.warn("Failed to seed anime change feed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Drop old tombstones and remember the highest pruned sequence so older cursors are rejected
+     */
+    @Scheduled(cron = "${app.change-feed.prune-cron:0 30 4 * * *}")
+    public void pruneTombstones() {
+        Query query = Query.query(Criteria.where("deleted").is(true)
+                .and("changedAt").lt(LocalDateTime.now().minusDays(tombstoneRetentionDays)));
+        query.fields().include("seq");
+        List<AnimeChange> expired = mongoTemplate.find(query, AnimeChange.class);
+        if (expired.isEmpty()) {
+            return;
+        }
+        long prunedThrough = expired.stream().mapToLong(AnimeChange::getSeq).max().orElse(0);
+        mongoTemplate.upsert(Query.query(Criteria.where("id").is(ChangeFeedState.ANIME)),
+                new Update().max("prunedThroughSeq", prunedThrough), ChangeFeedState.class);
+        mongoTemplate.remove(Query.query(Criteria.where("animeId").in(
+                expired.stream().map(AnimeChange::getAnimeId).toList()).and("deleted").is(true)
+                .and("seq").lte(prunedThrough)), AnimeChange.class);
+        log.info("Pruned {} anime tombstones through sequence {}", expired.size(), prunedThrough);
+    }
+
+    @EventListener
+    public void onAnimeCreated(AnimeCreatedEvent event) {
+        record(List.of(event.anime().getId()), false);
+    }
+
+    @EventListener
+    public void onAnimeBulkImported(AnimeBulkImportedEvent event) {
+        record(event.animeIds(), false);
+    }
+
+    @EventListener
+    public void onAnimeUpdated(AnimeUpdatedEvent event) {
+        record(List.of(event.anime().getId()), false);
+    }
+
+    @EventListener
+    public void onAnimeDeleted(AnimeDeletedEvent event) {
+        record(List.of(event.anime().getId()), true);
+    }
+
+    // Review events are published after the anime rating has been recalculated
+
+    @EventListener
+    public void onReviewCreated(ReviewCreatedEvent event) {
+        record(List.of(event.review().getAnimeId()), false);
+    }
+
+    @EventListener
+    public void onReviewUpdated(ReviewUpdatedEvent event) {
+        if (event.ratingChanged()) {
+            record(List.of(event.review().getAnimeId()), false);
+        }
+    }
+
+    @EventListener
+    public void onReviewDeleted(ReviewDeletedEvent event) {
+        record(List.of(event.review().getAnimeId()), false);
+    }
+
+    public record ChangesPage(List<AnimeChangeDTO> changes, long nextSince, boolean hasMore) {
+    }
+}
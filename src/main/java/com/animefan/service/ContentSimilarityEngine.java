@@ -0,0 +1,322 @@
+package com.animefan.service;
+
+import com.animefan.model.Anime;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.regex.Pattern;
+
+/**
+ * Content similarity between catalog entries.
+ * The score blends a weighted Jaccard over genres, studio, type and release year proximity
+ * with TF-IDF cosine similarity of descriptions. Candidates for each anime are the titles
+ * sharing a genre, the studio or a description term (found through inverted postings),
+ * scored in parallel fork-join tasks; only the top-N neighbours are kept.
+ */
+final class ContentSimilarityEngine {
+
+    static final float JACCARD_WEIGHT = 0.6f;
+    static final float DESCRIPTION_WEIGHT = 0.4f;
+
+    private static final float GENRE_WEIGHT = 1.0f;
+    private static final float STUDIO_WEIGHT = 1.0f;
+    private static final float TYPE_WEIGHT = 0.5f;
+    private static final float YEAR_WEIGHT = 1.0f;
+    private static final int YEAR_WINDOW = 10;
+
+    // Terms in more than this share of descriptions say little and make candidate lists long
+    private static final double MAX_DOCUMENT_FREQUENCY = 0.3;
+    private static final int MIN_TERM_LENGTH = 3;
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    private static final int LEAF_SIZE = 32;
+
+    private final int neighbors;
+
+    ContentSimilarityEngine(int neighbors) {
+        this.neighbors = neighbors;
+    }
+
+    /**
+     * Compute the top-N content neighbours of every anime in the catalog
+     */
+    Map<String, List<Anime.SimilarAnime>> compute(List<Anime> catalog, ForkJoinPool pool) {
+        Index index = new Index(catalog);
+        int size = catalog.size();
+        int[][] neighborIds = new int[size][];
+        float[][] neighborScores = new float[size][];
+        pool.invoke(new SimilarityTask(index, 0, size, neighborIds, neighborScores));
+
+        Map<String, List<Anime.SimilarAnime>> result = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            List<Anime.SimilarAnime> list = new ArrayList<>(neighborIds[i].length);
+            for (int n = 0; n < neighborIds[i].length; n++) {
+                Anime other = catalog.get(neighborIds[i][n]);
+                list.add(new Anime.SimilarAnime(other.getId(), other.getTitle(), other.getPosterUrl(), neighborScores[i][n]));
+            }
+            result.put(catalog.get(i).getId(), list);
+        }
+        return result;
+    }
+
+    static float yearSimilarity(Integer a, Integer b) {
+        if (a == null || b == null) {
+            return 0;
+        }
+        return Math.max(0, 1 - Math.abs(a - b) / (float) YEAR_WINDOW);
+    }
+
+    private final class SimilarityTask extends RecursiveAction {
+
+        private final Index index;
+        private final int from;
+        private final int to;
+        private final int[][] neighborIds;
+        private final float[][] neighborScores;
+
+        SimilarityTask(Index index, int from, int to, int[][] neighborIds, float[][] neighborScores) {
+            this.index = index;
+            this.from = from;
+            this.to = to;
+            this.neighborIds = neighborIds;
+            this.neighborScores = neighborScores;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > LEAF_SIZE) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new SimilarityTask(index, from, mid, neighborIds, neighborScores),
+                        new SimilarityTask(index, mid, to, neighborIds, neighborScores));
+                return;
+            }
+
+            int size = index.catalog.size();
+            float[] dot = new float[size];
+            float[] shared = new float[size];
+            boolean[] seen = new boolean[size];
+            int[] touched = new int[size];
+            TopK top = new TopK(neighbors);
+
+            for (int i = from; i < to; i++) {
+                int touchedCount = 0;
+                for (int p = index.featureStart[i]; p < index.featureStart[i + 1]; p++) {
+                    int feature = index.features[p];
+                    float weight = index.featureWeights[p];
+                    for (int q = index.postingStart[feature]; q < index.postingStart[feature + 1]; q++) {
+                        int j = index.postings[q];
+                        if (!seen[j]) {
+                            seen[j] = true;
+                            touched[touchedCount++] = j;
+                        }
+                        shared[j] += weight;
+                    }
+                }
+                for (int p = index.termStart[i]; p < index.termStart[i + 1]; p++) {
+                    int term = index.terms[p];
+                    float weight = index.termWeights[p];
+                    for (int q = index.termPostingStart[term]; q < index.termPostingStart[term + 1]; q++) {
+                        int j = index.termPostings[q];
+                        if (!seen[j]) {
+                            seen[j] = true;
+                            touched[touchedCount++] = j;
+                        }
+                        dot[j] += weight * index.termPostingWeights[q];
+                    }
+                }
+
+                Anime anime = index.catalog.get(i);
+                for (int t = 0; t < touchedCount; t++) {
+                    int j = touched[t];
+                    if (j != i) {
+                        Anime other = index.catalog.get(j);
+                        float min = shared[j];
+                        float max = index.featureTotals[i] + index.featureTotals[j] - shared[j];
+                        if (anime.getType() != null && anime.getType().equals(other.getType())) {
+                            min += TYPE_WEIGHT;
+                            max += TYPE_WEIGHT;
+                        } else if (anime.getType() != null || other.getType() != null) {
+                            max += TYPE_WEIGHT;
+                        }
+                        if (anime.getReleaseYear() != null || other.getReleaseYear() != null) {
+                            min += YEAR_WEIGHT * yearSimilarity(anime.getReleaseYear(), other.getReleaseYear());
+                            max += YEAR_WEIGHT;
+                        }
+                        float jaccard = max > 0 ? min / max : 0;
+                        top.offer(j, JACCARD_WEIGHT * jaccard + DESCRIPTION_WEIGHT * Math.min(dot[j], 1));
+                    }
+                    dot[j] = 0;
+                    shared[j] = 0;
+                    seen[j] = false;
+                }
+                neighborIds[i] = new int[top.size()];
+                neighborScores[i] = new float[top.size()];
+                top.drainInto(neighborIds[i], neighborScores[i]);
+            }
+        }
+    }
+
+    /**
+     * Catalog features in compressed sparse row form: per-anime genre/studio features and
+     * normalized TF-IDF description vectors, with inverted postings for both
+     */
+    private static final class Index {
+
+        final List<Anime> catalog;
+        final int[] featureStart;
+        final int[] features;
+        final float[] featureWeights;
+        final float[] featureTotals;
+        final int[] postingStart;
+        final int[] postings;
+        final int[] termStart;
+        final int[] terms;
+        final float[] termWeights;
+        final int[] termPostingStart;
+        final int[] termPostings;
+        final float[] termPostingWeights;
+
+        Index(List<Anime> catalog) {
+            this.catalog = catalog;
+            int size = catalog.size();
+
+            // Categorical features: each genre and the studio
+            Map<String, Integer> featureIds = new HashMap<>();
+            List<int[]> rowFeatures = new ArrayList<>(size);
+            List<float[]> rowWeights = new ArrayList<>(size);
+            featureTotals = new float[size];
+            for (int i = 0; i < size; i++) {
+                Anime anime = catalog.get(i);
+                List<String> keys = new ArrayList<>();
+                List<Float> weights = new ArrayList<>();
+                if (anime.getGenres() != null) {
+                    anime.getGenres().stream().filter(Objects::nonNull).distinct().forEach(genre -> {
+                        keys.add("g:" + genre);
+                        weights.add(GENRE_WEIGHT);
+                    });
+                }
+                if (anime.getStudioId() != null) {
+                    keys.add("s:" + anime.getStudioId());
+                    weights.add(STUDIO_WEIGHT);
+                }
+                int[] row = new int[keys.size()];
+                float[] rowWeight = new float[keys.size()];
+                for (int k = 0; k < row.length; k++) {
+                    row[k] = featureIds.computeIfAbsent(keys.get(k), key -> featureIds.size());
+                    rowWeight[k] = weights.get(k);
+                    featureTotals[i] += rowWeight[k];
+                }
+                rowFeatures.add(row);
+                rowWeights.add(rowWeight);
+            }
+            featureStart = new int[size + 1];
+            for (int i = 0; i < size; i++) {
+                featureStart[i + 1] = featureStart[i] + rowFeatures.get(i).length;
+            }
+            features = new int[featureStart[size]];
+            featureWeights = new float[featureStart[size]];
+            for (int i = 0; i < size; i++) {
+                System.arraycopy(rowFeatures.get(i), 0, features, featureStart[i], rowFeatures.get(i).length);
+                System.arraycopy(rowWeights.get(i), 0, featureWeights, featureStart[i], rowWeights.get(i).length);
+            }
+            postingStart = new int[featureIds.size() + 1];
+            postings = new int[features.length];
+            invert(featureStart, features, null, postingStart, postings, null);
+
+            // Description terms: keep terms shared by at least two and at most MAX_DOCUMENT_FREQUENCY of the catalog
+            List<Map<String, Integer>> counts = new ArrayList<>(size);
+            Map<String, Integer> documentFrequency = new HashMap<>();
+            for (Anime anime : catalog) {
+                Map<String, Integer> termCounts = tokenize(anime.getDescription());
+                termCounts.keySet().forEach(term -> documentFrequency.merge(term, 1, Integer::sum));
+                counts.add(termCounts);
+            }
+            int maxDocumentFrequency = Math.max(2, (int) (size * MAX_DOCUMENT_FREQUENCY));
+            Map<String, Integer> termIds = new HashMap<>();
+            termStart = new int[size + 1];
+            List<int[]> rowTerms = new ArrayList<>(size);
+            List<float[]> rowTermWeights = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                List<Map.Entry<String, Integer>> kept = counts.get(i).entrySet().stream()
+                        .filter(entry -> {
+                            int df = documentFrequency.get(entry.getKey());
+                            return df >= 2 && df <= maxDocumentFrequency;
+                        })
+                        .toList();
+                int[] row = new int[kept.size()];
+                float[] weights = new float[kept.size()];
+                double norm = 0;
+                for (int k = 0; k < row.length; k++) {
+                    Map.Entry<String, Integer> entry = kept.get(k);
+                    row[k] = termIds.computeIfAbsent(entry.getKey(), key -> termIds.size());
+                    double tf = 1 + Math.log(entry.getValue());
+                    double idf = Math.log((double) size / documentFrequency.get(entry.getKey()));
+                    weights[k] = (float) (tf * idf);
+                    norm += weights[k] * weights[k];
+                }
+                if (norm > 0) {
+                    float scale = (float) (1 / Math.sqrt(norm));
+                    for (int k = 0; k < weights.length; k++) {
+                        weights[k] *= scale;
+                    }
+                }
+                rowTerms.add(row);
+                rowTermWeights.add(weights);
+                termStart[i + 1] = termStart[i] + row.length;
+            }
+            terms = new int[termStart[size]];
+            termWeights = new float[termStart[size]];
+            for (int i = 0; i < size; i++) {
+                System.arraycopy(rowTerms.get(i), 0, terms, termStart[i], rowTerms.get(i).length);
+                System.arraycopy(rowTermWeights.get(i), 0, termWeights, termStart[i], rowTermWeights.get(i).length);
+            }
+            termPostingStart = new int[termIds.size() + 1];
+            termPostings = new int[terms.length];
+            termPostingWeights = new float[terms.length];
+            invert(termStart, terms, termWeights, termPostingStart, termPostings, termPostingWeights);
+        }
+
+        /**
+         * Transpose a row -> column CSR structure into column -> row postings
+         */
+        private static void invert(int[] rowStart, int[] columns, float[] values,
+                                   int[] postingStart, int[] postings, float[] postingValues) {
+            for (int column : columns) {
+                postingStart[column + 1]++;
+            }
+            for (int c = 0; c + 1 < postingStart.length; c++) {
+                postingStart[c + 1] += postingStart[c];
+            }
+            int[] fill = postingStart.clone();
+            for (int row = 0; row + 1 < rowStart.length; row++) {
+                for (int p = rowStart[row]; p < rowStart[row + 1]; p++) {
+                    int position = fill[columns[p]]++;
+                    postings[position] = row;
+                    if (values != null) {
+                        postingValues[position] = values[p];
+                    }
+                }
+            }
+        }
+
+        private static Map<String, Integer> tokenize(String text) {
+            Map<String, Integer> termCounts = new HashMap<>();
+            if (text == null) {
+                return termCounts;
+            }
+            for (String token : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+                if (token.length() >= MIN_TERM_LENGTH) {
+                    termCounts.merge(token, 1, Integer::sum);
+                }
+            }
+            return termCounts;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.animefan.service;
+
+import com.animefan.event.AnimeBulkImportedEvent;
+import com.animefan.event.AnimeCreatedEvent;
+import com.animefan.event.AnimeDeletedEvent;
+import com.animefan.event.AnimeUpdatedEvent;
+import com.animefan.model.Anime;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Maintains the precomputed content-similar anime embedded in each anime document.
+ * A background job scores the whole catalog in parallel and writes the top-N neighbour
+ * list (with cached title and poster) onto every anime, so the detail page needs no extra query.
+ * The job reruns on a schedule after catalog changes.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ContentSimilarityService {
+
+    private static final int WRITE_BATCH_SIZE = 1000;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${app.similarity.neighbors:10}")
+    private int neighbors = 10;
+
+    @Value("${app.similarity.parallelism:0}")
+    private int parallelism;
+
+    private final AtomicBoolean catalogChanged = new AtomicBoolean();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * Recompute content neighbours for the whole catalog and store them on each anime
+     */
+    public void recompute() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Content similarity recompute already in progress, skipping");
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            catalogChanged.set(false);
+
+            Query query = new Query();
+            query.fields().include("title").include("posterUrl").include("description").include("genres")
+                    .include("studioId").include("type").include("releaseYear");
+            List<Anime> catalog = mongoTemplate.find(query, Anime.class);
+
+            ForkJoinPool pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+            Map<String, List<Anime.SimilarAnime>> result;
+            try {
+                result = new ContentSimilarityEngine(neighbors).compute(catalog, pool);
+            } finally {
+                pool.shutdown();
+            }
+
+            store(result);
+            log.info("Computed content neighbours for {} anime in {} ms", result.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            catalogChanged.set(true);
+            log.error("Failed to recompute content neighbours: {}", e.getMessage(), e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Recompute after anime were created, edited or deleted since the last run
+     */
+    @Scheduled(fixedDelayString = "${app.similarity.check-interval-ms:600000}",
+            initialDelayString = "${app.similarity.check-interval-ms:600000}")
+    public void recomputeIfChanged() {
+        if (catalogChanged.get()) {
+            recompute();
+        }
+    }
+
+    /**
+     * Compute neighbours in the background on startup when some anime have none stored yet
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void recomputeIfMissing() {
+        if (mongoTemplate.exists(Query.query(Criteria.where("similarAnime").exists(false)), Anime.class)) {
+            recompute();
+        }
+    }
+
+    @EventListener
+    public void onAnimeCreated(AnimeCreatedEvent event) {
+        catalogChanged.set(true);
+    }
+
+    @EventListener
+    public void onAnimeBulkImported(AnimeBulkImportedEvent event) {
+        catalogChanged.set(true);
+    }
+
+    @EventListener
+    public void onAnimeUpdated(AnimeUpdatedEvent event) {
+        catalogChanged.set(true);
+    }
+
+    @EventListener
+    public void onAnimeDeleted(AnimeDeletedEvent event) {
+        catalogChanged.set(true);
+    }
+
+    private void store(Map<String, List<Anime.SimilarAnime>> result) {
+        BulkOperations bulk = null;
+        int pending = 0;
+        for (Map.Entry<String, List<Anime.SimilarAnime>> entry : result.entrySet()) {
+            if (bulk == null) {
+                bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Anime.class);
+            }
+            bulk.updateOne(Query.query(Criteria.where("id").is(entry.getKey())),
+                    Update.update("similarAnime", entry.getValue()));
+            if (++pending == WRITE_BATCH_SIZE) {
+                bulk.execute();
+                bulk = null;
+                pending = 0;
+            }
+        }
+        if (bulk != null) {
+            bulk.execute();
+        }
+    }
+}
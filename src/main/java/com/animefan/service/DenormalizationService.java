@@ -0,0 +1,291 @@
+package com.animefan.service;
+
+import com.animefan.event.AnimeUpdatedEvent;
+import com.animefan.event.UserProfileUpdatedEvent;
+import com.animefan.model.Anime;
+import com.animefan.model.Review;
+import com.animefan.model.UserAnimeRelation;
+import com.mongodb.client.result.UpdateResult;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Propagates changes of copied fields (anime title, poster, genres and rating, user avatar)
+ * to the documents that store them for display: list entries, reviews and the related and
+ * similar anime caches. A genre change also invalidates the genre affinity vectors of
+ * the users who completed the anime, batch by batch as their list entries are rewritten.
+ * Change events only queue a job; a single background thread walks the affected ids
+ * through the owning index and rewrites them with one updateMany per batch, pausing
+ * between batches so that an anime on millions of lists does not saturate the database.
+ * A newer change of the same source replaces its queued job and stops a running one,
+ * so only the latest values are written; each job therefore carries every copied field
+ * of its source, not just the changed one.
+ */
+@Slf4j
+@Service
+public class DenormalizationService {
+
+    private final MongoTemplate mongoTemplate;
+    private final UserStatsService userStatsService;
+    private final ExecutorService executor;
+    private final int batchSize;
+    private final long throttleMs;
+
+    private final Map<String, Job> pending = new ConcurrentHashMap<>();
+    private final AtomicLong completedJobs = new AtomicLong();
+    private final AtomicLong supersededJobs = new AtomicLong();
+    private final AtomicLong failedJobs = new AtomicLong();
+    private final AtomicLong documentsUpdated = new AtomicLong();
+    private volatile Progress running;
+
+    @Autowired
+    public DenormalizationService(MongoTemplate mongoTemplate, UserStatsService userStatsService,
+                                  @Value("${app.denormalization.batch-size:1000}") int batchSize,
+                                  @Value("${app.denormalization.throttle-ms:50}") long throttleMs) {
+        this(mongoTemplate, userStatsService, Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "denormalization");
+            thread.setDaemon(true);
+            return thread;
+        }), batchSize, throttleMs);
+    }
+
+    DenormalizationService(MongoTemplate mongoTemplate, UserStatsService userStatsService, ExecutorService executor,
+                           int batchSize, long throttleMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.userStatsService = userStatsService;
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.throttleMs = throttleMs;
+    }
+
+    @EventListener
+    public void onAnimeUpdated(AnimeUpdatedEvent event) {
+        boolean genresChanged = event.genresChanged();
+        if (!event.titleChanged() && !event.posterUrlChanged() && !genresChanged) {
+            return;
+        }
+
+        // All fields are always written from the current anime: a job replaces or stops the
+        // previous job of the same anime, so it must also cover whatever that job still had to write
+        Anime anime = event.anime();
+        String animeId = anime.getId();
+        Update relationUpdate = new Update()
+                .set("animeTitle", anime.getTitle())
+                .set("animePosterUrl", anime.getPosterUrl())
+                .set("animeGenres", anime.getGenres() != null ? anime.getGenres() : List.of());
+        Update relatedUpdate = new Update()
+                .set("relatedAnime.$[r].title", anime.getTitle())
+                .set("relatedAnime.$[r].posterUrl", anime.getPosterUrl())
+                .filterArray(Criteria.where("r.animeId").is(animeId));
+        Update similarUpdate = new Update()
+                .set("similarAnime.$[s].title", anime.getTitle())
+                .set("similarAnime.$[s].posterUrl", anime.getPosterUrl())
+                .filterArray(Criteria.where("s.animeId").is(animeId));
+
+        submit(new Job("anime:" + animeId, List.of(
+                new Target(UserAnimeRelation.class, "animeId", animeId, relationUpdate),
+                new Target(Review.class, "animeId", animeId, Update.update("animeTitle", anime.getTitle())),
+                new Target(Anime.class, "relatedAnime.animeId", animeId, relatedUpdate),
+                new Target(Anime.class, "similarAnime.animeId", animeId, similarUpdate)), genresChanged));
+    }
+
+    /**
+     * Copy a recalculated rating to list entries. Ratings change with every review, so they have
+     * their own job per anime: reviews arriving while it is queued only replace the value it writes.
+     */
+    public void onRatingChanged(String animeId, double rating) {
+        submit(new Job("rating:" + animeId, List.of(new Target(UserAnimeRelation.class, "animeId", animeId,
+                Update.update("animeRating", rating))), false));
+    }
+
+    @EventListener
+    public void onUserProfileUpdated(UserProfileUpdatedEvent event) {
+        if (!event.avatarUrlChanged()) {
+            return;
+        }
+        String userId = event.user().getId();
+        submit(new Job("user:" + userId, List.of(new Target(Review.class, "userId", userId,
+                Update.update("userAvatarUrl", event.user().getAvatarUrl()))), false));
+    }
+
+    /**
+     * Progress of the running job and totals since startup
+     */
+    public PropagationStatus getStatus() {
+        Progress current = running;
+        return new PropagationStatus(pending.size(), current != null ? current.snapshot() : null,
+                completedJobs.get(), supersededJobs.get(), failedJobs.get(), documentsUpdated.get());
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdownNow();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Denormalization job did not stop within 30 seconds");
+        }
+    }
+
+    private void submit(Job job) {
+        Progress current = running;
+        boolean supersedesRunning = current != null && current.job.source().equals(job.source());
+        Job replacement = supersedesRunning ? job.replacing(current.job) : job;
+        pending.merge(job.source(), replacement, (queued, next) -> next.replacing(queued));
+        if (supersedesRunning) {
+            // The running job would only write values that are already outdated
+            current.superseded = true;
+        }
+        executor.execute(() -> run(job.source()));
+    }
+
+    private void run(String source) {
+        // Jobs replaced before they started leave behind a run with nothing to do
+        Job job = pending.remove(source);
+        if (job == null) {
+            return;
+        }
+        Progress progress = new Progress(job);
+        running = progress;
+        try {
+            for (Target target : job.targets()) {
+                progress.target = target.describe();
+                boolean invalidateAffinity = job.invalidatesAffinity() && target.collection() == UserAnimeRelation.class;
+                if (!propagate(target, invalidateAffinity, progress)) {
+                    supersededJobs.incrementAndGet();
+                    log.debug("Propagation of {} superseded by a newer change", source);
+                    return;
+                }
+            }
+            completedJobs.incrementAndGet();
+            log.info("Propagated {} to {} documents in {} batches ({} ms)", source, progress.updated,
+                    progress.batches, Duration.between(progress.startedAt, LocalDateTime.now()).toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            failedJobs.incrementAndGet();
+            log.error("Failed to propagate {}: {}", source, e.getMessage());
+        } finally {
+            running = null;
+        }
+    }
+
+    /**
+     * Stream the ids of documents holding the copy and rewrite them batch by batch, invalidating
+     * the affinity vectors of list owners who completed the anime when asked to.
+     * Returns false when the job was superseded before finishing.
+     */
+    private boolean propagate(Target target, boolean invalidateAffinity, Progress progress)
+            throws InterruptedException {
+        Query query = Query.query(Criteria.where(target.keyField()).is(target.keyValue()));
+        query.fields().include("_id");
+        if (invalidateAffinity) {
+            query.fields().include("userId").include("status");
+        }
+        query.cursorBatchSize(batchSize);
+
+        List<Object> ids = new ArrayList<>(batchSize);
+        List<String> completedBy = new ArrayList<>();
+        try (Stream<Document> documents = mongoTemplate.stream(query, Document.class,
+                mongoTemplate.getCollectionName(target.collection()))) {
+            for (Document document : (Iterable<Document>) documents::iterator) {
+                ids.add(document.get("_id"));
+                if (invalidateAffinity && UserAnimeRelation.Status.COMPLETED.name().equals(document.get("status"))) {
+                    completedBy.add(document.getString("userId"));
+                }
+                progress.scanned++;
+                if (ids.size() == batchSize) {
+                    write(target, ids, completedBy, progress);
+                    ids.clear();
+                    completedBy = new ArrayList<>();
+                    if (progress.superseded) {
+                        return false;
+                    }
+                    if (throttleMs > 0) {
+                        Thread.sleep(throttleMs);
+                    }
+                }
+            }
+        }
+        if (!ids.isEmpty()) {
+            write(target, ids, completedBy, progress);
+        }
+        return !progress.superseded;
+    }
+
+    private void write(Target target, List<Object> ids, List<String> completedBy, Progress progress) {
+        UpdateResult result = mongoTemplate.updateMulti(Query.query(Criteria.where("_id").in(ids)),
+                target.update(), target.collection());
+        // Only after the genres are rewritten, so a vector rebuilt right away already sees them
+        userStatsService.invalidateGenreAffinity(completedBy);
+        progress.batches++;
+        progress.updated += result.getModifiedCount();
+        documentsUpdated.addAndGet(result.getModifiedCount());
+    }
+
+    private record Job(String source, List<Target> targets, boolean invalidatesAffinity) {
+
+        /**
+         * This job takes the place of {@code previous}, so it also takes over its affinity invalidation
+         */
+        Job replacing(Job previous) {
+            return previous.invalidatesAffinity() && !invalidatesAffinity
+                    ? new Job(source, targets, true) : this;
+        }
+    }
+
+    private record Target(Class<?> collection, String keyField, String keyValue, Update update) {
+
+        String describe() {
+            return collection.getSimpleName() + "." + keyField;
+        }
+    }
+
+    /**
+     * Counters of the running job; only the superseded flag is set outside the worker thread
+     */
+    private static class Progress {
+        private final Job job;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private volatile String target;
+        private volatile long scanned;
+        private volatile long updated;
+        private volatile int batches;
+        private volatile boolean superseded;
+
+        Progress(Job job) {
+            this.job = job;
+        }
+
+        JobProgress snapshot() {
+            return new JobProgress(job.source(), target, scanned, updated, batches, startedAt);
+        }
+    }
+
+    public record JobProgress(String source, String target, long scanned, long updated, int batches,
+                              LocalDateTime startedAt) {
+    }
+
+    public record PropagationStatus(int queued, JobProgress running, long completed, long superseded,
+                                    long failed, long documentsUpdated) {
+    }
+}
@@ -0,0 +1,318 @@
+package com.animefan.service;
+
+import com.animefan.event.AnimeDeletedEvent;
+import com.animefan.exception.ResourceNotFoundException;
+import com.animefan.exception.ValidationException;
+import com.animefan.model.Anime;
+import com.animefan.model.EpisodeBucket;
+import com.mongodb.client.result.UpdateResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ArrayOperators;
+import org.springframework.data.mongodb.core.aggregation.BooleanOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Episodes of an anime, stored outside the anime document in episode_buckets.
+ * Reads fetch only the buckets covering the requested range, and single-episode
+ * writes are positional updates of one bucket, so neither grows with the length
+ * of the show.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EpisodeService implements SmartInitializingSingleton {
+
+    private static final int MIGRATION_BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Up to limit episodes numbered from the given number on, in order
+     */
+    public EpisodePage getEpisodes(String animeId, int from, int limit) {
+        int start = Math.max(from, 1);
+        // One bucket more than a dense range needs, so a page rarely takes a second round trip
+        int bucketsPerRead = limit / EpisodeBucket.SIZE + 2;
+        List<Anime.Episode> episodes = new ArrayList<>(limit + 1);
+
+        int bucket = EpisodeBucket.bucketOf(start);
+        while (episodes.size() <= limit) {
+            Query query = Query.query(Criteria.where("animeId").is(animeId).and("bucket").gte(bucket))
+                    .with(Sort.by("bucket"))
+                    .limit(bucketsPerRead);
+            List<EpisodeBucket> buckets = mongoTemplate.find(query, EpisodeBucket.class);
+            for (EpisodeBucket found : buckets) {
+                for (Anime.Episode episode : found.getEpisodes()) {
+                    if (episode.getNumber() >= start && episodes.size() <= limit) {
+                        episodes.add(episode);
+                    }
+                }
+            }
+            if (buckets.size() < bucketsPerRead) {
+                break;
+            }
+            bucket = buckets.get(buckets.size() - 1).getBucket() + 1;
+        }
+
+        Integer nextFrom = null;
+        if (episodes.size() > limit) {
+            nextFrom = episodes.remove(limit).getNumber();
+        }
+        return new EpisodePage(episodes, nextFrom, countEpisodes(animeId));
+    }
+
+    /**
+     * Episodes numbered from..to inclusive, in order. The buckets are filtered on the
+     * server, so only the matching episodes are sent and mapped.
+     */
+    public List<Anime.Episode> getEpisodeRange(String animeId, int from, int to) {
+        int start = Math.max(from, 1);
+        if (to < start) {
+            return List.of();
+        }
+        TypedAggregation<EpisodeBucket> aggregation = Aggregation.newAggregation(EpisodeBucket.class,
+                Aggregation.match(Criteria.where("animeId").is(animeId)
+                        .and("bucket").gte(EpisodeBucket.bucketOf(start)).lte(EpisodeBucket.bucketOf(to))),
+                Aggregation.sort(Sort.by("bucket")),
+                Aggregation.project().and(ArrayOperators.Filter.filter("episodes").as("episode")
+                        .by(BooleanOperators.And.and(
+                                ComparisonOperators.valueOf("episode.number").greaterThanEqualToValue(start),
+                                ComparisonOperators.valueOf("episode.number").lessThanEqualToValue(to))))
+                        .as("episodes"));
+
+        return mongoTemplate.aggregate(aggregation, EpisodeBucket.class).getMappedResults().stream()
+                .flatMap(bucket -> bucket.getEpisodes().stream())
+                .toList();
+    }
+
+    /**
+     * Total number of stored episodes, from the per-bucket counters
+     */
+    public int countEpisodes(String animeId) {
+        Query query = Query.query(Criteria.where("animeId").is(animeId));
+        query.fields().include("count");
+        return mongoTemplate.find(query, EpisodeBucket.class).stream().mapToInt(EpisodeBucket::getCount).sum();
+    }
+
+    /**
+     * Highest stored episode number, or 0 when there are none
+     */
+    public int getLastEpisodeNumber(String animeId) {
+        Query query = Query.query(Criteria.where("animeId").is(animeId))
+                .with(Sort.by(Sort.Direction.DESC, "bucket"))
+                .limit(1);
+        EpisodeBucket last = mongoTemplate.findOne(query, EpisodeBucket.class);
+        if (last == null || last.getEpisodes().isEmpty()) {
+            return 0;
+        }
+        return last.getEpisodes().get(last.getEpisodes().size() - 1).getNumber();
+    }
+
+    /**
+     * Add an episode; the number must not be taken yet
+     */
+    public void addEpisode(String animeId, Anime.Episode episode) {
+        log.info("Adding episode {} to anime: {}", episode.getNumber(), animeId);
+        requireAnime(animeId);
+        if (episode.getNumber() == null || episode.getNumber() < 1) {
+            throw new ValidationException("Номер эпизода должен быть положительным");
+        }
+        int number = episode.getNumber();
+
+        // Matches the bucket only while it lacks this number; otherwise the upsert
+        // tries to create a second bucket and hits the unique index
+        Query query = Query.query(Criteria.where("animeId").is(animeId)
+                .and("bucket").is(EpisodeBucket.bucketOf(number))
+                .and("episodes.number").ne(number));
+        Update update = new Update().inc("count", 1);
+        update.push("episodes").sort(Sort.by("number")).each(episode);
+        try {
+            mongoTemplate.upsert(query, update, EpisodeBucket.class);
+        } catch (DuplicateKeyException e) {
+            throw new ValidationException("Эпизод " + number + " уже существует");
+        }
+        updateEpisodeCount(animeId, 1);
+    }
+
+    /**
+     * Update the editable fields of one episode in place
+     */
+    public void updateEpisode(String animeId, int episodeNumber, String title, String videoUrl, String thumbnailUrl, int duration) {
+        log.info("Updating episode {} in anime: {}", episodeNumber, animeId);
+
+        Query query = Query.query(Criteria.where("animeId").is(animeId)
+                .and("bucket").is(EpisodeBucket.bucketOf(episodeNumber))
+                .and("episodes.number").is(episodeNumber));
+        Update update = new Update()
+                .set("episodes.$.title", title)
+                .set("episodes.$.videoUrl", videoUrl)
+                .set("episodes.$.thumbnailUrl", thumbnailUrl)
+                .set("episodes.$.duration", duration);
+
+        UpdateResult result = mongoTemplate.updateFirst(query, update, EpisodeBucket.class);
+        if (result.getMatchedCount() == 0) {
+            throw new ResourceNotFoundException("Episode", "number", episodeNumber);
+        }
+    }
+
+    /**
+     * Delete one episode; a bucket left empty is removed
+     */
+    public void deleteEpisode(String animeId, int episodeNumber) {
+        log.info("Deleting episode {} from anime: {}", episodeNumber, animeId);
+        requireAnime(animeId);
+
+        int bucket = EpisodeBucket.bucketOf(episodeNumber);
+        Query query = Query.query(Criteria.where("animeId").is(animeId)
+                .and("bucket").is(bucket)
+                .and("episodes.number").is(episodeNumber));
+        Update update = new Update()
+                .pull("episodes", Query.query(Criteria.where("number").is(episodeNumber)))
+                .inc("count", -1);
+
+        if (mongoTemplate.updateFirst(query, update, EpisodeBucket.class).getModifiedCount() > 0) {
+            mongoTemplate.remove(Query.query(Criteria.where("animeId").is(animeId)
+                    .and("bucket").is(bucket).and("count").lte(0)), EpisodeBucket.class);
+            updateEpisodeCount(animeId, -1);
+        }
+    }
+
+    /**
+     * Store a batch of episodes, replacing the buckets they fall into
+     */
+    public void saveEpisodes(String animeId, List<Anime.Episode> episodes) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EpisodeBucket.class);
+        if (addBucketWrites(bulk, animeId, episodes) > 0) {
+            bulk.execute();
+        }
+    }
+
+    /**
+     * Migrate before the web server starts: the anime model no longer has episodes,
+     * so saving an anime whose episodes are still embedded would drop them
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        migrateEmbeddedEpisodes();
+    }
+
+    /**
+     * Move episodes still embedded in anime documents into buckets, failing if any remain.
+     * Buckets are written before the embedded array is removed, and rewriting a bucket
+     * from the same array gives the same result, so an interrupted run is simply repeated.
+     */
+    public void migrateEmbeddedEpisodes() {
+        Query query = Query.query(Criteria.where("episodes").exists(true));
+        query.fields().include("episodes");
+        String collection = mongoTemplate.getCollectionName(Anime.class);
+
+        List<Object> batchIds = new ArrayList<>();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EpisodeBucket.class);
+        int writes = 0;
+        int migrated = 0;
+        try (Stream<Document> documents = mongoTemplate.stream(query, Document.class, collection)) {
+            for (Document document : (Iterable<Document>) documents::iterator) {
+                Object rawId = document.get("_id");
+                List<Anime.Episode> episodes = document.getList("episodes", Document.class, List.of()).stream()
+                        .map(episode -> mongoTemplate.getConverter().read(Anime.Episode.class, episode))
+                        .toList();
+                writes += addBucketWrites(bulk, rawId.toString(), episodes);
+                batchIds.add(rawId);
+
+                if (batchIds.size() == MIGRATION_BATCH_SIZE) {
+                    finishMigrationBatch(bulk, writes, batchIds, collection);
+                    migrated += batchIds.size();
+                    bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EpisodeBucket.class);
+                    writes = 0;
+                    batchIds.clear();
+                }
+            }
+        }
+        if (!batchIds.isEmpty()) {
+            finishMigrationBatch(bulk, writes, batchIds, collection);
+            migrated += batchIds.size();
+        }
+        if (migrated > 0) {
+            log.info("Moved embedded episodes of {} anime into episode buckets", migrated);
+        }
+        if (mongoTemplate.exists(Query.query(Criteria.where("episodes").exists(true)), collection)) {
+            throw new IllegalStateException("Anime with embedded episodes remain after the episode migration");
+        }
+    }
+
+    @EventListener
+    public void onAnimeDeleted(AnimeDeletedEvent event) {
+        mongoTemplate.remove(Query.query(Criteria.where("animeId").is(event.anime().getId())), EpisodeBucket.class);
+    }
+
+    private void finishMigrationBatch(BulkOperations bulk, int writes, List<Object> animeIds, String collection) {
+        if (writes > 0) {
+            bulk.execute();
+        }
+        mongoTemplate.updateMulti(Query.query(Criteria.where("_id").in(animeIds)),
+                new Update().unset("episodes"), collection);
+    }
+
+    /**
+     * Queue one upsert per bucket covering the episodes; returns the number queued
+     */
+    private static int addBucketWrites(BulkOperations bulk, String animeId, List<Anime.Episode> episodes) {
+        Map<Integer, List<Anime.Episode>> buckets = episodes.stream()
+                .filter(episode -> episode.getNumber() != null && episode.getNumber() >= 1)
+                .collect(Collectors.groupingBy(episode -> EpisodeBucket.bucketOf(episode.getNumber()),
+                        TreeMap::new, Collectors.toList()));
+
+        buckets.forEach((bucket, bucketEpisodes) -> {
+            // Keep the first of duplicate numbers, as the embedded array could hold them
+            List<Anime.Episode> sorted = List.copyOf(bucketEpisodes.stream()
+                    .collect(Collectors.toMap(Anime.Episode::getNumber, episode -> episode,
+                            (first, second) -> first, TreeMap::new))
+                    .values());
+            bulk.upsert(Query.query(Criteria.where("animeId").is(animeId).and("bucket").is(bucket)),
+                    new Update().set("episodes", sorted).set("count", sorted.size()));
+        });
+        return buckets.size();
+    }
+
+    private void requireAnime(String animeId) {
+        if (!mongoTemplate.exists(Query.query(Criteria.where("id").is(animeId)), Anime.class)) {
+            throw new ResourceNotFoundException("Anime", "id", animeId);
+        }
+    }
+
+    private void updateEpisodeCount(String animeId, int delta) {
+        mongoTemplate.updateFirst(Query.query(Criteria.where("id").is(animeId)),
+                new Update().inc("episodeCount", delta), Anime.class);
+    }
+
+    /**
+     * A page of episodes; nextFrom is the number to request next, or null on the last page
+     */
+    public record EpisodePage(List<Anime.Episode> episodes, Integer nextFrom, int total) {
+
+        public boolean hasMore() {
+            return nextFrom != null;
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.animefan.service;
+
+import com.animefan.exception.ValidationException;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Streaming export of whole collections as NDJSON or CSV.
+ * Documents are read as raw BSON from a single cursor in _id order, projected to the
+ * selected fields, and written to the output one at a time, so heap use does not grow
+ * with the size of the collection. Only allow-listed fields can be exported.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExportService {
+
+    private static final int CURSOR_BATCH_SIZE = 1000;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+
+    public enum Dataset {
+        ANIME("anime",
+                List.of("id", "title", "titleEnglish", "titleJapanese", "description", "genres", "rating", "ratingCount",
+                        "releaseYear", "releaseDate", "status", "type", "episodeCount", "posterUrl", "bannerUrl",
+                        "trailerUrl", "studioId", "studioName", "viewCount", "favoriteCount", "score",
+                        "createdAt", "updatedAt"),
+                List.of("id", "title", "genres", "rating", "ratingCount", "releaseYear", "status", "type",
+                        "episodeCount", "studioName")),
+        REVIEWS("reviews",
+                List.of("id", "userId", "username", "animeId", "animeTitle", "rating", "title", "text",
+                        "helpfulCount", "unhelpfulCount", "spoiler", "createdAt", "updatedAt"),
+                List.of("id", "userId", "username", "animeId", "animeTitle", "rating", "title", "createdAt")),
+        // Credentials and tokens are never exportable
+        USERS("users",
+                List.of("id", "username", "email", "displayName", "bio", "role", "enabled", "emailVerified",
+                        "watchedCount", "reviewCount", "favoriteCount", "createdAt", "lastLoginAt"),
+                List.of("id", "username", "displayName", "role", "enabled", "createdAt"));
+
+        private final String collection;
+        private final List<String> allowedFields;
+        private final List<String> defaultFields;
+
+        Dataset(String collection, List<String> allowedFields, List<String> defaultFields) {
+            this.collection = collection;
+            this.allowedFields = allowedFields;
+            this.defaultFields = defaultFields;
+        }
+
+        public List<String> getAllowedFields() {
+            return allowedFields;
+        }
+
+        public static Dataset of(String name) {
+            return parse(Dataset.class, name, "Неизвестный набор данных для экспорта: ");
+        }
+    }
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format of(String name) {
+            return parse(Format.class, name, "Неизвестный формат экспорта: ");
+        }
+    }
+
+    /**
+     * Requested fields in order, or the dataset defaults when none are given
+     */
+    public List<String> resolveFields(Dataset dataset, String fields) {
+        if (fields == null || fields.isBlank()) {
+            return dataset.defaultFields;
+        }
+        List<String> requested = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .distinct()
+                .toList();
+        List<String> unknown = requested.stream().filter(field -> !dataset.allowedFields.contains(field)).toList();
+        if (!unknown.isEmpty()) {
+            throw new ValidationException("Поля недоступны для экспорта: " + String.join(", ", unknown));
+        }
+        return requested.isEmpty() ? dataset.defaultFields : requested;
+    }
+
+    /**
+     * Write every document of the dataset to the output; returns the number of documents written.
+     * The output is flushed but not closed.
+     */
+    public long export(Dataset dataset, Format format, List<String> fields, OutputStream out) throws IOException {
+        long start = System.currentTimeMillis();
+        Query query = new Query().with(Sort.by("_id")).cursorBatchSize(CURSOR_BATCH_SIZE);
+        fields.forEach(field -> query.fields().include(storedName(field)));
+
+        long count;
+        try (Stream<Document> documents = mongoTemplate.stream(query, Document.class, dataset.collection)) {
+            count = format == Format.NDJSON
+                    ? writeNdjson(documents.iterator(), fields, out)
+                    : writeCsv(documents.iterator(), fields, out);
+        }
+        log.info("Exported {} {} documents as {} in {} ms",
+                count, dataset.collection, format, System.currentTimeMillis() - start);
+        return count;
+    }
+
+    private long writeNdjson(Iterator<Document> documents, List<String> fields, OutputStream out) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            while (documents.hasNext()) {
+                Document document = documents.next();
+                generator.writeStartObject();
+                for (String field : fields) {
+                    generator.writeFieldName(field);
+                    writeJsonValue(generator, document.get(storedName(field)));
+                }
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static long writeCsv(Iterator<Document> documents, List<String> fields, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        writeCsvRow(writer, fields);
+        List<String> row = new ArrayList<>(fields.size());
+        long count = 0;
+        while (documents.hasNext()) {
+            Document document = documents.next();
+            row.clear();
+            for (String field : fields) {
+                row.add(csvValue(document.get(storedName(field))));
+            }
+            writeCsvRow(writer, row);
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static void writeJsonValue(JsonGenerator generator, Object value) throws IOException {
+        if (value instanceof Map<?, ?> map) {
+            generator.writeStartObject();
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                generator.writeFieldName(String.valueOf(entry.getKey()));
+                writeJsonValue(generator, entry.getValue());
+            }
+            generator.writeEndObject();
+        } else if (value instanceof Collection<?> collection) {
+            generator.writeStartArray();
+            for (Object element : collection) {
+                writeJsonValue(generator, element);
+            }
+            generator.writeEndArray();
+        } else if (value instanceof Integer || value instanceof Long) {
+            generator.writeNumber(((Number) value).longValue());
+        } else if (value instanceof Double || value instanceof Float) {
+            generator.writeNumber(((Number) value).doubleValue());
+        } else if (value instanceof Decimal128 decimal) {
+            generator.writeNumber(decimal.bigDecimalValue());
+        } else if (value instanceof Boolean bool) {
+            generator.writeBoolean(bool);
+        } else if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(scalar(value));
+        }
+    }
+
+    /**
+     * Text of a CSV cell: scalars as is, lists joined with ';', nested documents as JSON
+     */
+    static String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof Collection<?> collection) {
+            return collection.stream().map(ExportService::csvValue).collect(Collectors.joining(";"));
+        }
+        if (value instanceof Document document) {
+            return document.toJson();
+        }
+        return scalar(value);
+    }
+
+    private static String scalar(Object value) {
+        if (value instanceof ObjectId objectId) {
+            return objectId.toHexString();
+        }
+        if (value instanceof Date date) {
+            // Dates are stored from LocalDateTime in the default zone
+            return LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault()).toString();
+        }
+        if (value instanceof Decimal128 decimal) {
+            return decimal.bigDecimalValue().toPlainString();
+        }
+        return value.toString();
+    }
+
+    private static void writeCsvRow(Writer writer, List<String> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            String value = values.get(i);
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private static String storedName(String field) {
+        return "id".equals(field) ? "_id" : field;
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String name, String error) {
+        try {
+            return Enum.valueOf(type, name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException(error + name);
+        }
+    }
+}
@@ -1,17 +1,32 @@
 package com.animefan.service;
 
+import com.animefan.event.AnimeBulkImportedEvent;
+import com.animefan.event.AnimeCreatedEvent;
+import com.animefan.event.AnimeDeletedEvent;
+import com.animefan.event.AnimeUpdatedEvent;
 import com.animefan.model.Genre;
 import com.animefan.repository.AnimeRepository;
 import com.animefan.repository.GenreRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
- * Service for Genre management
+ * Service for Genre management.
+ * Genre anime counts follow anime create/update/delete events as bulk $inc deltas.
  */
 @Slf4j
 @Service
@@ -20,6 +35,7 @@ public class GenreService {
 
     private final GenreRepository genreRepository;
     private final AnimeRepository animeRepository;
+    private final MongoTemplate mongoTemplate;
 
     public List<Genre> getActiveGenres() {
         return genreRepository.findByActiveTrueOrderByOrderAsc();
@@ -74,40 +90,77 @@ public class GenreService {
         genreRepository.deleteById(id);
     }
 
-    public void updateAnimeCount(String genreName) {
-        genreRepository.findByName(genreName).ifPresent(genre -> {
-            // Count anime with this genre
-            long count = animeRepository.countByGenresContaining(genreName);
-            genre.setAnimeCount(count);
-            genreRepository.save(genre);
-        });
-    }
-
     /**
-     * Recalculate anime count for all genres
+     * Recalculate anime count for all genres with a single $unwind/$group pass
      */
     public void recalculateAllGenreCounts() {
         log.info("Recalculating anime counts for all genres...");
+
+        Map<String, Long> counts = new HashMap<>();
+        for (AnimeRepository.GenreCount row : animeRepository.getGenreStatistics()) {
+            counts.put(row.getId(), row.getCount());
+        }
+
         List<Genre> genres = genreRepository.findAll();
+        if (genres.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Genre.class);
         for (Genre genre : genres) {
-            long count = animeRepository.countByGenresContaining(genre.getName());
-            genre.setAnimeCount(count);
+            bulk.updateOne(Query.query(Criteria.where("name").is(genre.getName())),
+                    Update.update("animeCount", counts.getOrDefault(genre.getName(), 0L)));
         }
-        genreRepository.saveAll(genres);
+        bulk.execute();
         log.info("Genre counts updated for {} genres", genres.size());
     }
 
     /**
-     * Update counts for specific genres
+     * Apply count deltas for the genres that differ between two genre lists (one bulk write)
      */
-    public void updateGenreCounts(List<String> genreNames) {
-        if (genreNames == null || genreNames.isEmpty()) return;
+    public void applyGenreDelta(Collection<String> previousGenres, Collection<String> currentGenres) {
+        Map<String, Integer> deltas = new HashMap<>();
+        if (previousGenres != null) {
+            new HashSet<>(previousGenres).forEach(genre -> deltas.merge(genre, -1, Integer::sum));
+        }
+        if (currentGenres != null) {
+            new HashSet<>(currentGenres).forEach(genre -> deltas.merge(genre, 1, Integer::sum));
+        }
+        deltas.values().removeIf(delta -> delta == 0);
+        if (deltas.isEmpty()) {
+            return;
+        }
 
-        for (String genreName : genreNames) {
-            updateAnimeCount(genreName);
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Genre.class);
+        deltas.forEach((genre, delta) ->
+                bulk.updateOne(Query.query(Criteria.where("name").is(genre)), new Update().inc("animeCount", delta)));
+        try {
+            bulk.execute();
+        } catch (Exception e) {
+            // Counts are corrected by the next full recalculation
+            log.warn("Failed to apply genre count deltas {}: {}", deltas, e.getMessage());
         }
     }
 
+    @EventListener
+    public void onAnimeCreated(AnimeCreatedEvent event) {
+        applyGenreDelta(null, event.anime().getGenres());
+    }
+
+    @EventListener
+    public void onAnimeBulkImported(AnimeBulkImportedEvent event) {
+        recalculateAllGenreCounts();
+    }
+
+    @EventListener
+    public void onAnimeUpdated(AnimeUpdatedEvent event) {
+        applyGenreDelta(event.previousGenres(), event.anime().getGenres());
+    }
+
+    @EventListener
+    public void onAnimeDeleted(AnimeDeletedEvent event) {
+        applyGenreDelta(event.anime().getGenres(), null);
+    }
+
     public void initDefaultGenres() {
         if (genreRepository.count() == 0) {
             log.info("Initializing default genres...");
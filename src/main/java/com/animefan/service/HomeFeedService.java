@@ -0,0 +1,243 @@
+package com.animefan.service;
+
+import com.animefan.event.AnimeViewedEvent;
+import com.animefan.event.UserAnimeRelationChangedEvent;
+import com.animefan.model.Anime;
+import com.animefan.model.GenreAffinity;
+import com.animefan.model.UserAnimeRelation;
+import com.animefan.model.UserStatistics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Personalized home page rows for signed-in users.
+ * Candidate pools (trending, top rated, top rated per genre) are rebuilt in the background
+ * from memory indexes and view/list activity. A request makes three small indexed reads
+ * (the user's stored genre affinity, their latest WATCHING entries, and which of the
+ * pooled candidates are already on their list) and scores the candidates in memory;
+ * neither the whole list nor any per-user aggregation is read on the request path.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HomeFeedService {
+
+    private static final double AFFINITY_WEIGHT = 0.5;
+    private static final double TREND_WEIGHT = 0.3;
+    private static final double RATING_WEIGHT = 0.2;
+
+    // Share of the previous trend score kept at each refresh
+    private static final double TREND_DECAY = 0.7;
+    private static final int CONTINUE_WATCHING_LIMIT = 6;
+
+    private final MongoTemplate mongoTemplate;
+    private final TopRatedAnimeIndex topRatedAnimeIndex;
+
+    @Value("${app.home-feed.pool-size:100}")
+    private int poolSize = 100;
+
+    @Value("${app.home-feed.genre-pool-size:30}")
+    private int genrePoolSize = 30;
+
+    private final Map<String, LongAdder> recentActivity = new ConcurrentHashMap<>();
+    private final Map<String, Double> trendScores = new HashMap<>();
+    private volatile Pools pools = Pools.EMPTY;
+
+    /**
+     * Build the personalized rows for a user (three indexed reads plus in-memory scoring)
+     */
+    public HomeFeed getFeed(String userId, int limit) {
+        Pools snapshot = pools;
+
+        // Served by user_status_idx; only the few WATCHING entries are sorted
+        Query watchingQuery = Query.query(Criteria.where("userId").is(userId)
+                        .and("status").is(UserAnimeRelation.Status.WATCHING))
+                .with(Sort.by(Sort.Direction.DESC, "updatedAt"))
+                .limit(CONTINUE_WATCHING_LIMIT);
+        watchingQuery.fields().include("animeId").include("status").include("animeTitle").include("animePosterUrl")
+                .include("episodesWatched").include("totalEpisodes").include("updatedAt");
+        List<UserAnimeRelation> continueWatching = mongoTemplate.find(watchingQuery, UserAnimeRelation.class);
+
+        Map<String, Double> genreShares = genreShares(userId);
+
+        // Candidates: trending and top rated for everyone, plus the pools of the user's favourite genres
+        Set<String> candidates = new HashSet<>(snapshot.trending());
+        candidates.addAll(snapshot.topRated());
+        genreShares.keySet().forEach(genre -> candidates.addAll(snapshot.byGenre().getOrDefault(genre, List.of())));
+        candidates.removeAll(listed(userId, candidates));
+
+        List<Anime> forYou = candidates.stream()
+                .map(snapshot.anime()::get)
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparingDouble((Anime anime) -> score(anime, genreShares, snapshot)).reversed()
+                        .thenComparing(Anime::getId))
+                .limit(limit)
+                .toList();
+
+        return new HomeFeed(continueWatching, forYou);
+    }
+
+    /**
+     * Rebuild candidate pools from the top rated index and recent view/list activity
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.home-feed.refresh-interval-ms:300000}",
+            initialDelayString = "${app.home-feed.refresh-interval-ms:300000}")
+    public synchronized void refreshPools() {
+        try {
+            trendScores.replaceAll((id, score) -> score * TREND_DECAY);
+            for (String id : recentActivity.keySet()) {
+                LongAdder count = recentActivity.remove(id);
+                if (count != null) {
+                    trendScores.merge(id, (double) count.sum(), Double::sum);
+                }
+            }
+            trendScores.values().removeIf(score -> score < 0.5);
+
+            Map<String, Anime> anime = new HashMap<>();
+            List<Anime> ranked = topRatedAnimeIndex.getTop(Integer.MAX_VALUE);
+            List<String> topRated = ranked.stream().limit(poolSize).map(Anime::getId).toList();
+            Set<String> topRatedIds = new HashSet<>(topRated);
+            Map<String, List<String>> byGenre = new HashMap<>();
+            for (Anime entry : ranked) {
+                boolean pooled = topRatedIds.contains(entry.getId());
+                if (entry.getGenres() != null) {
+                    for (String genre : entry.getGenres()) {
+                        List<String> pool = byGenre.computeIfAbsent(genre, key -> new ArrayList<>());
+                        if (pool.size() < genrePoolSize) {
+                            pool.add(entry.getId());
+                            pooled = true;
+                        }
+                    }
+                }
+                if (pooled) {
+                    anime.put(entry.getId(), entry);
+                }
+            }
+
+            List<String> trending = trendScores.entrySet().stream()
+                    .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
+                    .limit(poolSize)
+                    .map(Map.Entry::getKey)
+                    .toList();
+            List<String> missing = trending.stream().filter(id -> !anime.containsKey(id)).toList();
+            if (!missing.isEmpty()) {
+                Query query = Query.query(Criteria.where("id").in(missing));
+                query.fields().exclude("description").exclude("similarAnime");
+                mongoTemplate.find(query, Anime.class).forEach(entry -> anime.put(entry.getId(), entry));
+            }
+
+            double maxTrend = trending.isEmpty() ? 1 : trendScores.get(trending.get(0));
+            Map<String, Double> trend = new LinkedHashMap<>();
+            trending.forEach(id -> trend.put(id, trendScores.get(id) / maxTrend));
+
+            pools = new Pools(anime, trending, topRated, byGenre, trend, LocalDateTime.now());
+            log.debug("Home feed pools refreshed: {} anime, {} trending, {} genres",
+                    anime.size(), trending.size(), byGenre.size());
+        } catch (Exception e) {
+            log.warn("Failed to refresh home feed pools: {}", e.getMessage());
+        }
+    }
+
+    @EventListener
+    public void onAnimeViewed(AnimeViewedEvent event) {
+        recentActivity.computeIfAbsent(event.animeId(), id -> new LongAdder()).increment();
+    }
+
+    @EventListener
+    public void onRelationChanged(UserAnimeRelationChangedEvent event) {
+        if (event.previousStatus() == null && event.status() != null) {
+            // A list addition signals more interest than a page view
+            recentActivity.computeIfAbsent(event.animeId(), id -> new LongAdder()).add(3);
+        }
+    }
+
+    /**
+     * Which of the candidates are already on the user's list, through the userId/animeId index
+     */
+    private Set<String> listed(String userId, Set<String> candidates) {
+        if (candidates.isEmpty()) {
+            return Set.of();
+        }
+        Query query = Query.query(Criteria.where("userId").is(userId).and("animeId").in(candidates));
+        query.fields().include("animeId").exclude("_id");
+        Set<String> listed = new HashSet<>();
+        mongoTemplate.find(query, UserAnimeRelation.class).forEach(relation -> listed.add(relation.getAnimeId()));
+        return listed;
+    }
+
+    /**
+     * Share of each genre among the user's completed anime, from the stored affinity vector only
+     */
+    private Map<String, Double> genreShares(String userId) {
+        Query query = Query.query(Criteria.where("userId").is(userId));
+        query.fields().include("genreAffinity");
+        UserStatistics stats = mongoTemplate.findOne(query, UserStatistics.class);
+        if (stats == null || stats.getGenreAffinity() == null) {
+            return Map.of();
+        }
+
+        long total = stats.getGenreAffinity().values().stream().mapToLong(GenreAffinity::getCount).sum();
+        Map<String, Double> shares = new HashMap<>();
+        if (total > 0) {
+            stats.getGenreAffinity().forEach((genre, affinity) -> {
+                if (affinity.getCount() > 0) {
+                    shares.put(genre, (double) affinity.getCount() / total);
+                }
+            });
+        }
+        return shares;
+    }
+
+    private static double score(Anime anime, Map<String, Double> genreShares, Pools pools) {
+        double affinity = 0;
+        if (anime.getGenres() != null) {
+            for (String genre : anime.getGenres()) {
+                affinity += genreShares.getOrDefault(genre, 0.0);
+            }
+        }
+        double rating = anime.getRating() != null ? anime.getRating() / 10 : 0;
+        return AFFINITY_WEIGHT * Math.min(affinity, 1)
+                + TREND_WEIGHT * pools.trend().getOrDefault(anime.getId(), 0.0)
+                + RATING_WEIGHT * rating;
+    }
+
+    private record Pools(Map<String, Anime> anime,
+                         List<String> trending,
+                         List<String> topRated,
+                         Map<String, List<String>> byGenre,
+                         Map<String, Double> trend,
+                         LocalDateTime refreshedAt) {
+
+        static final Pools EMPTY = new Pools(Map.of(), List.of(), List.of(), Map.of(), Map.of(), null);
+    }
+
+    public record HomeFeed(List<UserAnimeRelation> continueWatching, List<Anime> forYou) {
+
+        public boolean isEmpty() {
+            return continueWatching.isEmpty() && forYou.isEmpty();
+        }
+    }
+}
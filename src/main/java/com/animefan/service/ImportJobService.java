@@ -0,0 +1,326 @@
+package com.animefan.service;
+
+import com.animefan.dto.BulkImportResultDTO;
+import com.animefan.exception.ResourceNotFoundException;
+import com.animefan.exception.ValidationException;
+import com.animefan.model.ImportJob;
+import com.animefan.repository.ImportJobRepository;
+import com.mongodb.client.gridfs.model.GridFSFile;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.gridfs.GridFsTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs bulk imports as background jobs.
+ * The upload is stored in GridFS and the job is queued on a dedicated single-thread executor,
+ * so imports never hold a request thread and never race each other on duplicate titles.
+ * Progress is checkpointed to the job document after every committed chunk and pushed to
+ * SSE subscribers. On shutdown the running job is asked to stop after its current chunk
+ * (it is never interrupted: the driver would abort the bulk write in flight). Jobs left
+ * unfinished by a shutdown or crash are resumed on startup from their last checkpoint;
+ * failed jobs can be resumed manually.
+ */
+@Slf4j
+@Service
+public class ImportJobService {
+
+    private static final long SSE_TIMEOUT_MS = 30 * 60 * 1000L;
+
+    private final ImportJobRepository importJobRepository;
+    private final MongoTemplate mongoTemplate;
+    private final GridFsTemplate gridFsTemplate;
+    private final AnimeImportService animeImportService;
+
+    @Value("${app.import.max-stored-errors:200}")
+    private int maxStoredErrors = 200;
+
+    private final ExecutorService executor;
+    private final Set<String> scheduled = ConcurrentHashMap.newKeySet();
+    private final Map<String, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private volatile boolean stopping;
+
+    @Autowired
+    public ImportJobService(ImportJobRepository importJobRepository, MongoTemplate mongoTemplate,
+                            GridFsTemplate gridFsTemplate, AnimeImportService animeImportService) {
+        this(importJobRepository, mongoTemplate, gridFsTemplate, animeImportService,
+                Executors.newSingleThreadExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "anime-import");
+                    thread.setDaemon(true);
+                    return thread;
+                }));
+    }
+
+    ImportJobService(ImportJobRepository importJobRepository, MongoTemplate mongoTemplate,
+                     GridFsTemplate gridFsTemplate, AnimeImportService animeImportService, ExecutorService executor) {
+        this.importJobRepository = importJobRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.gridFsTemplate = gridFsTemplate;
+        this.animeImportService = animeImportService;
+        this.executor = executor;
+    }
+
+    /**
+     * Store the upload and queue an import job for it
+     */
+    public ImportJob submit(InputStream content, String fileName, long fileSize, ImportJob.Format format,
+                            boolean skipDuplicates, String createdBy) {
+        String contentType = format == ImportJob.Format.JSON ? "application/json" : "text/plain";
+        String fileId = gridFsTemplate.store(content, fileName, contentType).toHexString();
+
+        LocalDateTime now = LocalDateTime.now();
+        ImportJob job = importJobRepository.save(ImportJob.builder()
+                .format(format)
+                .status(ImportJob.Status.QUEUED)
+                .skipDuplicates(skipDuplicates)
+                .fileId(fileId)
+                .fileName(fileName)
+                .fileSize(fileSize)
+                .createdBy(createdBy)
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+        log.info("Queued {} import job {} ({} bytes) by {}", format, job.getId(), fileSize, createdBy);
+        schedule(job.getId());
+        return job;
+    }
+
+    public ImportJob getJob(String id) {
+        return importJobRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("ImportJob", "id", id));
+    }
+
+    public List<ImportJob> getRecentJobs() {
+        return importJobRepository.findTop20ByOrderByCreatedAtDesc();
+    }
+
+    /**
+     * Queue a failed or interrupted job again; it continues after its last committed chunk
+     */
+    public ImportJob resume(String id) {
+        ImportJob job = getJob(id);
+        if (!job.isResumable()) {
+            throw new ValidationException("Задачу импорта в статусе " + job.getStatus() + " нельзя возобновить");
+        }
+        job = update(id, new Update()
+                .set("status", ImportJob.Status.QUEUED)
+                .unset("failureMessage"));
+        schedule(id);
+        return job;
+    }
+
+    /**
+     * Stream job snapshots after every checkpoint until the job stops.
+     * A job that has already stopped gets its final snapshot and the stream is closed.
+     */
+    public SseEmitter subscribe(String id) {
+        ImportJob job = getJob(id);
+        SseEmitter emitter = new SseEmitter(SSE_TIMEOUT_MS);
+        if (!job.isActive()) {
+            send(emitter, job);
+            emitter.complete();
+            return emitter;
+        }
+
+        List<SseEmitter> emitters = subscribers.computeIfAbsent(id, key -> new CopyOnWriteArrayList<>());
+        emitters.add(emitter);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(error -> emitters.remove(emitter));
+
+        // The job may have finished between the read above and the registration, with nobody left to close us
+        job = getJob(id);
+        send(emitter, job);
+        if (!job.isActive()) {
+            emitters.remove(emitter);
+            subscribers.computeIfPresent(id, (key, remaining) -> remaining.isEmpty() ? null : remaining);
+            emitter.complete();
+        }
+        return emitter;
+    }
+
+    /**
+     * Pick up jobs that were queued or running when the application last stopped
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinished() {
+        List<ImportJob> unfinished = importJobRepository.findByStatusIn(
+                List.of(ImportJob.Status.QUEUED, ImportJob.Status.RUNNING, ImportJob.Status.INTERRUPTED));
+        for (ImportJob job : unfinished) {
+            log.info("Resuming import job {} from entry {}", job.getId(), job.getProcessed());
+            schedule(job.getId());
+        }
+    }
+
+    /**
+     * Stop the running job after its current chunk and leave queued jobs queued;
+     * both are resumed on the next startup
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        stopping = true;
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Import job did not stop within 30 seconds");
+        }
+    }
+
+    private void schedule(String id) {
+        if (scheduled.add(id)) {
+            executor.execute(() -> {
+                try {
+                    run(id);
+                } finally {
+                    scheduled.remove(id);
+                }
+            });
+        }
+    }
+
+    void run(String id) {
+        ImportJob job = importJobRepository.findById(id).orElse(null);
+        if (job == null || job.isFinished() || stopping) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        job = update(id, new Update()
+                .set("status", ImportJob.Status.RUNNING)
+                .set("startedAt", job.getStartedAt() != null ? job.getStartedAt() : now));
+
+        try {
+            GridFSFile file = gridFsTemplate.findOne(Query.query(Criteria.where("_id").is(job.getFileId())));
+            if (file == null) {
+                throw new IllegalStateException("Файл импорта не найден");
+            }
+
+            JobProgress progress = new JobProgress(id);
+            try (Reader reader = new InputStreamReader(gridFsTemplate.getResource(file).getInputStream(),
+                    StandardCharsets.UTF_8)) {
+                animeImportService.importEntries(job.getFormat(), reader, job.isSkipDuplicates(), job.getProcessed(),
+                        restore(job), progress);
+            }
+
+            if (progress.stopped) {
+                finish(update(id, new Update().set("status", ImportJob.Status.INTERRUPTED)));
+                log.info("Import job {} stopped, will resume from its last checkpoint", id);
+            } else {
+                finish(update(id, new Update()
+                        .set("status", ImportJob.Status.COMPLETED)
+                        .set("finishedAt", LocalDateTime.now())));
+                gridFsTemplate.delete(Query.query(Criteria.where("_id").is(job.getFileId())));
+                log.info("Import job {} completed", id);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Import job {} failed", id, e);
+            finish(update(id, new Update()
+                    .set("status", ImportJob.Status.FAILED)
+                    .set("failureMessage", e.getMessage())));
+        }
+    }
+
+    private void checkpoint(String id, int processed, BulkImportResultDTO result) {
+        List<String> errors = result.getErrors();
+        publish(update(id, new Update()
+                .set("processed", processed)
+                .set("successCount", result.getSuccessCount())
+                .set("skippedCount", result.getSkippedCount())
+                .set("errorCount", result.getErrorCount())
+                .set("errors", new ArrayList<>(errors.subList(0, Math.min(errors.size(), maxStoredErrors))))));
+    }
+
+    /**
+     * Counters of the last checkpoint, so a resumed job reports totals for the whole file
+     */
+    private static BulkImportResultDTO restore(ImportJob job) {
+        return BulkImportResultDTO.builder()
+                .successCount(job.getSuccessCount())
+                .skippedCount(job.getSkippedCount())
+                .errorCount(job.getErrorCount())
+                .errors(job.getErrors() != null ? new ArrayList<>(job.getErrors()) : new ArrayList<>())
+                .build();
+    }
+
+    private ImportJob update(String id, Update update) {
+        return mongoTemplate.findAndModify(Query.query(Criteria.where("id").is(id)),
+                update.set("updatedAt", LocalDateTime.now()),
+                FindAndModifyOptions.options().returnNew(true), ImportJob.class);
+    }
+
+    private void publish(ImportJob job) {
+        List<SseEmitter> emitters = subscribers.get(job.getId());
+        if (emitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : emitters) {
+            if (!send(emitter, job)) {
+                emitters.remove(emitter);
+            }
+        }
+    }
+
+    private static boolean send(SseEmitter emitter, ImportJob job) {
+        try {
+            emitter.send(SseEmitter.event().name("progress").data(job));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            return false;
+        }
+    }
+
+    private void finish(ImportJob job) {
+        publish(job);
+        List<SseEmitter> emitters = subscribers.remove(job.getId());
+        if (emitters != null) {
+            emitters.forEach(SseEmitter::complete);
+        }
+    }
+
+    /**
+     * Checkpoints a job's chunks and passes on a shutdown request, remembering whether it did
+     */
+    private class JobProgress implements AnimeImportService.ImportProgress {
+        private final String id;
+        private boolean stopped;
+
+        JobProgress(String id) {
+            this.id = id;
+        }
+
+        @Override
+        public void committed(int processed, BulkImportResultDTO result) {
+            checkpoint(id, processed, result);
+        }
+
+        @Override
+        public boolean stopRequested() {
+            stopped = stopping;
+            return stopped;
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.animefan.service;
+
+import com.animefan.model.AnimeNeighbors;
+import com.animefan.model.UserAnimeRelation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Item-item cosine similarity over a sparse user x anime interaction matrix.
+ * Interactions are held in primitive CSR arrays (one row per user and one per anime).
+ * Each anime's similarities are accumulated in a fork-join leaf task, shrunk towards zero
+ * when few users share both titles, and only the top-K neighbours are kept.
+ */
+final class ItemSimilarityEngine {
+
+    private static final int LEAF_SIZE = 64;
+
+    private final int neighbors;
+    private final float shrinkage;
+
+    ItemSimilarityEngine(int neighbors, float shrinkage) {
+        this.neighbors = neighbors;
+        this.shrinkage = shrinkage;
+    }
+
+    /**
+     * Implicit interaction strength of a list entry
+     */
+    static float weight(UserAnimeRelation.Status status, Integer userRating, boolean favorite) {
+        float weight = switch (status == null ? UserAnimeRelation.Status.PLAN_TO_WATCH : status) {
+            case COMPLETED -> 1.0f;
+            case WATCHING -> 0.8f;
+            case ON_HOLD -> 0.5f;
+            case PLAN_TO_WATCH -> 0.3f;
+            case DROPPED -> 0.1f;
+        };
+        if (favorite) {
+            weight += 0.5f;
+        }
+        if (userRating != null) {
+            weight += (userRating - 5) / 10.0f;
+        }
+        return Math.max(weight, 0.05f);
+    }
+
+    static Matrix.Builder matrix() {
+        return new Matrix.Builder();
+    }
+
+    /**
+     * Compute the top-K neighbours of every anime that shares at least one user with another
+     */
+    Map<String, List<AnimeNeighbors.Neighbor>> compute(Matrix matrix, ForkJoinPool pool) {
+        int items = matrix.items();
+        int[][] neighborIds = new int[items][];
+        float[][] neighborScores = new float[items][];
+        pool.invoke(new SimilarityTask(matrix, 0, items, neighborIds, neighborScores));
+
+        Map<String, List<AnimeNeighbors.Neighbor>> result = new LinkedHashMap<>();
+        for (int i = 0; i < items; i++) {
+            if (neighborIds[i].length == 0) {
+                continue;
+            }
+            List<AnimeNeighbors.Neighbor> list = new ArrayList<>(neighborIds[i].length);
+            for (int n = 0; n < neighborIds[i].length; n++) {
+                list.add(new AnimeNeighbors.Neighbor(matrix.itemIds[neighborIds[i][n]], neighborScores[i][n]));
+            }
+            result.put(matrix.itemIds[i], list);
+        }
+        return result;
+    }
+
+    private final class SimilarityTask extends RecursiveAction {
+
+        private final Matrix matrix;
+        private final int from;
+        private final int to;
+        private final int[][] neighborIds;
+        private final float[][] neighborScores;
+
+        SimilarityTask(Matrix matrix, int from, int to, int[][] neighborIds, float[][] neighborScores) {
+            this.matrix = matrix;
+            this.from = from;
+            this.to = to;
+            this.neighborIds = neighborIds;
+            this.neighborScores = neighborScores;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > LEAF_SIZE) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new SimilarityTask(matrix, from, mid, neighborIds, neighborScores),
+                        new SimilarityTask(matrix, mid, to, neighborIds, neighborScores));
+                return;
+            }
+
+            // Dense accumulators reused across the anime of this leaf; only touched slots are reset
+            int items = matrix.items();
+            float[] dot = new float[items];
+            int[] coCount = new int[items];
+            int[] touched = new int[items];
+            TopK top = new TopK(neighbors);
+
+            for (int i = from; i < to; i++) {
+                int touchedCount = 0;
+                for (int p = matrix.itemStart[i]; p < matrix.itemStart[i + 1]; p++) {
+                    int user = matrix.itemUsers[p];
+                    float weight = matrix.itemWeights[p];
+                    for (int q = matrix.userStart[user]; q < matrix.userStart[user + 1]; q++) {
+                        int j = matrix.userItems[q];
+                        if (j == i) {
+                            continue;
+                        }
+                        if (coCount[j]++ == 0) {
+                            touched[touchedCount++] = j;
+                        }
+                        dot[j] += weight * matrix.userWeights[q];
+                    }
+                }
+
+                for (int t = 0; t < touchedCount; t++) {
+                    int j = touched[t];
+                    float cosine = dot[j] / (matrix.itemNorms[i] * matrix.itemNorms[j]);
+                    top.offer(j, cosine * coCount[j] / (coCount[j] + shrinkage));
+                    dot[j] = 0;
+                    coCount[j] = 0;
+                }
+                neighborIds[i] = new int[top.size()];
+                neighborScores[i] = new float[top.size()];
+                top.drainInto(neighborIds[i], neighborScores[i]);
+            }
+        }
+    }
+
+    /**
+     * Interaction matrix in compressed sparse row form, indexed both by user and by anime
+     */
+    static final class Matrix {
+
+        final String[] itemIds;
+        final int[] userStart;
+        final int[] userItems;
+        final float[] userWeights;
+        final int[] itemStart;
+        final int[] itemUsers;
+        final float[] itemWeights;
+        final float[] itemNorms;
+
+        private Matrix(String[] itemIds, int[] userStart, int[] userItems, float[] userWeights,
+                       int[] itemStart, int[] itemUsers, float[] itemWeights, float[] itemNorms) {
+            this.itemIds = itemIds;
+            this.userStart = userStart;
+            this.userItems = userItems;
+            this.userWeights = userWeights;
+            this.itemStart = itemStart;
+            this.itemUsers = itemUsers;
+            this.itemWeights = itemWeights;
+            this.itemNorms = itemNorms;
+        }
+
+        int items() {
+            return itemIds.length;
+        }
+
+        int users() {
+            return userStart.length - 1;
+        }
+
+        int interactions() {
+            return itemUsers.length;
+        }
+
+        static final class Builder {
+
+            private final Map<String, Integer> userIndex = new HashMap<>();
+            private final Map<String, Integer> itemIndex = new HashMap<>();
+            private final List<String> itemIds = new ArrayList<>();
+            private int[] users = new int[1024];
+            private int[] items = new int[1024];
+            private float[] weights = new float[1024];
+            private int size;
+
+            Builder add(String userId, String itemId, float weight) {
+                if (size == users.length) {
+                    users = Arrays.copyOf(users, size * 2);
+                    items = Arrays.copyOf(items, size * 2);
+                    weights = Arrays.copyOf(weights, size * 2);
+                }
+                users[size] = userIndex.computeIfAbsent(userId, key -> userIndex.size());
+                items[size] = itemIndex.computeIfAbsent(itemId, key -> {
+                    itemIds.add(key);
+                    return itemIds.size() - 1;
+                });
+                weights[size] = weight;
+                size++;
+                return this;
+            }
+
+            /**
+             * Build the matrix, keeping only the strongest {@code maxUserDegree} interactions of each user
+             * so that a few very large lists do not dominate the quadratic co-occurrence cost
+             */
+            Matrix build(int maxUserDegree) {
+                int userCount = userIndex.size();
+                int itemCount = itemIds.size();
+
+                int[] userStart = new int[userCount + 1];
+                for (int n = 0; n < size; n++) {
+                    userStart[users[n] + 1]++;
+                }
+                for (int u = 0; u < userCount; u++) {
+                    userStart[u + 1] += userStart[u];
+                }
+                // Pack (weight, item) into longs so each user row sorts by weight without boxing;
+                // positive float bit patterns order the same way as the floats themselves
+                long[] packed = new long[size];
+                int[] fill = Arrays.copyOf(userStart, userCount);
+                for (int n = 0; n < size; n++) {
+                    packed[fill[users[n]]++] = ((long) Float.floatToIntBits(weights[n]) << 32) | items[n];
+                }
+
+                int[] keptStart = new int[userCount + 1];
+                for (int u = 0; u < userCount; u++) {
+                    int degree = userStart[u + 1] - userStart[u];
+                    if (degree > maxUserDegree) {
+                        Arrays.sort(packed, userStart[u], userStart[u + 1]);
+                    }
+                    keptStart[u + 1] = keptStart[u] + Math.min(degree, maxUserDegree);
+                }
+
+                int kept = keptStart[userCount];
+                int[] userItems = new int[kept];
+                float[] userWeights = new float[kept];
+                int[] itemStart = new int[itemCount + 1];
+                for (int u = 0; u < userCount; u++) {
+                    // Strongest interactions are at the end of a sorted row
+                    int offset = userStart[u + 1] - (keptStart[u + 1] - keptStart[u]);
+                    for (int k = keptStart[u]; k < keptStart[u + 1]; k++) {
+                        long value = packed[offset++];
+                        userItems[k] = (int) value;
+                        userWeights[k] = Float.intBitsToFloat((int) (value >>> 32));
+                        itemStart[userItems[k] + 1]++;
+                    }
+                }
+
+                for (int i = 0; i < itemCount; i++) {
+                    itemStart[i + 1] += itemStart[i];
+                }
+                int[] itemUsers = new int[kept];
+                float[] itemWeights = new float[kept];
+                float[] itemNorms = new float[itemCount];
+                int[] itemFill = Arrays.copyOf(itemStart, itemCount);
+                for (int u = 0; u < userCount; u++) {
+                    for (int k = keptStart[u]; k < keptStart[u + 1]; k++) {
+                        int position = itemFill[userItems[k]]++;
+                        itemUsers[position] = u;
+                        itemWeights[position] = userWeights[k];
+                        itemNorms[userItems[k]] += userWeights[k] * userWeights[k];
+                    }
+                }
+                for (int i = 0; i < itemCount; i++) {
+                    itemNorms[i] = (float) Math.sqrt(itemNorms[i]);
+                }
+
+                return new Matrix(itemIds.toArray(String[]::new), keptStart, userItems, userWeights,
+                        itemStart, itemUsers, itemWeights, itemNorms);
+            }
+        }
+    }
+}
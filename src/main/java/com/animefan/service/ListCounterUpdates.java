@@ -0,0 +1,39 @@
+package com.animefan.service;
+
+import com.animefan.event.UserAnimeRelationChangedEvent;
+import com.animefan.model.ListCounters;
+import org.springframework.data.mongodb.core.query.Update;
+
+/**
+ * Builds $inc updates for embedded {@link ListCounters} sub-documents
+ */
+final class ListCounterUpdates {
+
+    private static final String PREFIX = "counters.";
+
+    private ListCounterUpdates() {
+    }
+
+    /**
+     * Counter deltas for a list entry change, or null if no counter is affected
+     */
+    static Update forRelationChange(UserAnimeRelationChangedEvent event) {
+        Update update = new Update();
+        if (event.statusChanged()) {
+            if (event.previousStatus() != null) {
+                update.inc(PREFIX + ListCounters.field(event.previousStatus()), -1);
+            }
+            if (event.status() != null) {
+                update.inc(PREFIX + ListCounters.field(event.status()), 1);
+            }
+        }
+        if (event.favoriteChanged()) {
+            update.inc(PREFIX + "favorites", event.favorite() ? 1 : -1);
+        }
+        return update.getUpdateObject().isEmpty() ? null : update;
+    }
+
+    static Update reviews(int delta) {
+        return new Update().inc(PREFIX + "reviews", delta);
+    }
+}
@@ -0,0 +1,305 @@
+package com.animefan.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * MinHash signatures with an LSH banding index over string sets.
+ * Each set is reduced to {@code bands x rows} min-hashes; sets that agree on all rows of
+ * any band share a bucket and become candidates for each other, so a lookup touches only
+ * its own buckets instead of every stored set. Candidates are re-ranked by exact Jaccard.
+ * Buckets are open-addressing tables per band whose chains are threaded through a primitive
+ * {@code next} array, so the index holds no per-member objects.
+ */
+final class MinHashIndex {
+
+    private static final int EMPTY = -2;
+    private static final int VACANT = -1;
+
+    private final int bands;
+    private final int rows;
+    private final long[] seeds;
+
+    private final Map<String, Integer> slots = new HashMap<>();
+    private final List<String> keys = new ArrayList<>();
+    private final ArrayList<int[]> elements = new ArrayList<>();
+    private final ArrayList<int[]> bandKeys = new ArrayList<>();
+    private final BandTable[] tables;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    record Match(String key, double similarity) {
+    }
+
+    MinHashIndex(int bands, int rows, long seed) {
+        this.bands = bands;
+        this.rows = rows;
+        Random random = new Random(seed);
+        this.seeds = new long[bands * rows];
+        for (int i = 0; i < seeds.length; i++) {
+            seeds[i] = random.nextLong();
+        }
+        this.tables = new BandTable[bands];
+        for (int b = 0; b < bands; b++) {
+            tables[b] = new BandTable();
+        }
+    }
+
+    /**
+     * Insert or replace the set stored under the key; an empty set removes the key
+     */
+    void put(String key, Collection<String> set) {
+        int[] hashed = hashElements(set);
+        if (hashed.length == 0) {
+            remove(key);
+            return;
+        }
+        int[] keysByBand = bandKeys(hashed);
+
+        lock.writeLock().lock();
+        try {
+            Integer slot = slots.get(key);
+            if (slot == null) {
+                slot = keys.size();
+                slots.put(key, slot);
+                keys.add(key);
+                elements.add(null);
+                bandKeys.add(null);
+            } else if (bandKeys.get(slot) != null) {
+                unlink(slot);
+            }
+            elements.set(slot, hashed);
+            bandKeys.set(slot, keysByBand);
+            for (int b = 0; b < bands; b++) {
+                tables[b].link(keysByBand[b], slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(String key) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slots.get(key);
+            if (slot != null && elements.get(slot) != null) {
+                unlink(slot);
+                elements.set(slot, null);
+                bandKeys.set(slot, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Stored sets most similar to the one under the key, by exact Jaccard, best first
+     */
+    List<Match> query(String key, int limit, double minSimilarity) {
+        lock.readLock().lock();
+        try {
+            Integer slot = slots.get(key);
+            if (slot == null || elements.get(slot) == null) {
+                return List.of();
+            }
+            int[] own = elements.get(slot);
+            int[] ownBandKeys = bandKeys.get(slot);
+
+            Map<Integer, Double> candidates = new HashMap<>();
+            for (int b = 0; b < bands; b++) {
+                for (int other = tables[b].head(ownBandKeys[b]); other >= 0; other = tables[b].next[other]) {
+                    if (other != slot && !candidates.containsKey(other)) {
+                        candidates.put(other, jaccard(own, elements.get(other)));
+                    }
+                }
+            }
+            return candidates.entrySet().stream()
+                    .filter(entry -> entry.getValue() >= minSimilarity)
+                    .sorted(Map.Entry.<Integer, Double>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .limit(limit)
+                    .map(entry -> new Match(keys.get(entry.getKey()), entry.getValue()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return (int) elements.stream().filter(set -> set != null).count();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Exact Jaccard similarity of two sorted, duplicate-free arrays
+     */
+    static double jaccard(int[] a, int[] b) {
+        int i = 0;
+        int j = 0;
+        int intersection = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                intersection++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        int union = a.length + b.length - intersection;
+        return union == 0 ? 0 : (double) intersection / union;
+    }
+
+    private void unlink(int slot) {
+        int[] keysByBand = bandKeys.get(slot);
+        for (int b = 0; b < bands; b++) {
+            tables[b].unlink(keysByBand[b], slot);
+        }
+    }
+
+    private int[] bandKeys(int[] hashed) {
+        int[] signature = new int[seeds.length];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (int element : hashed) {
+            for (int i = 0; i < seeds.length; i++) {
+                int value = (int) (mix(element ^ seeds[i]) >>> 33);
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+        int[] result = new int[bands];
+        for (int b = 0; b < bands; b++) {
+            long key = b;
+            for (int r = 0; r < rows; r++) {
+                key = mix(key * 31 + signature[b * rows + r]);
+            }
+            result[b] = (int) (key ^ (key >>> 32));
+        }
+        return result;
+    }
+
+    private static int[] hashElements(Collection<String> set) {
+        return set.stream()
+                .mapToInt(value -> {
+                    // FNV-1a over the UTF-8 bytes, folded to 32 bits
+                    long hash = 0xcbf29ce484222325L;
+                    for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+                        hash ^= b & 0xff;
+                        hash *= 0x100000001b3L;
+                    }
+                    return (int) (hash ^ (hash >>> 32));
+                })
+                .sorted()
+                .distinct()
+                .toArray();
+    }
+
+    /**
+     * SplitMix64 finalizer
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Bucket table of one band: open addressing from band key to the first member,
+     * with further members chained through {@code next}
+     */
+    private static final class BandTable {
+
+        private int[] tableKeys = new int[16];
+        private int[] heads = filled(16);
+        private int used;
+        int[] next = new int[16];
+
+        int head(int key) {
+            int index = find(key);
+            return heads[index] == EMPTY ? VACANT : heads[index];
+        }
+
+        void link(int key, int slot) {
+            if (slot >= next.length) {
+                next = Arrays.copyOf(next, Math.max(slot + 1, next.length * 2));
+            }
+            int index = find(key);
+            if (heads[index] == EMPTY) {
+                // Rehash before claiming the bucket: rehashing drops vacant buckets
+                if ((used + 1) * 4 > heads.length * 3) {
+                    rehash();
+                    index = find(key);
+                }
+                tableKeys[index] = key;
+                heads[index] = VACANT;
+                used++;
+            }
+            next[slot] = heads[index];
+            heads[index] = slot;
+        }
+
+        void unlink(int key, int slot) {
+            int index = find(key);
+            if (heads[index] == slot) {
+                heads[index] = next[slot];
+                return;
+            }
+            for (int member = heads[index]; member >= 0; member = next[member]) {
+                if (next[member] == slot) {
+                    next[member] = next[slot];
+                    return;
+                }
+            }
+        }
+
+        private int find(int key) {
+            int mask = heads.length - 1;
+            int index = (int) mix(key) & mask;
+            while (heads[index] != EMPTY && tableKeys[index] != key) {
+                index = (index + 1) & mask;
+            }
+            return index;
+        }
+
+        /**
+         * Drop buckets that have become empty, doubling the table if it is still over half full
+         */
+        private void rehash() {
+            int[] oldKeys = tableKeys;
+            int[] oldHeads = heads;
+            int live = (int) Arrays.stream(oldHeads).filter(head -> head >= 0).count();
+            int length = live * 2 > oldHeads.length ? oldHeads.length * 2 : oldHeads.length;
+            tableKeys = new int[length];
+            heads = filled(length);
+            used = 0;
+            for (int i = 0; i < oldHeads.length; i++) {
+                if (oldHeads[i] >= 0) {
+                    int index = find(oldKeys[i]);
+                    tableKeys[index] = oldKeys[i];
+                    heads[index] = oldHeads[i];
+                    used++;
+                }
+            }
+        }
+
+        private static int[] filled(int size) {
+            int[] array = new int[size];
+            Arrays.fill(array, EMPTY);
+            return array;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.animefan.service;
+
+import com.animefan.event.*;
+import com.animefan.model.Anime;
+import com.animefan.model.PlatformStatistics;
+import com.animefan.model.Review;
+import com.animefan.model.Studio;
+import com.animefan.model.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Maintains the materialized {@link PlatformStatistics} document.
+ * Counters are adjusted with atomic $inc updates when domain events are published,
+ * and an exact recount runs on startup and periodically to correct any drift.
+ * The latest document is kept in memory, so reads do not touch MongoDB.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PlatformStatsService {
+
+    private final MongoTemplate mongoTemplate;
+
+    private final AtomicReference<PlatformStatistics> current = new AtomicReference<>();
+
+    /**
+     * Get current counters (memory read, falls back to a single document fetch)
+     */
+    public PlatformStatistics getCurrent() {
+        PlatformStatistics stats = current.get();
+        if (stats == null) {
+            stats = mongoTemplate.findById(PlatformStatistics.GLOBAL_ID, PlatformStatistics.class);
+            if (stats == null) {
+                stats = reconcile();
+            } else {
+                current.compareAndSet(null, stats);
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Load the materialized document into memory before the first request reads it
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        try {
+            getCurrent();
+        } catch (Exception e) {
+            log.warn("Failed to preload platform statistics: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Recount all totals exactly and overwrite the materialized document
+     */
+    @Scheduled(fixedDelayString = "${app.stats.reconcile-interval-ms:3600000}",
+            initialDelayString = "${app.stats.reconcile-interval-ms:3600000}")
+    public PlatformStatistics reconcile() {
+        log.info("Reconciling platform statistics");
+
+        Update update = new Update()
+                .set("totalAnime", mongoTemplate.count(new Query(), Anime.class))
+                .set("totalUsers", mongoTemplate.count(new Query(), User.class))
+                .set("totalReviews", mongoTemplate.count(new Query(), Review.class))
+                .set("totalStudios", mongoTemplate.count(new Query(), Studio.class))
+                .set("reconciledAt", LocalDateTime.now())
+                .set("updatedAt", LocalDateTime.now());
+
+        PlatformStatistics stats = upsert(update);
+        log.info("Platform statistics reconciled: {} anime, {} users, {} reviews, {} studios",
+                stats.getTotalAnime(), stats.getTotalUsers(), stats.getTotalReviews(), stats.getTotalStudios());
+        return stats;
+    }
+
+    @EventListener
+    public void onUserRegistered(UserRegisteredEvent event) {
+        increment("totalUsers", 1);
+    }
+
+    @EventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        increment("totalUsers", -1);
+    }
+
+    @EventListener
+    public void onAnimeCreated(AnimeCreatedEvent event) {
+        increment("totalAnime", 1);
+    }
+
+    @EventListener
+    public void onAnimeBulkImported(AnimeBulkImportedEvent event) {
+        increment("totalAnime", event.animeIds().size());
+    }
+
+    @EventListener
+    public void onAnimeDeleted(AnimeDeletedEvent event) {
+        increment("totalAnime", -1);
+    }
+
+    @EventListener
+    public void onReviewCreated(ReviewCreatedEvent event) {
+        increment("totalReviews", 1);
+    }
+
+    @EventListener
+    public void onReviewDeleted(ReviewDeletedEvent event) {
+        increment("totalReviews", -1);
+    }
+
+    @EventListener
+    public void onStudioCreated(StudioCreatedEvent event) {
+        increment("totalStudios", 1);
+    }
+
+    @EventListener
+    public void onStudioDeleted(StudioDeletedEvent event) {
+        increment("totalStudios", -1);
+    }
+
+    private void increment(String field, int delta) {
+        try {
+            upsert(new Update().inc(field, delta).set("updatedAt", LocalDateTime.now()));
+        } catch (Exception e) {
+            // Counters are corrected by the next reconciliation
+            log.warn("Failed to update platform statistics ({} {}): {}", field, delta, e.getMessage());
+            current.set(null);
+        }
+    }
+
+    private PlatformStatistics upsert(Update update) {
+        Query query = Query.query(Criteria.where("id").is(PlatformStatistics.GLOBAL_ID));
+        PlatformStatistics stats = mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().upsert(true).returnNew(true), PlatformStatistics.class);
+        current.set(stats);
+        return stats;
+    }
+}
@@ -0,0 +1,225 @@
+package com.animefan.service;
+
+import com.animefan.event.UserAnimeRelationChangedEvent;
+import com.animefan.model.Anime;
+import com.animefan.model.AnimeNeighbors;
+import com.animefan.model.UserAnimeRelation;
+import com.animefan.repository.UserAnimeRelationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Item-item collaborative filtering over user lists.
+ * A background job builds the user x anime matrix from all relations, computes the top-K
+ * neighbours of every anime and stores them in anime_neighbors. The neighbour lists are
+ * served from memory; the job reruns on a schedule once enough list changes have accumulated.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RecommendationService {
+
+    private static final int WRITE_BATCH_SIZE = 1000;
+
+    private final MongoTemplate mongoTemplate;
+    private final UserAnimeRelationRepository relationRepository;
+
+    @Value("${app.recommendations.neighbors:20}")
+    private int neighbors = 20;
+
+    @Value("${app.recommendations.max-user-degree:500}")
+    private int maxUserDegree = 500;
+
+    @Value("${app.recommendations.shrinkage:10}")
+    private float shrinkage = 10;
+
+    @Value("${app.recommendations.parallelism:0}")
+    private int parallelism;
+
+    @Value("${app.recommendations.min-changes:200}")
+    private long minChanges = 200;
+
+    private volatile Map<String, List<AnimeNeighbors.Neighbor>> collaborative;
+    private final AtomicLong pendingChanges = new AtomicLong();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * Anime most often listed together with the given one (memory read)
+     */
+    public List<Anime> getAlsoWatched(String animeId, int limit) {
+        List<AnimeNeighbors.Neighbor> list = getNeighbors().getOrDefault(animeId, List.of());
+        return loadAnime(list.stream().limit(limit).map(AnimeNeighbors.Neighbor::getAnimeId).toList());
+    }
+
+    /**
+     * Personalized picks: neighbours of the user's listed anime, weighted by how strongly
+     * the user interacted with each source title, excluding anything already in the list
+     */
+    public List<Anime> getPersonalized(String userId, int limit) {
+        Map<String, List<AnimeNeighbors.Neighbor>> index = getNeighbors();
+        List<UserAnimeRelation> relations = relationRepository.findByUserId(userId);
+        Set<String> listed = relations.stream().map(UserAnimeRelation::getAnimeId).collect(Collectors.toSet());
+
+        Map<String, Double> scores = new HashMap<>();
+        for (UserAnimeRelation relation : relations) {
+            float weight = ItemSimilarityEngine.weight(relation.getStatus(), relation.getUserRating(),
+                    Boolean.TRUE.equals(relation.getFavorite()));
+            for (AnimeNeighbors.Neighbor neighbor : index.getOrDefault(relation.getAnimeId(), List.of())) {
+                if (!listed.contains(neighbor.getAnimeId())) {
+                    scores.merge(neighbor.getAnimeId(), weight * neighbor.getScore(), Double::sum);
+                }
+            }
+        }
+
+        return loadAnime(scores.entrySet().stream()
+                .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList());
+    }
+
+    /**
+     * Rebuild all neighbour lists from the current relations and store them
+     */
+    public void recompute() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Recommendation recompute already in progress, skipping");
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            long changesAtStart = pendingChanges.get();
+
+            ItemSimilarityEngine.Matrix.Builder builder = ItemSimilarityEngine.matrix();
+            Query query = new Query();
+            query.fields().include("userId").include("animeId").include("status")
+                    .include("userRating").include("favorite");
+            try (Stream<UserAnimeRelation> relations = mongoTemplate.stream(query, UserAnimeRelation.class)) {
+                relations.forEach(relation -> builder.add(relation.getUserId(), relation.getAnimeId(),
+                        ItemSimilarityEngine.weight(relation.getStatus(), relation.getUserRating(),
+                                Boolean.TRUE.equals(relation.getFavorite()))));
+            }
+            ItemSimilarityEngine.Matrix matrix = builder.build(maxUserDegree);
+
+            ForkJoinPool pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+            Map<String, List<AnimeNeighbors.Neighbor>> result;
+            try {
+                result = new ItemSimilarityEngine(neighbors, shrinkage).compute(matrix, pool);
+            } finally {
+                pool.shutdown();
+            }
+
+            store(result);
+            collaborative = result;
+            pendingChanges.addAndGet(-changesAtStart);
+            log.info("Computed collaborative neighbours for {} anime from {} interactions of {} users in {} ms",
+                    result.size(), matrix.interactions(), matrix.users(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("Failed to recompute collaborative neighbours: {}", e.getMessage(), e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Recompute once enough list changes have accumulated since the last run
+     */
+    @Scheduled(fixedDelayString = "${app.recommendations.check-interval-ms:900000}",
+            initialDelayString = "${app.recommendations.check-interval-ms:900000}")
+    public void recomputeIfStale() {
+        if (pendingChanges.get() >= minChanges) {
+            recompute();
+        }
+    }
+
+    /**
+     * Compute neighbours in the background on first start, when nothing has been stored yet
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void recomputeIfMissing() {
+        if (!mongoTemplate.exists(Query.query(Criteria.where("collaborative").exists(true)), AnimeNeighbors.class)) {
+            recompute();
+        }
+    }
+
+    @EventListener
+    public void onRelationChanged(UserAnimeRelationChangedEvent event) {
+        pendingChanges.incrementAndGet();
+    }
+
+    private Map<String, List<AnimeNeighbors.Neighbor>> getNeighbors() {
+        Map<String, List<AnimeNeighbors.Neighbor>> index = collaborative;
+        if (index == null) {
+            Query query = Query.query(Criteria.where("collaborative").exists(true));
+            query.fields().include("collaborative");
+            index = mongoTemplate.find(query, AnimeNeighbors.class).stream()
+                    .collect(Collectors.toMap(AnimeNeighbors::getAnimeId, AnimeNeighbors::getCollaborative));
+            collaborative = index;
+        }
+        return index;
+    }
+
+    private void store(Map<String, List<AnimeNeighbors.Neighbor>> result) {
+        LocalDateTime computedAt = LocalDateTime.now();
+        BulkOperations bulk = null;
+        int pending = 0;
+        for (Map.Entry<String, List<AnimeNeighbors.Neighbor>> entry : result.entrySet()) {
+            if (bulk == null) {
+                bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, AnimeNeighbors.class);
+            }
+            bulk.upsert(Query.query(Criteria.where("animeId").is(entry.getKey())),
+                    new Update().set("collaborative", entry.getValue()).set("collaborativeComputedAt", computedAt));
+            if (++pending == WRITE_BATCH_SIZE) {
+                bulk.execute();
+                bulk = null;
+                pending = 0;
+            }
+        }
+        if (bulk != null) {
+            bulk.execute();
+        }
+
+        // Anime that lost all co-occurrences since the previous run
+        mongoTemplate.updateMulti(Query.query(Criteria.where("collaborativeComputedAt").lt(computedAt)),
+                new Update().unset("collaborative").unset("collaborativeComputedAt"), AnimeNeighbors.class);
+    }
+
+    /**
+     * Load anime without episodes, preserving the order of the given ids and skipping deleted ones
+     */
+    private List<Anime> loadAnime(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Query query = Query.query(Criteria.where("id").in(ids));
+        Map<String, Anime> byId = mongoTemplate.find(query, Anime.class).stream()
+                .collect(Collectors.toMap(Anime::getId, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+}
@@ -1,6 +1,10 @@
 package com.animefan.service;
 
 import com.animefan.dto.ReviewDTO;
+import com.animefan.event.ReviewCreatedEvent;
+import com.animefan.event.ReviewDeletedEvent;
+import com.animefan.event.ReviewUpdatedEvent;
+import com.animefan.event.UserReviewCount;
 import com.animefan.exception.ResourceNotFoundException;
 import com.animefan.exception.ValidationException;
 import com.animefan.model.Anime;
@@ -9,6 +13,7 @@ import com.animefan.model.User;
 import com.animefan.repository.ReviewRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -29,6 +34,9 @@ public class ReviewService {
     private final ReviewRepository reviewRepository;
     private final AnimeService animeService;
     private final UserService userService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReviewerLeaderboardService reviewerLeaderboardService;
+    private final AnimeStatsService animeStatsService;
 
     /**
      * Get all reviews with pagination
@@ -108,11 +116,13 @@ public class ReviewService {
         Review savedReview = reviewRepository.save(review);
 
         // Update user review count
-        userService.incrementReviewCount(userId, 1);
+        UserReviewCount reviewCount = userService.incrementReviewCount(userId, 1);
 
         // Recalculate anime rating
         animeService.recalculateRating(anime.getId());
 
+        eventPublisher.publishEvent(new ReviewCreatedEvent(savedReview, reviewCount));
+
         return savedReview;
     }
 
@@ -130,6 +140,8 @@ public class ReviewService {
             throw new ValidationException("You can only edit your own reviews");
         }
 
+        Integer previousRating = existingReview.getRating();
+
         // Update fields
         existingReview.setRating(reviewDTO.getRating());
         existingReview.setTitle(reviewDTO.getTitle());
@@ -141,6 +153,8 @@ public class ReviewService {
         // Recalculate anime rating
         animeService.recalculateRating(existingReview.getAnimeId());
 
+        eventPublisher.publishEvent(new ReviewUpdatedEvent(updatedReview, previousRating));
+
         return updatedReview;
     }
 
@@ -158,10 +172,12 @@ public class ReviewService {
         reviewRepository.deleteById(reviewId);
 
         // Update user review count
-        userService.incrementReviewCount(reviewUserId, -1);
+        UserReviewCount reviewCount = userService.incrementReviewCount(reviewUserId, -1);
 
         // Recalculate anime rating
         animeService.recalculateRating(animeId);
+
+        eventPublisher.publishEvent(new ReviewDeletedEvent(review, reviewCount));
     }
 
     /**
@@ -183,10 +199,12 @@ public class ReviewService {
         reviewRepository.deleteById(reviewId);
 
         // Update user review count
-        userService.incrementReviewCount(reviewUserId, -1);
+        UserReviewCount reviewCount = userService.incrementReviewCount(reviewUserId, -1);
 
         // Recalculate anime rating
         animeService.recalculateRating(animeId);
+
+        eventPublisher.publishEvent(new ReviewDeletedEvent(review, reviewCount));
     }
 
     /**
@@ -235,27 +253,17 @@ public class ReviewService {
     }
 
     /**
-     * Get rating distribution for anime
+     * Get rating distribution for anime (served from the materialized histogram)
      */
     public List<ReviewRepository.RatingDistribution> getRatingDistribution(String animeId) {
-        try {
-            return reviewRepository.getRatingDistribution(animeId);
-        } catch (Exception e) {
-            log.warn("Failed to get rating distribution: {}", e.getMessage());
-            return java.util.Collections.emptyList();
-        }
+        return animeStatsService.getRatingDistribution(animeId);
     }
 
     /**
      * Get top reviewers
      */
     public List<ReviewRepository.TopReviewer> getTopReviewers(int limit) {
-        try {
-            return reviewRepository.getTopReviewers(limit);
-        } catch (Exception e) {
-            log.warn("Failed to get top reviewers: {}", e.getMessage());
-            return java.util.Collections.emptyList();
-        }
+        return reviewerLeaderboardService.getTopReviewers(limit);
     }
 
     /**
@@ -0,0 +1,171 @@
+package com.animefan.service;
+
+import com.animefan.event.ReviewCreatedEvent;
+import com.animefan.event.ReviewDeletedEvent;
+import com.animefan.event.UserDeletedEvent;
+import com.animefan.event.UserReviewCount;
+import com.animefan.model.Review;
+import com.animefan.model.User;
+import com.animefan.repository.ReviewRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory leaderboard of users ranked by review count.
+ * Loaded from the maintained users.reviewCount field, updated on review create/delete,
+ * and periodically reloaded to correct drift. A reload builds a new board and publishes it
+ * through a volatile field, so readers never see a half-filled one. Review events carry the
+ * author's new count and its version; an event is applied only if its version is newer than
+ * the one the board holds, so a change a reload already read is not counted again.
+ * Top-N reads walk the first N entries of a sorted set and never touch MongoDB.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReviewerLeaderboardService {
+
+    private static final Comparator<Reviewer> RANKING = Comparator
+            .comparingLong(Reviewer::getReviewCount).reversed()
+            .thenComparing(Reviewer::getId);
+
+    private final MongoTemplate mongoTemplate;
+
+    private volatile Board board = new Board();
+    private volatile boolean loaded;
+
+    /**
+     * Get top reviewers (memory read, loads the leaderboard on first use)
+     */
+    public List<ReviewRepository.TopReviewer> getTopReviewers(int limit) {
+        if (!loaded) {
+            rebuild();
+        }
+        Board current = board;
+        List<ReviewRepository.TopReviewer> top = new ArrayList<>(Math.min(Math.max(limit, 0), current.byUser().size()));
+        Iterator<Reviewer> iterator = current.ranking().iterator();
+        while (top.size() < limit && iterator.hasNext()) {
+            top.add(iterator.next());
+        }
+        return top;
+    }
+
+    /**
+     * Reload the leaderboard from users with at least one review
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.stats.reconcile-interval-ms:3600000}",
+            initialDelayString = "${app.stats.reconcile-interval-ms:3600000}")
+    public synchronized void rebuild() {
+        try {
+            Query query = Query.query(Criteria.where("reviewCount").gt(0));
+            query.fields().include("username").include("reviewCount").include("reviewCountVersion");
+            List<User> users = mongoTemplate.find(query, User.class);
+
+            Board reloaded = new Board();
+            for (User user : users) {
+                reloaded.put(new Reviewer(user.getId(), user.getUsername(), user.getReviewCount()));
+                reloaded.versions().put(user.getId(),
+                        user.getReviewCountVersion() != null ? user.getReviewCountVersion() : 0L);
+            }
+            board = reloaded;
+            loaded = true;
+            log.info("Reviewer leaderboard loaded with {} users", users.size());
+        } catch (Exception e) {
+            log.warn("Failed to load reviewer leaderboard: {}", e.getMessage());
+        }
+    }
+
+    @EventListener
+    public void onReviewCreated(ReviewCreatedEvent event) {
+        adjust(event.review(), 1, event.userReviewCount());
+    }
+
+    @EventListener
+    public void onReviewDeleted(ReviewDeletedEvent event) {
+        adjust(event.review(), -1, event.userReviewCount());
+    }
+
+    @EventListener
+    public synchronized void onUserDeleted(UserDeletedEvent event) {
+        Board current = board;
+        Reviewer removed = current.byUser().remove(event.userId());
+        if (removed != null) {
+            current.ranking().remove(removed);
+        }
+        current.versions().remove(event.userId());
+    }
+
+    /**
+     * Set the author's new count; without one (older publishers) apply the delta
+     */
+    private synchronized void adjust(Review review, int delta, UserReviewCount reviewCount) {
+        if (!loaded) {
+            return; // the first read loads current counts
+        }
+        Board current = board;
+        String userId = review.getUserId();
+        if (reviewCount != null) {
+            if (reviewCount.version() <= current.versions().getOrDefault(userId, 0L)) {
+                return; // the board already includes this change, or a newer one
+            }
+            current.versions().put(userId, reviewCount.version());
+        }
+        Reviewer previous = current.byUser().remove(userId);
+        long count = reviewCount != null ? reviewCount.count()
+                : (previous != null ? previous.getReviewCount() : 0) + delta;
+        if (previous != null) {
+            current.ranking().remove(previous);
+        }
+        if (count > 0) {
+            current.put(new Reviewer(userId,
+                    previous != null ? previous.getUsername() : review.getUsername(), count));
+        }
+    }
+
+    /**
+     * Reviewers by user ID and in rank order, with the review count version each one reflects;
+     * only modified under the service lock
+     */
+    private record Board(Map<String, Reviewer> byUser, ConcurrentSkipListSet<Reviewer> ranking,
+                         Map<String, Long> versions) {
+
+        Board() {
+            this(new ConcurrentHashMap<>(), new ConcurrentSkipListSet<>(RANKING), new HashMap<>());
+        }
+
+        void put(Reviewer reviewer) {
+            byUser.put(reviewer.getId(), reviewer);
+            ranking.add(reviewer);
+        }
+    }
+
+    @Value
+    static class Reviewer implements ReviewRepository.TopReviewer {
+        String id;
+        String username;
+        Long reviewCount;
+
+        Reviewer(String id, String username, long reviewCount) {
+            this.id = id;
+            this.username = username;
+            this.reviewCount = reviewCount;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.animefan.service;
+
+import com.animefan.event.UserAnimeRelationChangedEvent;
+import com.animefan.event.UserDeletedEvent;
+import com.animefan.model.User;
+import com.animefan.model.UserAnimeRelation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * "People with similar taste": users whose completed and favorite anime sets overlap most.
+ * Every user's set is kept as a MinHash signature in an LSH banding index, so a lookup only
+ * compares the user with the few others sharing a bucket, re-ranked by exact Jaccard.
+ * The index is loaded once on startup and updated per user when their list changes.
+ */
+@Slf4j
+@Service
+public class SimilarUserService {
+
+    private final MongoTemplate mongoTemplate;
+    private final MinHashIndex index;
+
+    @Value("${app.similar-users.min-similarity:0.1}")
+    private double minSimilarity = 0.1;
+
+    private volatile boolean loaded;
+
+    public SimilarUserService(MongoTemplate mongoTemplate,
+                              @Value("${app.similar-users.bands:16}") int bands,
+                              @Value("${app.similar-users.rows:4}") int rows) {
+        this.mongoTemplate = mongoTemplate;
+        this.index = new MinHashIndex(bands, rows, 0x5eed);
+    }
+
+    /**
+     * Users with the most similar completed/favorite sets, best first
+     */
+    public List<SimilarUser> getSimilarUsers(String userId, int limit) {
+        if (!loaded) {
+            return List.of();
+        }
+        List<MinHashIndex.Match> matches = index.query(userId, limit, minSimilarity);
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+
+        Query query = Query.query(Criteria.where("id").in(matches.stream().map(MinHashIndex.Match::key).toList()));
+        query.fields().include("username").include("displayName").include("avatarUrl");
+        Map<String, User> users = mongoTemplate.find(query, User.class).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        return matches.stream()
+                .filter(match -> users.containsKey(match.key()))
+                .map(match -> new SimilarUser(users.get(match.key()), match.similarity()))
+                .toList();
+    }
+
+    /**
+     * Load every user's completed/favorite set into the index, streaming relations grouped by user
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        Query query = Query.query(tasteCriteria()).with(Sort.by("userId"));
+        query.fields().include("userId").include("animeId");
+
+        List<String> current = new ArrayList<>();
+        String[] currentUser = {null};
+        try (Stream<UserAnimeRelation> relations = mongoTemplate.stream(query, UserAnimeRelation.class)) {
+            relations.forEach(relation -> {
+                if (!Objects.equals(currentUser[0], relation.getUserId())) {
+                    if (currentUser[0] != null) {
+                        index.put(currentUser[0], current);
+                    }
+                    currentUser[0] = relation.getUserId();
+                    current.clear();
+                }
+                current.add(relation.getAnimeId());
+            });
+        }
+        if (currentUser[0] != null) {
+            index.put(currentUser[0], current);
+        }
+        loaded = true;
+        log.info("Loaded taste signatures for {} users in {} ms", index.size(), System.currentTimeMillis() - start);
+    }
+
+    @EventListener
+    public void onRelationChanged(UserAnimeRelationChangedEvent event) {
+        boolean wasInSet = event.previousStatus() == UserAnimeRelation.Status.COMPLETED || event.previousFavorite();
+        boolean isInSet = event.status() == UserAnimeRelation.Status.COMPLETED || event.favorite();
+        if (wasInSet != isInSet) {
+            refresh(event.userId());
+        }
+    }
+
+    @EventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        index.remove(event.userId());
+    }
+
+    /**
+     * Re-read one user's set and replace their signature
+     */
+    void refresh(String userId) {
+        Query query = Query.query(Criteria.where("userId").is(userId).andOperator(tasteCriteria()));
+        query.fields().include("animeId");
+        index.put(userId, mongoTemplate.find(query, UserAnimeRelation.class).stream()
+                .map(UserAnimeRelation::getAnimeId)
+                .toList());
+    }
+
+    private static Criteria tasteCriteria() {
+        return new Criteria().orOperator(
+                Criteria.where("status").is(UserAnimeRelation.Status.COMPLETED),
+                Criteria.where("favorite").is(true));
+    }
+
+    public record SimilarUser(User user, double similarity) {
+    }
+}
@@ -2,15 +2,19 @@ package com.animefan.service;
 
 import com.animefan.dto.GenreStatsDTO;
 import com.animefan.model.Anime;
-import com.animefan.model.UserAnimeRelation;
+import com.animefan.model.ListCounters;
+import com.animefan.model.PlatformStatistics;
 import com.animefan.repository.*;
 import lombok.Builder;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.stereotype.Service;
 
+import java.io.Serializable;
 import java.util.List;
 
 /**
@@ -22,36 +26,45 @@ import java.util.List;
 public class StatsService {
 
     private final AnimeRepository animeRepository;
-    private final UserRepository userRepository;
-    private final ReviewRepository reviewRepository;
-    private final StudioRepository studioRepository;
-    private final UserAnimeRelationRepository relationRepository;
+    private final PlatformStatsService platformStatsService;
+    private final UserStatsService userStatsService;
+    private final AnimeStatsService animeStatsService;
+    private final ReviewerLeaderboardService reviewerLeaderboardService;
+    private final AnimeService animeService;
+    private final MongoTemplate mongoTemplate;
 
     /**
      * Get platform-wide statistics
+     * Totals come from the materialized platform_stats document, genre and top lists from their caches
      */
-    @Cacheable(value = "platformStats", key = "'stats'")
     public PlatformStats getPlatformStats() {
-        log.info("Calculating platform statistics");
+        log.debug("Getting platform statistics");
 
-        long totalAnime = animeRepository.count();
-        long totalUsers = userRepository.count();
-        long totalReviews = reviewRepository.count();
-        long totalStudios = studioRepository.count();
-
-        List<GenreStatsDTO> genreStats = animeRepository.getGenreStats();
-        List<Anime> topAnime = animeRepository.getTopAnimeByRating(10);
+        PlatformStatistics totals = platformStatsService.getCurrent();
 
         return PlatformStats.builder()
-                .totalAnime(totalAnime)
-                .totalUsers(totalUsers)
-                .totalReviews(totalReviews)
-                .totalStudios(totalStudios)
-                .genreStats(genreStats)
-                .topAnime(topAnime)
+                .totalAnime(totals.getTotalAnime())
+                .totalUsers(totals.getTotalUsers())
+                .totalReviews(totals.getTotalReviews())
+                .totalStudios(totals.getTotalStudios())
+                .genreStats(animeService.getGenreStatistics())
+                .topAnime(animeService.getTopAnime(10))
                 .build();
     }
 
+    /**
+     * Check that MongoDB responds to a ping
+     */
+    public boolean isDatabaseAvailable() {
+        try {
+            Document result = mongoTemplate.executeCommand("{ ping: 1 }");
+            return result.get("ok") != null;
+        } catch (Exception e) {
+            log.error("MongoDB ping failed: {}", e.getMessage());
+            return false;
+        }
+    }
+
     /**
      * Get genre statistics
      */
@@ -64,38 +77,28 @@ public class StatsService {
     /**
      * Get top anime by rating
      */
-    @Cacheable(value = "topAnime", key = "#limit")
     public List<Anime> getTopAnimeByRating(int limit) {
-        log.info("Getting top {} anime by rating", limit);
-        return animeRepository.getTopAnimeByRating(limit);
+        return animeService.getTopAnime(limit);
     }
 
     /**
-     * Get user statistics
+     * Get user statistics from the materialized per-user counters
      */
     public UserStats getUserStats(String userId) {
         log.info("Getting statistics for user: {}", userId);
 
-        // Use simple count methods instead of aggregation to avoid projection issues
-        long watchingCount = relationRepository.countByUserIdAndStatus(userId, UserAnimeRelation.Status.WATCHING);
-        long completedCount = relationRepository.countByUserIdAndStatus(userId, UserAnimeRelation.Status.COMPLETED);
-        long onHoldCount = relationRepository.countByUserIdAndStatus(userId, UserAnimeRelation.Status.ON_HOLD);
-        long droppedCount = relationRepository.countByUserIdAndStatus(userId, UserAnimeRelation.Status.DROPPED);
-        long planToWatchCount = relationRepository.countByUserIdAndStatus(userId, UserAnimeRelation.Status.PLAN_TO_WATCH);
-
-        long favoritesCount = relationRepository.countByUserIdAndFavoriteTrue(userId);
-        long reviewCount = reviewRepository.countByUserId(userId);
+        ListCounters counters = userStatsService.getUserStatistics(userId).getCounters();
 
         return UserStats.builder()
                 .userId(userId)
-                .watchingCount(watchingCount)
-                .completedCount(completedCount)
-                .onHoldCount(onHoldCount)
-                .droppedCount(droppedCount)
-                .planToWatchCount(planToWatchCount)
-                .favoritesCount(favoritesCount)
-                .reviewCount(reviewCount)
-                .totalInList(watchingCount + completedCount + onHoldCount + droppedCount + planToWatchCount)
+                .watchingCount(counters.getWatching())
+                .completedCount(counters.getCompleted())
+                .onHoldCount(counters.getOnHold())
+                .droppedCount(counters.getDropped())
+                .planToWatchCount(counters.getPlanToWatch())
+                .favoritesCount(counters.getFavorites())
+                .reviewCount(counters.getReviews())
+                .totalInList(counters.totalInList())
                 .build();
     }
 
@@ -103,26 +106,25 @@ public class StatsService {
      * Get anime statistics
      */
     public AnimeStats getAnimeStats(String animeId) {
-        log.info("Getting statistics for anime: {}", animeId);
-
         Anime anime = animeRepository.findById(animeId).orElse(null);
-        if (anime == null) {
-            return null;
-        }
+        return anime != null ? getAnimeStats(anime) : null;
+    }
 
-        long userCount = relationRepository.countByAnimeId(animeId);
-        long favoriteCount = relationRepository.countByAnimeIdAndFavoriteTrue(animeId);
-        long reviewCount = reviewRepository.countByAnimeId(animeId);
+    /**
+     * Get statistics for an already loaded anime (served from materialized counters)
+     */
+    public AnimeStats getAnimeStats(Anime anime) {
+        ListCounters counters = animeStatsService.getAnimeStatistics(anime.getId()).getCounters();
 
         return AnimeStats.builder()
-                .animeId(animeId)
+                .animeId(anime.getId())
                 .title(anime.getTitle())
                 .rating(anime.getRating())
                 .ratingCount(anime.getRatingCount())
                 .viewCount(anime.getViewCount())
-                .userCount(userCount)
-                .favoriteCount(favoriteCount)
-                .reviewCount(reviewCount)
+                .userCount(counters.totalInList())
+                .favoriteCount(counters.getFavorites())
+                .reviewCount(counters.getReviews())
                 .build();
     }
 
@@ -131,17 +133,12 @@ public class StatsService {
      */
     public List<ReviewRepository.TopReviewer> getTopReviewers(int limit) {
         log.info("Getting top {} reviewers", limit);
-        try {
-            return reviewRepository.getTopReviewers(limit);
-        } catch (Exception e) {
-            log.warn("Failed to get top reviewers: {}", e.getMessage());
-            return java.util.Collections.emptyList();
-        }
+        return reviewerLeaderboardService.getTopReviewers(limit);
     }
 
     @Data
     @Builder
-    public static class PlatformStats {
+    public static class PlatformStats implements Serializable {
         private long totalAnime;
         private long totalUsers;
         private long totalReviews;
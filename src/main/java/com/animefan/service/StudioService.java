@@ -1,11 +1,15 @@
 package com.animefan.service;
 
 import com.animefan.model.Studio;
+import com.animefan.model.StudioStatistics;
+import com.animefan.event.StudioCreatedEvent;
+import com.animefan.event.StudioDeletedEvent;
 import com.animefan.exception.ResourceNotFoundException;
 import com.animefan.exception.ValidationException;
 import com.animefan.repository.StudioRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -13,7 +17,12 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service for Studio business logic
@@ -24,6 +33,8 @@ import java.util.List;
 public class StudioService {
 
     private final StudioRepository studioRepository;
+    private final StudioStatsService studioStatsService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Get all studios with pagination
@@ -63,8 +74,9 @@ public class StudioService {
             throw new ValidationException("Studio with this name already exists");
         }
 
-        studio.setAnimeCount(0);
-        return studioRepository.save(studio);
+        Studio saved = studioRepository.save(studio);
+        eventPublisher.publishEvent(new StudioCreatedEvent(saved));
+        return saved;
     }
 
     /**
@@ -98,6 +110,7 @@ public class StudioService {
         }
 
         studioRepository.deleteById(id);
+        eventPublisher.publishEvent(new StudioDeletedEvent(id));
     }
 
     /**
@@ -130,7 +143,28 @@ public class StudioService {
      */
     public List<Studio> getTopStudios(int limit) {
         log.info("Getting top {} studios", limit);
-        return studioRepository.findTopStudios(limit);
+        List<String> ids = studioStatsService.getTopStudioIds(limit);
+        Map<String, Studio> studios = studioRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Studio::getId, Function.identity()));
+        return ids.stream().map(studios::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Get anime count, average rating and total views of a studio
+     */
+    public StudioStatistics getStudioStatistics(String id) {
+        log.info("Getting statistics of studio: {}", id);
+        if (!studioRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Studio", "id", id);
+        }
+        return studioStatsService.getStatistics(id);
+    }
+
+    /**
+     * Get statistics of several studios, keyed by studio ID
+     */
+    public Map<String, StudioStatistics> getStudioStatistics(Collection<String> ids) {
+        return studioStatsService.getStatistics(ids);
     }
 
     /**
@@ -0,0 +1,276 @@
+package com.animefan.service;
+
+import com.animefan.event.AnimeBulkImportedEvent;
+import com.animefan.event.AnimeCreatedEvent;
+import com.animefan.event.AnimeDeletedEvent;
+import com.animefan.event.AnimeUpdatedEvent;
+import com.animefan.event.AnimeViewedEvent;
+import com.animefan.event.StudioDeletedEvent;
+import com.animefan.model.Anime;
+import com.animefan.model.Studio;
+import com.animefan.model.StudioStatistics;
+import com.animefan.repository.StudioStatisticsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.GroupOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains per-studio totals (anime count, average rating, views) in the studio_stats collection.
+ * Studio membership itself is not stored on the studio: it is the set of anime with the studio's
+ * ID, served from the studio_year_idx index. Every change to an anime's studio, rating or view
+ * count applies an atomic $inc of the difference; a periodic reconciler recomputes all studios
+ * with one aggregation and corrects any drift.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StudioStatsService {
+
+    private static final int IMPORT_BATCH_SIZE = 1000;
+
+    private final StudioStatisticsRepository studioStatisticsRepository;
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Get totals for a studio; a studio without anime has all-zero totals
+     */
+    public StudioStatistics getStatistics(String studioId) {
+        return studioStatisticsRepository.findById(studioId)
+                .orElseGet(() -> StudioStatistics.builder().studioId(studioId).build());
+    }
+
+    /**
+     * Get totals for several studios in one read, keyed by studio ID
+     */
+    public Map<String, StudioStatistics> getStatistics(Collection<String> studioIds) {
+        return studioStatisticsRepository.findAllById(studioIds).stream()
+                .collect(Collectors.toMap(StudioStatistics::getStudioId, Function.identity()));
+    }
+
+    /**
+     * IDs of the studios with the most anime, largest first
+     */
+    public List<String> getTopStudioIds(int limit) {
+        return studioStatisticsRepository.findAllByOrderByAnimeCountDesc(PageRequest.of(0, limit)).stream()
+                .map(StudioStatistics::getStudioId)
+                .toList();
+    }
+
+    /**
+     * Apply the rating change of one anime; {@code previous} holds the studio and rating before the change
+     */
+    public void onRatingChanged(Anime previous, double rating, int ratingCount) {
+        if (previous == null || previous.getStudioId() == null) {
+            return;
+        }
+        Contribution before = Contribution.of(previous.getRating(), previous.getRatingCount(), 0);
+        Contribution after = Contribution.of(rating, ratingCount, 0);
+        apply(previous.getStudioId(), after.minus(before), false);
+    }
+
+    @EventListener
+    public void onAnimeCreated(AnimeCreatedEvent event) {
+        Anime anime = event.anime();
+        if (anime.getStudioId() != null) {
+            apply(anime.getStudioId(), Contribution.of(anime), true);
+        }
+    }
+
+    /**
+     * Add bulk-inserted anime (file import, catalog sync) to their studios, one aggregation per batch of IDs
+     */
+    @EventListener
+    public void onAnimeBulkImported(AnimeBulkImportedEvent event) {
+        List<String> animeIds = event.animeIds();
+        for (int from = 0; from < animeIds.size(); from += IMPORT_BATCH_SIZE) {
+            List<String> batch = animeIds.subList(from, Math.min(from + IMPORT_BATCH_SIZE, animeIds.size()));
+            Aggregation aggregation = Aggregation.newAggregation(
+                    Aggregation.match(Criteria.where("id").in(batch).and("studioId").ne(null)),
+                    totalsByStudio());
+            List<Document> totals = mongoTemplate.aggregate(aggregation, Anime.class, Document.class).getMappedResults();
+            if (totals.isEmpty()) {
+                continue;
+            }
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, StudioStatistics.class);
+            for (Document total : totals) {
+                bulk.upsert(Query.query(Criteria.where("studioId").is(total.getString("_id"))), new Update()
+                        .inc("animeCount", ((Number) total.get("animeCount")).longValue())
+                        .inc("ratedAnimeCount", ((Number) total.get("ratedAnimeCount")).longValue())
+                        .inc("ratingSum", ((Number) total.get("ratingSum")).doubleValue())
+                        .inc("totalViews", ((Number) total.get("totalViews")).longValue()));
+            }
+            bulk.execute();
+        }
+    }
+
+    @EventListener
+    public void onAnimeUpdated(AnimeUpdatedEvent event) {
+        Anime anime = event.anime();
+        if (Objects.equals(event.previousStudioId(), anime.getStudioId())) {
+            return;
+        }
+        Contribution contribution = Contribution.of(anime);
+        if (event.previousStudioId() != null) {
+            apply(event.previousStudioId(), contribution.negate(), false);
+        }
+        if (anime.getStudioId() != null) {
+            apply(anime.getStudioId(), contribution, true);
+        }
+    }
+
+    @EventListener
+    public void onAnimeDeleted(AnimeDeletedEvent event) {
+        Anime anime = event.anime();
+        if (anime.getStudioId() != null) {
+            apply(anime.getStudioId(), Contribution.of(anime).negate(), false);
+        }
+    }
+
+    @EventListener
+    public void onAnimeViewed(AnimeViewedEvent event) {
+        if (event.studioId() != null) {
+            mongoTemplate.updateFirst(Query.query(Criteria.where("studioId").is(event.studioId())),
+                    new Update().inc("totalViews", 1), StudioStatistics.class);
+        }
+    }
+
+    @EventListener
+    public void onStudioDeleted(StudioDeletedEvent event) {
+        studioStatisticsRepository.deleteById(event.studioId());
+    }
+
+    /**
+     * Recompute totals of every studio from the anime collection and overwrite drifted values
+     */
+    @Scheduled(fixedDelayString = "${app.stats.studio-reconcile-interval-ms:21600000}",
+            initialDelayString = "${app.stats.studio-reconcile-interval-ms:21600000}")
+    public int reconcile() {
+        long start = System.currentTimeMillis();
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("studioId").ne(null)),
+                totalsByStudio());
+        List<Document> totals = mongoTemplate.aggregate(aggregation, Anime.class, Document.class).getMappedResults();
+
+        LocalDateTime now = LocalDateTime.now();
+        List<String> studioIds = new ArrayList<>(totals.size());
+        if (!totals.isEmpty()) {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, StudioStatistics.class);
+            for (Document total : totals) {
+                String studioId = total.getString("_id");
+                studioIds.add(studioId);
+                bulk.upsert(Query.query(Criteria.where("studioId").is(studioId)), new Update()
+                        .set("animeCount", ((Number) total.get("animeCount")).longValue())
+                        .set("ratedAnimeCount", ((Number) total.get("ratedAnimeCount")).longValue())
+                        .set("ratingSum", ((Number) total.get("ratingSum")).doubleValue())
+                        .set("totalViews", ((Number) total.get("totalViews")).longValue())
+                        .set("rebuiltAt", now));
+            }
+            bulk.execute();
+        }
+        // Studios whose last anime was removed or moved away
+        mongoTemplate.remove(Query.query(Criteria.where("studioId").nin(studioIds)), StudioStatistics.class);
+
+        log.info("Studio statistics reconciled for {} studios in {} ms", studioIds.size(),
+                System.currentTimeMillis() - start);
+        return studioIds.size();
+    }
+
+    /**
+     * Build the statistics and drop the anime ID arrays stored on studios by earlier versions
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateStudioMembership() {
+        try {
+            Query legacy = Query.query(new Criteria().orOperator(
+                    Criteria.where("animeIds").exists(true), Criteria.where("animeCount").exists(true)));
+            boolean hasLegacyFields = mongoTemplate.exists(legacy, Studio.class);
+            boolean missingStatistics = mongoTemplate.estimatedCount(StudioStatistics.class) == 0
+                    && mongoTemplate.exists(Query.query(Criteria.where("studioId").ne(null)), Anime.class);
+            if (!hasLegacyFields && !missingStatistics) {
+                return;
+            }
+
+            log.info("Building studio statistics from the anime collection");
+            reconcile();
+            // Only dropped once the statistics exist, so an interrupted migration is simply repeated
+            long migrated = mongoTemplate.updateMulti(legacy, new Update().unset("animeIds").unset("animeCount"),
+                    Studio.class).getModifiedCount();
+            if (migrated > 0) {
+                log.info("Removed stored anime ID arrays from {} studios", migrated);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to migrate studio membership: {}", e.getMessage());
+        }
+    }
+
+    private static GroupOperation totalsByStudio() {
+        Criteria rated = Criteria.where("ratingCount").gt(0);
+        return Aggregation.group("studioId")
+                .count().as("animeCount")
+                .sum(ConditionalOperators.when(rated).then(1).otherwise(0)).as("ratedAnimeCount")
+                .sum(ConditionalOperators.when(rated).thenValueOf("rating").otherwise(0)).as("ratingSum")
+                .sum("viewCount").as("totalViews");
+    }
+
+    private void apply(String studioId, Contribution delta, boolean upsert) {
+        Update update = new Update()
+                .inc("animeCount", delta.anime())
+                .inc("ratedAnimeCount", delta.rated())
+                .inc("ratingSum", delta.ratingSum())
+                .inc("totalViews", delta.views());
+        Query query = Query.query(Criteria.where("studioId").is(studioId));
+        if (upsert) {
+            mongoTemplate.upsert(query, update, StudioStatistics.class);
+        } else {
+            mongoTemplate.updateFirst(query, update, StudioStatistics.class);
+        }
+    }
+
+    /**
+     * What one anime adds to its studio's totals
+     */
+    record Contribution(long anime, long rated, double ratingSum, long views) {
+
+        static Contribution of(Anime anime) {
+            Contribution rating = of(anime.getRating(), anime.getRatingCount(),
+                    anime.getViewCount() != null ? anime.getViewCount() : 0);
+            return new Contribution(1, rating.rated(), rating.ratingSum(), rating.views());
+        }
+
+        static Contribution of(Double rating, Integer ratingCount, long views) {
+            boolean isRated = ratingCount != null && ratingCount > 0 && rating != null;
+            return new Contribution(0, isRated ? 1 : 0, isRated ? rating : 0, views);
+        }
+
+        Contribution minus(Contribution other) {
+            return new Contribution(anime - other.anime, rated - other.rated,
+                    ratingSum - other.ratingSum, views - other.views);
+        }
+
+        Contribution negate() {
+            return new Contribution(-anime, -rated, -ratingSum, -views);
+        }
+    }
+}
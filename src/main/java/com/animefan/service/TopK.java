@@ -0,0 +1,85 @@
+package com.animefan.service;
+
+/**
+ * Fixed-capacity min-heap of (item, score) pairs on primitive arrays
+ */
+final class TopK {
+
+    private final int[] ids;
+    private final float[] scores;
+    private int size;
+
+    TopK(int capacity) {
+        ids = new int[capacity];
+        scores = new float[capacity];
+    }
+
+    int size() {
+        return size;
+    }
+
+    void offer(int id, float score) {
+        if (size < ids.length) {
+            ids[size] = id;
+            scores[size] = score;
+            siftUp(size++);
+        } else if (ids.length > 0 && score > scores[0]) {
+            ids[0] = id;
+            scores[0] = score;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Move the heap contents into the given arrays, best first, and reset the heap
+     */
+    void drainInto(int[] outIds, float[] outScores) {
+        for (int n = size - 1; n >= 0; n--) {
+            outIds[n] = ids[0];
+            outScores[n] = scores[0];
+            size--;
+            ids[0] = ids[size];
+            scores[0] = scores[size];
+            siftDown(0);
+        }
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (scores[parent] <= scores[index]) {
+                return;
+            }
+            swap(parent, index);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int smallest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && scores[left] < scores[smallest]) {
+                smallest = left;
+            }
+            if (right < size && scores[right] < scores[smallest]) {
+                smallest = right;
+            }
+            if (smallest == index) {
+                return;
+            }
+            swap(smallest, index);
+            index = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+        float score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+}
@@ -0,0 +1,142 @@
+package com.animefan.service;
+
+import com.animefan.event.AnimeDeletedEvent;
+import com.animefan.event.AnimeUpdatedEvent;
+import com.animefan.model.Anime;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * In-memory index of anime with enough ratings, ordered by rating.
+ * The sorted list is copy-on-write: rating changes rebuild a new list under a lock
+ * and publish it through a volatile field, so top-N reads are lock-free slices.
+ * Indexed anime are never modified once published; a changed anime is replaced by a freshly loaded instance.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TopRatedAnimeIndex {
+
+    static final Comparator<Anime> RANKING = Comparator
+            .comparing((Anime anime) -> anime.getRating() != null ? anime.getRating() : 0.0).reversed()
+            .thenComparing(anime -> anime.getRatingCount() != null ? anime.getRatingCount() : 0, Comparator.reverseOrder())
+            .thenComparing(Anime::getId);
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${app.top-anime.min-rating-count:10}")
+    private int minRatingCount = 10;
+
+    private volatile List<Anime> ranked = List.of();
+    private volatile boolean loaded;
+
+    /**
+     * Get top N anime by rating (memory read, loads the index on first use).
+     * The returned anime are shared with the index and other readers: callers must not modify them.
+     */
+    public List<Anime> getTop(int limit) {
+        if (!loaded) {
+            rebuild();
+        }
+        List<Anime> snapshot = ranked;
+        return snapshot.subList(0, Math.min(Math.max(limit, 0), snapshot.size()));
+    }
+
+    /**
+     * Reload the index from all anime with at least the minimum number of ratings
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        try {
+            Query query = Query.query(Criteria.where("ratingCount").gte(minRatingCount))
+                    .with(Sort.by(Sort.Direction.DESC, "rating"));
+            includeListedFields(query);
+            List<Anime> anime = new ArrayList<>(mongoTemplate.find(query, Anime.class));
+            anime.sort(RANKING);
+            ranked = Collections.unmodifiableList(anime);
+            loaded = true;
+            log.info("Top rated index loaded with {} anime", anime.size());
+        } catch (Exception e) {
+            log.warn("Failed to load top rated index: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Re-position an anime after its rating was recalculated
+     */
+    public void onRatingChanged(String animeId, double rating, int ratingCount) {
+        if (!loaded) {
+            return; // the first read loads current ratings
+        }
+        if (ratingCount < minRatingCount) {
+            replace(animeId, null);
+            return;
+        }
+        Anime anime = load(animeId);
+        if (anime != null) {
+            anime.setRating(rating);
+            anime.setRatingCount(ratingCount);
+        }
+        replace(animeId, anime);
+    }
+
+    @EventListener
+    public void onAnimeUpdated(AnimeUpdatedEvent event) {
+        if (loaded && ranked.stream().anyMatch(anime -> anime.getId().equals(event.anime().getId()))) {
+            replace(event.anime().getId(), load(event.anime().getId()));
+        }
+    }
+
+    @EventListener
+    public void onAnimeDeleted(AnimeDeletedEvent event) {
+        if (loaded) {
+            replace(event.anime().getId(), null);
+        }
+    }
+
+    private Anime load(String animeId) {
+        Query query = Query.query(Criteria.where("id").is(animeId));
+        includeListedFields(query);
+        return mongoTemplate.findOne(query, Anime.class);
+    }
+
+    /**
+     * Load only the fields the ranked lists display, not descriptions and relation arrays
+     */
+    private static void includeListedFields(Query query) {
+        query.fields().include("title").include("posterUrl").include("genres").include("rating")
+                .include("ratingCount").include("type").include("status").include("releaseYear")
+                .include("studioName");
+    }
+
+    /**
+     * Copy the current list without the anime and insert the new version at its ranked position
+     */
+    private synchronized void replace(String animeId, Anime anime) {
+        List<Anime> next = new ArrayList<>(ranked.size() + 1);
+        for (Anime existing : ranked) {
+            if (!Objects.equals(existing.getId(), animeId)) {
+                next.add(existing);
+            }
+        }
+        if (anime != null && anime.getRatingCount() != null && anime.getRatingCount() >= minRatingCount) {
+            int position = Collections.binarySearch(next, anime, RANKING);
+            next.add(position < 0 ? -position - 1 : position, anime);
+        }
+        ranked = Collections.unmodifiableList(next);
+    }
+}
@@ -1,22 +1,34 @@
 package com.animefan.service;
 
 import com.animefan.dto.UserAnimeRelationDTO;
+import com.animefan.event.UserAnimeRelationChangedEvent;
 import com.animefan.exception.ResourceNotFoundException;
 import com.animefan.model.Anime;
 import com.animefan.model.UserAnimeRelation;
+import com.animefan.model.UserStatistics;
 import com.animefan.repository.AnimeRepository;
 import com.animefan.repository.UserAnimeRelationRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Service for UserAnimeRelation business logic (user anime lists)
@@ -29,6 +41,9 @@ public class UserAnimeRelationService {
     private final UserAnimeRelationRepository relationRepository;
     private final AnimeRepository animeRepository;
     private final UserService userService;
+    private final UserStatsService userStatsService;
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Get all relations for user with pagination
@@ -95,6 +110,7 @@ public class UserAnimeRelationService {
                 .animeTitle(anime.getTitle())
                 .animePosterUrl(anime.getPosterUrl())
                 .animeRating(anime.getRating())
+                .animeGenres(anime.getGenres())
                 .status(dto.getStatus())
                 .userRating(dto.getUserRating())
                 .episodesWatched(dto.getEpisodesWatched() != null ? dto.getEpisodesWatched() : 0)
@@ -106,6 +122,7 @@ public class UserAnimeRelationService {
                 .build();
 
         UserAnimeRelation saved = relationRepository.save(relation);
+        eventPublisher.publishEvent(UserAnimeRelationChangedEvent.added(saved));
 
         // Update favorite count if needed
         if (saved.getFavorite()) {
@@ -134,8 +151,10 @@ public class UserAnimeRelationService {
             throw new SecurityException("You can only modify your own lists");
         }
 
-        boolean wasCompleted = relation.getStatus() == UserAnimeRelation.Status.COMPLETED;
+        UserAnimeRelation.Status previousStatus = relation.getStatus();
+        boolean wasCompleted = previousStatus == UserAnimeRelation.Status.COMPLETED;
         boolean wasFavorite = Boolean.TRUE.equals(relation.getFavorite());
+        Integer previousUserRating = relation.getUserRating();
 
         // Update fields
         if (dto.getStatus() != null) {
@@ -166,6 +185,9 @@ public class UserAnimeRelationService {
 
         // Handle favorite changes
         boolean nowFavorite = Boolean.TRUE.equals(updated.getFavorite());
+        eventPublisher.publishEvent(new UserAnimeRelationChangedEvent(userId, updated.getAnimeId(),
+                previousStatus, updated.getStatus(), wasFavorite, nowFavorite,
+                previousUserRating, updated.getUserRating()));
         if (wasFavorite != nowFavorite) {
             int delta = nowFavorite ? 1 : -1;
             animeRepository.updateFavoriteCount(relation.getAnimeId(), delta);
@@ -193,6 +215,7 @@ public class UserAnimeRelationService {
             throw new SecurityException("You can only modify your own lists");
         }
 
+        UserAnimeRelation.Status previousStatus = relation.getStatus();
         relation.setEpisodesWatched(episodesWatched);
 
         // Auto-complete if all episodes watched
@@ -203,6 +226,12 @@ public class UserAnimeRelationService {
         }
 
         relationRepository.save(relation);
+
+        if (relation.getStatus() != previousStatus) {
+            boolean favorite = Boolean.TRUE.equals(relation.getFavorite());
+            eventPublisher.publishEvent(new UserAnimeRelationChangedEvent(userId, relation.getAnimeId(),
+                    previousStatus, relation.getStatus(), favorite, favorite, relation.getUserRating()));
+        }
     }
 
     /**
@@ -218,6 +247,8 @@ public class UserAnimeRelationService {
             boolean newFavorite = !Boolean.TRUE.equals(relation.getFavorite());
             relation.setFavorite(newFavorite);
             relationRepository.save(relation);
+            eventPublisher.publishEvent(new UserAnimeRelationChangedEvent(userId, animeId,
+                    relation.getStatus(), relation.getStatus(), !newFavorite, newFavorite, relation.getUserRating()));
 
             int delta = newFavorite ? 1 : -1;
             animeRepository.updateFavoriteCount(animeId, delta);
@@ -233,13 +264,15 @@ public class UserAnimeRelationService {
                     .animeTitle(anime.getTitle())
                     .animePosterUrl(anime.getPosterUrl())
                     .animeRating(anime.getRating())
+                    .animeGenres(anime.getGenres())
                     .status(UserAnimeRelation.Status.PLAN_TO_WATCH)
                     .favorite(true)
                     .episodesWatched(0)
                     .totalEpisodes(anime.getEpisodeCount())
                     .build();
 
-            relationRepository.save(relation);
+            UserAnimeRelation saved = relationRepository.save(relation);
+            eventPublisher.publishEvent(UserAnimeRelationChangedEvent.added(saved));
             animeRepository.updateFavoriteCount(animeId, 1);
             userService.incrementFavoriteCount(userId, 1);
         }
@@ -264,6 +297,7 @@ public class UserAnimeRelationService {
         }
 
         relationRepository.deleteById(relationId);
+        eventPublisher.publishEvent(UserAnimeRelationChangedEvent.removed(relation));
     }
 
     /**
@@ -284,6 +318,7 @@ public class UserAnimeRelationService {
             }
 
             relationRepository.delete(relation);
+            eventPublisher.publishEvent(UserAnimeRelationChangedEvent.removed(relation));
         }
     }
 
@@ -295,10 +330,48 @@ public class UserAnimeRelationService {
     }
 
     /**
-     * Get user's genre preferences
+     * Get user's genre preferences (served from the precomputed affinity vector)
      */
     public List<UserAnimeRelationRepository.GenrePreference> getUserGenrePreferences(String userId) {
-        return relationRepository.getUserGenrePreferences(userId);
+        return userStatsService.getGenrePreferences(userId, 10);
+    }
+
+    /**
+     * Fill denormalized genres on list entries created before they were stored, one anime at a time.
+     * Entries of anime that no longer exist get an empty genre list, so they are not looked at again.
+     * Later genre changes are copied by DenormalizationService.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillAnimeGenres() {
+        try {
+            Query missing = Query.query(Criteria.where("animeGenres").exists(false));
+            if (!mongoTemplate.exists(missing, UserAnimeRelation.class)) {
+                return;
+            }
+            List<String> animeIds = mongoTemplate.findDistinct(missing, "animeId", UserAnimeRelation.class, String.class);
+
+            log.info("Backfilling genres on list entries for {} anime", animeIds.size());
+            Set<String> orphaned = new HashSet<>(animeIds);
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, UserAnimeRelation.class);
+            for (Anime anime : animeRepository.findAllById(animeIds)) {
+                orphaned.remove(anime.getId());
+                bulk.updateMulti(Query.query(Criteria.where("animeId").is(anime.getId())),
+                        Update.update("animeGenres", anime.getGenres() != null ? anime.getGenres() : List.of()));
+            }
+            if (orphaned.size() < animeIds.size()) {
+                bulk.execute();
+                // Vectors computed before the backfill missed these entries
+                mongoTemplate.updateMulti(new Query(), new Update().unset("genreAffinity"), UserStatistics.class);
+            }
+            if (!orphaned.isEmpty()) {
+                long marked = mongoTemplate.updateMulti(Query.query(Criteria.where("animeId").in(orphaned)
+                                .and("animeGenres").exists(false)),
+                        Update.update("animeGenres", List.of()), UserAnimeRelation.class).getModifiedCount();
+                log.info("Marked {} list entries of {} deleted anime as having no genres", marked, orphaned.size());
+            }
+        } catch (Exception e) {
+            log.warn("Failed to backfill genres on list entries: {}", e.getMessage());
+        }
     }
 
     /**
@@ -0,0 +1,60 @@
+package com.animefan.service;
+
+import com.animefan.event.UserDeletedEvent;
+import com.animefan.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Bounded cache of loaded users for form login and remember-me authentication, keyed by username.
+ * Entries expire a fixed time after loading; UserService evicts a user as soon as anything
+ * authentication depends on changes (password, role, enabled flag, email).
+ */
+@Component
+public class UserDetailsCache implements UserCache {
+
+    private final Cache<String, UserDetails> users;
+
+    public UserDetailsCache(@Value("${app.security.user-cache-size:10000}") long cacheSize,
+                            @Value("${app.security.user-cache-ttl-seconds:300}") long cacheTtlSeconds) {
+        this.users = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+                .build();
+    }
+
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        return users.getIfPresent(username);
+    }
+
+    @Override
+    public void putUserInCache(UserDetails user) {
+        users.put(user.getUsername(), user);
+    }
+
+    @Override
+    public void removeUserFromCache(String username) {
+        users.invalidate(username);
+    }
+
+    /**
+     * The deletion event only carries the ID, so the entry is found by scanning
+     */
+    @EventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        users.asMap().values().removeIf(user -> user instanceof User cached && event.userId().equals(cached.getId()));
+    }
+
+    long size() {
+        users.cleanUp();
+        return users.estimatedSize();
+    }
+}
@@ -1,16 +1,26 @@
 package com.animefan.service;
 
 import com.animefan.dto.UserDTO;
+import com.animefan.event.UserDeletedEvent;
+import com.animefan.event.UserProfileUpdatedEvent;
+import com.animefan.event.UserRegisteredEvent;
+import com.animefan.event.UserReviewCount;
 import com.animefan.exception.ResourceNotFoundException;
 import com.animefan.exception.ValidationException;
 import com.animefan.model.User;
 import com.animefan.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -29,6 +39,9 @@ public class UserService implements UserDetailsService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserDetailsCache userDetailsCache;
+    private final MongoTemplate mongoTemplate;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
@@ -96,7 +109,9 @@ public class UserService implements UserDetailsService {
                 .favoriteCount(0)
                 .build();
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(new UserRegisteredEvent(saved));
+        return saved;
     }
 
     /**
@@ -106,6 +121,7 @@ public class UserService implements UserDetailsService {
         log.info("Updating user profile: {}", userId);
 
         User user = getUserById(userId);
+        String previousAvatarUrl = user.getAvatarUrl();
 
         // Update fields
         if (userDTO.getDisplayName() != null) {
@@ -118,7 +134,9 @@ public class UserService implements UserDetailsService {
             user.setBio(userDTO.getBio());
         }
 
-        return userRepository.save(user);
+        User saved = saveAndEvict(user);
+        eventPublisher.publishEvent(new UserProfileUpdatedEvent(saved, previousAvatarUrl));
+        return saved;
     }
 
     /**
@@ -126,7 +144,7 @@ public class UserService implements UserDetailsService {
      */
     public User saveUser(User user) {
         log.info("Saving user: {}", user.getId());
-        return userRepository.save(user);
+        return saveAndEvict(user);
     }
 
     /**
@@ -141,7 +159,7 @@ public class UserService implements UserDetailsService {
 
         User user = getUserById(userId);
         user.setEmail(newEmail);
-        return userRepository.save(user);
+        return saveAndEvict(user);
     }
 
     /**
@@ -157,7 +175,7 @@ public class UserService implements UserDetailsService {
         }
 
         user.setPassword(passwordEncoder.encode(newPassword));
-        userRepository.save(user);
+        saveAndEvict(user);
     }
 
     /**
@@ -168,7 +186,7 @@ public class UserService implements UserDetailsService {
 
         User user = getUserById(userId);
         user.setRole(role);
-        return userRepository.save(user);
+        return saveAndEvict(user);
     }
 
     /**
@@ -179,7 +197,7 @@ public class UserService implements UserDetailsService {
 
         User user = getUserById(userId);
         user.setEnabled(enabled);
-        return userRepository.save(user);
+        return saveAndEvict(user);
     }
 
     /**
@@ -193,6 +211,7 @@ public class UserService implements UserDetailsService {
         }
 
         userRepository.deleteById(userId);
+        eventPublisher.publishEvent(new UserDeletedEvent(userId));
     }
 
     /**
@@ -220,10 +239,19 @@ public class UserService implements UserDetailsService {
     }
 
     /**
-     * Increment review count
+     * Increment review count; returns the new count and its version, or null for an unknown user
      */
-    public void incrementReviewCount(String userId, int delta) {
-        userRepository.incrementReviewCount(userId, delta);
+    public UserReviewCount incrementReviewCount(String userId, int delta) {
+        Query query = Query.query(Criteria.where("id").is(userId));
+        query.fields().include("reviewCount").include("reviewCountVersion");
+        User updated = mongoTemplate.findAndModify(query,
+                new Update().inc("reviewCount", delta).inc("reviewCountVersion", 1),
+                FindAndModifyOptions.options().returnNew(true), User.class);
+        if (updated == null) {
+            return null;
+        }
+        return new UserReviewCount(updated.getReviewCount() != null ? updated.getReviewCount() : 0,
+                updated.getReviewCountVersion() != null ? updated.getReviewCountVersion() : 0);
     }
 
     /**
@@ -272,7 +300,7 @@ public class UserService implements UserDetailsService {
         user.setEnabled(true);
         user.setVerificationToken(null);
         user.setVerificationTokenExpiry(null);
-        userRepository.save(user);
+        saveAndEvict(user);
     }
 
     /**
@@ -311,6 +339,15 @@ public class UserService implements UserDetailsService {
         user.setPassword(passwordEncoder.encode(newPassword));
         user.setPasswordResetToken(null);
         user.setPasswordResetTokenExpiry(null);
-        userRepository.save(user);
+        saveAndEvict(user);
+    }
+
+    /**
+     * Save a change that affects authentication, so the next login loads the user again
+     */
+    private User saveAndEvict(User user) {
+        User saved = userRepository.save(user);
+        userDetailsCache.removeUserFromCache(saved.getUsername());
+        return saved;
     }
 }
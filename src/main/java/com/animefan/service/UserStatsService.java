@@ -0,0 +1,216 @@
+package com.animefan.service;
+
+import com.animefan.event.ReviewCreatedEvent;
+import com.animefan.event.ReviewDeletedEvent;
+import com.animefan.event.UserAnimeRelationChangedEvent;
+import com.animefan.event.UserDeletedEvent;
+import com.animefan.model.Anime;
+import com.animefan.model.GenreAffinity;
+import com.animefan.model.ListCounters;
+import com.animefan.model.UserAnimeRelation;
+import com.animefan.model.UserStatistics;
+import com.animefan.repository.ReviewRepository;
+import com.animefan.repository.UserAnimeRelationRepository;
+import com.animefan.repository.UserStatisticsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains per-user list counters and genre affinity in the user_stats collection.
+ * List and review writes apply atomic $inc updates; a missing or inconsistent
+ * document is rebuilt with a single $group pass over the user's relations.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserStatsService {
+
+    private final UserStatisticsRepository userStatisticsRepository;
+    private final UserAnimeRelationRepository relationRepository;
+    private final ReviewRepository reviewRepository;
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Get counters for user (one read by _id, rebuilt on demand)
+     */
+    public UserStatistics getUserStatistics(String userId) {
+        return userStatisticsRepository.findById(userId)
+                .filter(stats -> stats.getCounters() != null && stats.getCounters().isConsistent())
+                .orElseGet(() -> rebuild(userId));
+    }
+
+    /**
+     * Recompute counters from source collections and overwrite the stored document
+     */
+    public UserStatistics rebuild(String userId) {
+        log.info("Rebuilding list statistics for user: {}", userId);
+
+        ListCounters counters = relationRepository.countListEntries("userId", List.of(userId))
+                .getOrDefault(userId, new ListCounters());
+        counters.setReviews(reviewRepository.countByUserId(userId));
+
+        return userStatisticsRepository.save(UserStatistics.builder()
+                .userId(userId)
+                .counters(counters)
+                .rebuiltAt(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * Get the user's top genres over completed anime (one read, computed once on demand)
+     */
+    public List<UserAnimeRelationRepository.GenrePreference> getGenrePreferences(String userId, int limit) {
+        Map<String, GenreAffinity> affinity = getUserStatistics(userId).getGenreAffinity();
+        if (affinity == null) {
+            affinity = relationRepository.computeGenreAffinity(userId);
+            mongoTemplate.updateFirst(Query.query(Criteria.where("userId").is(userId)),
+                    Update.update("genreAffinity", affinity), UserStatistics.class);
+        }
+        return affinity.entrySet().stream()
+                .filter(entry -> entry.getValue().getCount() > 0)
+                .sorted(Map.Entry.<String, GenreAffinity>comparingByValue(
+                        Comparator.comparingLong(GenreAffinity::getCount)).reversed())
+                .limit(limit)
+                .map(entry -> (UserAnimeRelationRepository.GenrePreference) new GenrePreferenceView(
+                        entry.getKey(), entry.getValue().getCount(), entry.getValue().getAvgRating()))
+                .toList();
+    }
+
+    /**
+     * Drop stored genre affinity so it is recomputed on the next read
+     */
+    public void invalidateGenreAffinity(Collection<String> userIds) {
+        if (!userIds.isEmpty()) {
+            mongoTemplate.updateMulti(Query.query(Criteria.where("userId").in(userIds)),
+                    new Update().unset("genreAffinity"), UserStatistics.class);
+        }
+    }
+
+    @EventListener
+    public void onRelationChanged(UserAnimeRelationChangedEvent event) {
+        Update update = ListCounterUpdates.forRelationChange(event);
+        if (update != null) {
+            increment(event.userId(), update);
+        }
+        updateGenreAffinity(event);
+    }
+
+    @EventListener
+    public void onReviewCreated(ReviewCreatedEvent event) {
+        increment(event.review().getUserId(), ListCounterUpdates.reviews(1));
+    }
+
+    @EventListener
+    public void onReviewDeleted(ReviewDeletedEvent event) {
+        increment(event.review().getUserId(), ListCounterUpdates.reviews(-1));
+    }
+
+    @EventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        userStatisticsRepository.deleteById(event.userId());
+    }
+
+    /**
+     * Move the anime's genres in or out of the affinity vector when it enters or leaves COMPLETED,
+     * or when its personal rating changes while completed. Only applies to an already computed vector.
+     */
+    private void updateGenreAffinity(UserAnimeRelationChangedEvent event) {
+        boolean wasCompleted = event.previousStatus() == UserAnimeRelation.Status.COMPLETED;
+        boolean isCompleted = event.status() == UserAnimeRelation.Status.COMPLETED;
+        if (!wasCompleted && !isCompleted || wasCompleted && isCompleted && !event.userRatingChanged()) {
+            return;
+        }
+
+        Query animeQuery = Query.query(Criteria.where("id").is(event.animeId()));
+        animeQuery.fields().include("genres");
+        Anime anime = mongoTemplate.findOne(animeQuery, Anime.class);
+        if (anime == null || anime.getGenres() == null || anime.getGenres().isEmpty()) {
+            return;
+        }
+
+        Map<String, Long> deltas = new HashMap<>();
+        for (String genre : new HashSet<>(anime.getGenres())) {
+            if (genre.contains(".") || genre.startsWith("$")) {
+                continue;
+            }
+            String prefix = "genreAffinity." + genre + ".";
+            if (wasCompleted) {
+                deltas.merge(prefix + "count", -1L, Long::sum);
+                if (event.previousUserRating() != null) {
+                    deltas.merge(prefix + "ratingSum", (long) -event.previousUserRating(), Long::sum);
+                    deltas.merge(prefix + "ratedCount", -1L, Long::sum);
+                }
+            }
+            if (isCompleted) {
+                deltas.merge(prefix + "count", 1L, Long::sum);
+                if (event.userRating() != null) {
+                    deltas.merge(prefix + "ratingSum", (long) event.userRating(), Long::sum);
+                    deltas.merge(prefix + "ratedCount", 1L, Long::sum);
+                }
+            }
+        }
+        Update update = new Update();
+        deltas.forEach((field, delta) -> {
+            if (delta != 0) {
+                update.inc(field, delta);
+            }
+        });
+        if (update.getUpdateObject().isEmpty()) {
+            return;
+        }
+
+        try {
+            mongoTemplate.updateFirst(Query.query(Criteria.where("userId").is(event.userId())
+                    .and("genreAffinity").exists(true)), update, UserStatistics.class);
+        } catch (Exception e) {
+            log.warn("Failed to update genre affinity for user {}: {}", event.userId(), e.getMessage());
+            invalidateGenreAffinity(List.of(event.userId()));
+        }
+    }
+
+    /**
+     * Apply an increment to an existing document only. If the user has no document yet,
+     * the next read rebuilds it from the source collections, which already include this change.
+     */
+    private void increment(String userId, Update update) {
+        try {
+            mongoTemplate.updateFirst(Query.query(Criteria.where("userId").is(userId)), update, UserStatistics.class);
+        } catch (Exception e) {
+            log.warn("Failed to update statistics for user {}, dropping document for rebuild: {}", userId, e.getMessage());
+            userStatisticsRepository.deleteById(userId);
+        }
+    }
+
+    private record GenrePreferenceView(String id, Long count, Double avgRating)
+            implements UserAnimeRelationRepository.GenrePreference {
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public Long getCount() {
+            return count;
+        }
+
+        @Override
+        public Double getAvgRating() {
+            return avgRating;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.animefan.service;
+
+import com.animefan.dto.WatchProgressDTO;
+import com.animefan.event.AnimeDeletedEvent;
+import com.animefan.event.UserDeletedEvent;
+import com.animefan.model.WatchProgress;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-episode playback positions for resuming playback.
+ * Player heartbeats only update memory: the latest position per user and episode
+ * overwrites the previous one in a pending map, which is periodically flushed to
+ * watch_progress with one bulk upsert per batch, so a viewer sending a heartbeat
+ * every few seconds costs at most one write per flush interval. Resume lookups are
+ * served from a bounded in-memory cache that also holds the unflushed positions.
+ */
+@Slf4j
+@Service
+public class WatchProgressService {
+
+    private static final int WRITE_BATCH_SIZE = 1000;
+    // Positions this close to the end count as finished, so playback restarts from the beginning
+    private static final double COMPLETED_RATIO = 0.9;
+    // Cached for episodes the user never played, so repeated lookups stay in memory
+    private static final Position NOT_PLAYED = new Position(-1, null, null);
+
+    private final MongoTemplate mongoTemplate;
+
+    private final Map<ProgressKey, Position> pending = new ConcurrentHashMap<>();
+    private final Cache<ProgressKey, Position> latest;
+
+    public WatchProgressService(MongoTemplate mongoTemplate,
+                                @Value("${app.watch-progress.cache-size:100000}") long cacheSize,
+                                @Value("${app.watch-progress.cache-ttl-minutes:360}") long cacheTtlMinutes) {
+        this.mongoTemplate = mongoTemplate;
+        this.latest = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterAccess(Duration.ofMinutes(cacheTtlMinutes))
+                .build();
+    }
+
+    /**
+     * Record the current playback position; written to the database on the next flush
+     */
+    public void heartbeat(String userId, WatchProgressDTO heartbeat) {
+        ProgressKey key = new ProgressKey(userId, heartbeat.getAnimeId(), heartbeat.getEpisode());
+        Position position = new Position(heartbeat.getPosition(), heartbeat.getDuration(), LocalDateTime.now());
+        latest.put(key, position);
+        pending.put(key, position);
+    }
+
+    /**
+     * Where to resume the episode, or empty if the user has not played it
+     */
+    public Optional<WatchProgressDTO> getResumePosition(String userId, String animeId, int episode) {
+        ProgressKey key = new ProgressKey(userId, animeId, episode);
+        Position position = latest.get(key, this::load);
+        if (position == NOT_PLAYED) {
+            return Optional.empty();
+        }
+        boolean completed = position.duration() != null && position.duration() > 0
+                && position.seconds() >= position.duration() * COMPLETED_RATIO;
+        return Optional.of(WatchProgressDTO.builder()
+                .animeId(animeId)
+                .episode(episode)
+                .position(completed ? 0 : position.seconds())
+                .duration(position.duration())
+                .completed(completed)
+                .updatedAt(position.updatedAt())
+                .build());
+    }
+
+    /**
+     * Write pending positions in bulk; positions that fail to write are kept for the next flush
+     */
+    @Scheduled(fixedDelayString = "${app.watch-progress.flush-interval-ms:10000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<ProgressKey> batch = new ArrayList<>(WRITE_BATCH_SIZE);
+        List<Position> positions = new ArrayList<>(WRITE_BATCH_SIZE);
+        int written = 0;
+        for (ProgressKey key : pending.keySet()) {
+            // A heartbeat arriving after this removal stays pending for the next flush
+            Position position = pending.remove(key);
+            if (position == null) {
+                continue;
+            }
+            batch.add(key);
+            positions.add(position);
+            if (batch.size() == WRITE_BATCH_SIZE) {
+                written += write(batch, positions);
+                batch.clear();
+                positions.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            written += write(batch, positions);
+        }
+        log.debug("Flushed {} watch positions", written);
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    @EventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        pending.keySet().removeIf(key -> key.userId().equals(event.userId()));
+        latest.asMap().keySet().removeIf(key -> key.userId().equals(event.userId()));
+        mongoTemplate.remove(Query.query(Criteria.where("userId").is(event.userId())), WatchProgress.class);
+    }
+
+    @EventListener
+    public void onAnimeDeleted(AnimeDeletedEvent event) {
+        String animeId = event.anime().getId();
+        pending.keySet().removeIf(key -> key.animeId().equals(animeId));
+        latest.asMap().keySet().removeIf(key -> key.animeId().equals(animeId));
+        mongoTemplate.remove(Query.query(Criteria.where("animeId").is(animeId)), WatchProgress.class);
+    }
+
+    int pendingCount() {
+        return pending.size();
+    }
+
+    private int write(List<ProgressKey> keys, List<Position> positions) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, WatchProgress.class);
+        for (int i = 0; i < keys.size(); i++) {
+            ProgressKey key = keys.get(i);
+            Position position = positions.get(i);
+            bulk.upsert(Query.query(Criteria.where("id").is(WatchProgress.progressId(key.userId(), key.animeId(), key.episode()))),
+                    new Update()
+                            .set("position", position.seconds())
+                            .set("duration", position.duration())
+                            .set("updatedAt", position.updatedAt())
+                            .setOnInsert("userId", key.userId())
+                            .setOnInsert("animeId", key.animeId())
+                            .setOnInsert("episode", key.episode()));
+        }
+        try {
+            bulk.execute();
+            return keys.size();
+        } catch (Exception e) {
+            log.warn("Failed to flush {} watch positions: {}", keys.size(), e.getMessage());
+            for (int i = 0; i < keys.size(); i++) {
+                // A newer heartbeat that arrived meanwhile wins over the failed one
+                pending.putIfAbsent(keys.get(i), positions.get(i));
+            }
+            return 0;
+        }
+    }
+
+    private Position load(ProgressKey key) {
+        WatchProgress stored = mongoTemplate.findById(
+                WatchProgress.progressId(key.userId(), key.animeId(), key.episode()), WatchProgress.class);
+        return stored != null ? new Position(stored.getPosition(), stored.getDuration(), stored.getUpdatedAt()) : NOT_PLAYED;
+    }
+
+    private record ProgressKey(String userId, String animeId, int episode) {
+    }
+
+    private record Position(int seconds, Integer duration, LocalDateTime updatedAt) {
+    }
+}
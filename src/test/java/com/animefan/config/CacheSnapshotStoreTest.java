@@ -0,0 +1,122 @@
+package com.animefan.config;
+
+import com.animefan.model.Anime;
+import com.animefan.model.Review;
+import com.animefan.model.Studio;
+import com.animefan.model.User;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheSnapshotStoreTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @TempDir
+    private Path dir;
+
+    private Path snapshot;
+    private CaffeineCacheManager cacheManager;
+    private CacheSnapshotStore snapshotStore;
+
+    @BeforeEach
+    void setUp() {
+        snapshot = dir.resolve("cache-snapshot.bin");
+        snapshotStore = restartedStore();
+        stubCounts(10);
+    }
+
+    @Test
+    @DisplayName("Should restore cache entries written on shutdown and delete the snapshot")
+    void restore_RoundTrip() {
+        cacheManager.getCache("genres").put("all", List.of("Action", "Drama"));
+
+        snapshotStore.save();
+        assertTrue(Files.exists(snapshot));
+
+        CacheSnapshotStore restoring = restartedStore();
+        Set<String> restored = restoring.restore();
+
+        assertEquals(Set.of("genres"), restored);
+        assertEquals(List.of("Action", "Drama"), cacheManager.getCache("genres").get("all").get());
+        assertFalse(Files.exists(snapshot));
+    }
+
+    @Test
+    @DisplayName("Should discard a snapshot whose data version no longer matches the database")
+    void restore_StaleDataVersion() {
+        cacheManager.getCache("genres").put("all", List.of("Action"));
+        snapshotStore.save();
+
+        stubCounts(11);
+        CacheSnapshotStore restoring = restartedStore();
+
+        assertTrue(restoring.restore().isEmpty());
+        assertNull(cacheManager.getCache("genres").get("all"));
+        assertFalse(Files.exists(snapshot));
+    }
+
+    @Test
+    @DisplayName("Should reject a snapshot holding classes outside the allow list")
+    void restore_RejectsUnexpectedClasses() {
+        cacheManager.getCache("genreStats").put("all", new Document(Map.of("Action", 3)));
+        snapshotStore.save();
+
+        CacheSnapshotStore restoring = restartedStore();
+
+        assertTrue(restoring.restore().isEmpty());
+        assertNull(cacheManager.getCache("genreStats").get("all"));
+        assertFalse(Files.exists(snapshot));
+    }
+
+    @Test
+    @DisplayName("Should neither write nor read a snapshot when disabled")
+    void disabled_DoesNothing() {
+        ReflectionTestUtils.setField(snapshotStore, "enabled", false);
+        cacheManager.getCache("genres").put("all", List.of("Action"));
+
+        snapshotStore.save();
+
+        assertFalse(Files.exists(snapshot));
+        assertTrue(snapshotStore.restore().isEmpty());
+    }
+
+    /**
+     * A store over fresh, empty caches using the same snapshot file
+     */
+    private CacheSnapshotStore restartedStore() {
+        cacheManager = new CaffeineCacheManager();
+        cacheManager.setCacheNames(List.of("genreStats", "genres"));
+        CacheSnapshotStore store = new CacheSnapshotStore(cacheManager, mongoTemplate);
+        ReflectionTestUtils.setField(store, "enabled", true);
+        ReflectionTestUtils.setField(store, "snapshotPath", snapshot.toString());
+        ReflectionTestUtils.setField(store, "maxAgeMinutes", 30L);
+        return store;
+    }
+
+    private void stubCounts(long animeCount) {
+        lenient().when(mongoTemplate.estimatedCount(Anime.class)).thenReturn(animeCount);
+        lenient().when(mongoTemplate.estimatedCount(User.class)).thenReturn(5L);
+        lenient().when(mongoTemplate.estimatedCount(Review.class)).thenReturn(20L);
+        lenient().when(mongoTemplate.estimatedCount(Studio.class)).thenReturn(2L);
+    }
+}
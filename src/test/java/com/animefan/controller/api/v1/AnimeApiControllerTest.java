@@ -2,6 +2,8 @@ package com.animefan.controller.api.v1;
 
 import com.animefan.model.Anime;
 import com.animefan.service.AnimeService;
+import com.animefan.service.ChangeFeedService;
+import com.animefan.service.EpisodeService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -36,6 +38,12 @@ class AnimeApiControllerTest {
     @MockBean
     private AnimeService animeService;
 
+    @MockBean
+    private ChangeFeedService changeFeedService;
+
+    @MockBean
+    private EpisodeService episodeService;
+
     private Anime testAnime;
 
     @BeforeEach
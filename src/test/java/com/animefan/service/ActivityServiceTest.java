@@ -0,0 +1,93 @@
+package com.animefan.service;
+
+import com.animefan.event.UserAnimeRelationChangedEvent;
+import com.animefan.model.ActivityBucket;
+import com.animefan.model.ActivityBucket.Granularity;
+import com.animefan.model.ActivityBucket.Metric;
+import com.animefan.model.UserAnimeRelation;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ActivityServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @InjectMocks
+    private ActivityService activityService;
+
+    @Test
+    @DisplayName("Should serve minute series from memory")
+    void getSeries_MinutesFromMemory() {
+        activityService.record(Metric.REVIEWS);
+        activityService.record(Metric.REVIEWS);
+        activityService.record(Metric.VIEWS);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<ActivityService.ActivityPoint> series =
+                activityService.getSeries(Metric.REVIEWS, Granularity.MINUTE, now.minusMinutes(10), now.plusMinutes(1));
+
+        assertEquals(2, series.stream().mapToLong(ActivityService.ActivityPoint::count).sum());
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    @DisplayName("Should roll closed minutes into hourly and daily buckets with one bulk write")
+    void flushBefore_RollsUpIntoBuckets() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ActivityBucket.class)).thenReturn(bulkOperations);
+        activityService.onRelationChanged(new UserAnimeRelationChangedEvent("u1", "a1",
+                null, UserAnimeRelation.Status.WATCHING, false, false, null));
+        activityService.onRelationChanged(new UserAnimeRelationChangedEvent("u1", "a1",
+                UserAnimeRelation.Status.WATCHING, UserAnimeRelation.Status.COMPLETED, false, false, null));
+
+        activityService.flushBefore(LocalDateTime.now().plusMinutes(1));
+
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(bulkOperations, times(2)).upsert(any(Query.class), updates.capture());
+        verify(bulkOperations).execute();
+        int hour = LocalDateTime.now().getHour();
+        assertTrue(updates.getAllValues().stream()
+                .map(update -> (Document) update.getUpdateObject().get("$inc"))
+                .anyMatch(inc -> Long.valueOf(1).equals(inc.get("slots." + hour))));
+    }
+
+    @Test
+    @DisplayName("Should expand stored hourly buckets into a zero-filled series")
+    void getSeries_HoursFromBuckets() {
+        LocalDateTime day = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS).minusDays(2);
+        ActivityBucket bucket = ActivityBucket.builder()
+                .metric(Metric.VIEWS).granularity(Granularity.HOUR).start(day)
+                .slots(Map.of("3", 5L, "4", 7L)).build();
+        when(mongoTemplate.find(any(Query.class), eq(ActivityBucket.class))).thenReturn(List.of(bucket));
+
+        List<ActivityService.ActivityPoint> series =
+                activityService.getSeries(Metric.VIEWS, Granularity.HOUR, day, day.plusHours(6));
+
+        assertEquals(6, series.size());
+        assertEquals(List.of(0L, 0L, 0L, 5L, 7L, 0L),
+                series.stream().map(ActivityService.ActivityPoint::count).toList());
+    }
+}
@@ -0,0 +1,143 @@
+package com.animefan.service;
+
+import com.animefan.dto.BulkImportResultDTO;
+import com.animefan.event.AnimeBulkImportedEvent;
+import com.animefan.model.Anime;
+import com.animefan.model.ImportJob;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AnimeImportServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    private AnimeImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        importService = new AnimeImportService(mongoTemplate, new ObjectMapper().findAndRegisterModules(), eventPublisher);
+        ReflectionTestUtils.setField(importService, "chunkSize", 2);
+        ReflectionTestUtils.setField(importService, "validationThreads", 2);
+        when(mongoTemplate.find(any(Query.class), eq(Anime.class)))
+                .thenReturn(List.of(Anime.builder().title("Existing").build()));
+        lenient().when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(Anime.class))).thenReturn(bulkOperations);
+        lenient().when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+    }
+
+    @Test
+    @DisplayName("Should insert valid anime in chunked bulk writes, skip duplicates and publish one event")
+    void importJson_ChunksAndSkipsDuplicates() {
+        String json = """
+                [
+                  {"title": "First", "description": "A long enough description", "genres": ["Action"]},
+                  {"title": "Existing", "description": "A long enough description", "genres": ["Drama"]},
+                  {"title": "Second", "description": "short", "genres": ["Drama"]},
+                  {"title": "Third", "description": "A long enough description", "genres": ["Drama"]},
+                  {"title": "First", "description": "A long enough description", "genres": ["Action"]}
+                ]
+                """;
+
+        BulkImportResultDTO result = importService.importJson(new StringReader(json), true);
+
+        assertEquals(List.of("First", "Third"), result.getImportedTitles());
+        assertEquals(2, result.getSkippedCount());
+        assertEquals(1, result.getErrorCount());
+
+        ArgumentCaptor<List<Anime>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(bulkOperations, times(2)).insert(inserted.capture());
+        assertEquals("TV", inserted.getAllValues().get(0).get(0).getType());
+        assertNotNull(inserted.getAllValues().get(0).get(0).getId());
+
+        ArgumentCaptor<AnimeBulkImportedEvent> event = ArgumentCaptor.forClass(AnimeBulkImportedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(event.capture());
+        assertEquals(2, event.getValue().animeIds().size());
+    }
+
+    @Test
+    @DisplayName("Should keep entries parsed before a syntax error and report the error")
+    void importJson_MalformedInput() {
+        String json = """
+                [
+                  {"title": "First", "description": "A long enough description", "genres": ["Action"]},
+                  {"title": "Broken", "description":
+                """;
+
+        BulkImportResultDTO result = importService.importJson(new StringReader(json), true);
+
+        assertEquals(List.of("First"), result.getImportedTitles());
+        assertEquals(1, result.getErrorCount());
+        assertTrue(result.getErrors().get(0).startsWith("Ошибка парсинга JSON"));
+    }
+
+    @Test
+    @DisplayName("Should skip committed entries on resume and report a checkpoint per chunk")
+    void importEntries_ResumesAfterCheckpoint() {
+        String json = """
+                [
+                  {"title": "First", "description": "A long enough description", "genres": ["Action"]},
+                  {"title": "Second", "description": "A long enough description", "genres": ["Drama"]},
+                  {"title": "Third", "description": "A long enough description", "genres": ["Drama"]}
+                ]
+                """;
+        BulkImportResultDTO previous = BulkImportResultDTO.builder().successCount(1).build();
+        List<Integer> checkpoints = new ArrayList<>();
+
+        BulkImportResultDTO result = importService.importEntries(ImportJob.Format.JSON, new StringReader(json), true,
+                1, previous, (processed, progress) -> checkpoints.add(processed));
+
+        assertEquals(List.of("Second", "Third"), result.getImportedTitles());
+        assertEquals(3, result.getSuccessCount());
+        assertEquals(List.of(3), checkpoints);
+    }
+
+    @Test
+    @DisplayName("Should parse the quick format and report malformed lines")
+    void importEntries_QuickFormat() {
+        String lines = """
+                Naruto | История о ниндзя, который мечтает стать Хокаге | Action, Shounen | 2002 | tv | completed
+
+                Broken line
+                """;
+
+        BulkImportResultDTO result = importService.importEntries(ImportJob.Format.QUICK, new StringReader(lines), true,
+                0, new BulkImportResultDTO(), null);
+
+        assertEquals(List.of("Naruto"), result.getImportedTitles());
+        assertEquals(1, result.getErrorCount());
+        assertTrue(result.getErrors().get(0).startsWith("Неверный формат строки"));
+
+        ArgumentCaptor<List<Anime>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(bulkOperations).insert(inserted.capture());
+        Anime anime = inserted.getValue().get(0);
+        assertEquals(List.of("Action", "Shounen"), anime.getGenres());
+        assertEquals(2002, anime.getReleaseYear());
+        assertEquals("TV", anime.getType());
+    }
+}
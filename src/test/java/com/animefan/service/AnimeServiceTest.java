@@ -1,6 +1,8 @@
 package com.animefan.service;
 
 import com.animefan.dto.AnimeDTO;
+import com.animefan.event.AnimeCreatedEvent;
+import com.animefan.event.AnimeDeletedEvent;
 import com.animefan.exception.ResourceNotFoundException;
 import com.animefan.exception.ValidationException;
 import com.animefan.model.Anime;
@@ -14,6 +16,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -38,6 +41,18 @@ class AnimeServiceTest {
     @Mock
     private ReviewRepository reviewRepository;
 
+    @Mock
+    private TopRatedAnimeIndex topRatedAnimeIndex;
+
+    @Mock
+    private StudioStatsService studioStatsService;
+
+    @Mock
+    private DenormalizationService denormalizationService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private AnimeService animeService;
 
@@ -123,6 +138,7 @@ class AnimeServiceTest {
         assertNotNull(result);
         assertEquals("New Anime", result.getTitle());
         verify(animeRepository).save(any(Anime.class));
+        verify(eventPublisher).publishEvent(any(AnimeCreatedEvent.class));
     }
 
     @Test
@@ -156,13 +172,14 @@ class AnimeServiceTest {
 
         assertDoesNotThrow(() -> animeService.deleteAnime("1"));
         verify(animeRepository).deleteById("1");
+        verify(eventPublisher).publishEvent(any(AnimeDeletedEvent.class));
     }
 
     @Test
     @DisplayName("Should get top anime")
     void getTopAnime_Success() {
         List<Anime> topAnime = Arrays.asList(testAnime);
-        when(animeRepository.getTopAnimeByRating(10)).thenReturn(topAnime);
+        when(topRatedAnimeIndex.getTop(10)).thenReturn(topAnime);
 
         List<Anime> result = animeService.getTopAnime(10);
 
@@ -0,0 +1,154 @@
+package com.animefan.service;
+
+import com.animefan.event.ReviewDeletedEvent;
+import com.animefan.event.ReviewUpdatedEvent;
+import com.animefan.model.AnimeStatistics;
+import com.animefan.model.ListCounters;
+import com.animefan.model.Review;
+import com.animefan.repository.AnimeStatisticsRepository;
+import com.animefan.repository.ReviewRepository;
+import com.animefan.repository.UserAnimeRelationRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AnimeStatsServiceTest {
+
+    @Mock
+    private AnimeStatisticsRepository animeStatisticsRepository;
+
+    @Mock
+    private UserAnimeRelationRepository relationRepository;
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache cache;
+
+    @InjectMocks
+    private AnimeStatsService animeStatsService;
+
+    @Test
+    @DisplayName("Should serve cached counters without touching MongoDB")
+    void getAnimeStatistics_FromCache() {
+        AnimeStatistics cached = AnimeStatistics.builder().animeId("a1").build();
+        when(cacheManager.getCache("animeStats")).thenReturn(cache);
+        when(cache.get("a1", AnimeStatistics.class)).thenReturn(cached);
+
+        assertSame(cached, animeStatsService.getAnimeStatistics("a1"));
+        verifyNoInteractions(animeStatisticsRepository, relationRepository, reviewRepository);
+    }
+
+    @Test
+    @DisplayName("Should rebuild counters when document is missing")
+    void getAnimeStatistics_RebuildsWhenMissing() {
+        when(cacheManager.getCache("animeStats")).thenReturn(cache);
+        when(animeStatisticsRepository.findById("a1")).thenReturn(Optional.empty());
+        when(relationRepository.countListEntries("animeId", List.of("a1")))
+                .thenReturn(Map.of("a1", ListCounters.builder().watching(7).favorites(2).build()));
+        when(reviewRepository.getRatingDistribution("a1")).thenReturn(List.of(bucket(8, 2L), bucket(10, 1L)));
+        when(animeStatisticsRepository.save(any(AnimeStatistics.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        AnimeStatistics result = animeStatsService.getAnimeStatistics("a1");
+
+        assertEquals(7, result.getCounters().totalInList());
+        assertEquals(3, result.getCounters().getReviews());
+        assertEquals(2, result.getRatingHistogram()[7]);
+        assertEquals(1, result.getRatingHistogram()[9]);
+        verify(cache).put("a1", result);
+    }
+
+    @Test
+    @DisplayName("Should decrement reviews and refresh cache entry")
+    void onReviewDeleted_RefreshesCache() {
+        AnimeStatistics updated = AnimeStatistics.builder().animeId("a1").build();
+        when(cacheManager.getCache("animeStats")).thenReturn(cache);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(AnimeStatistics.class))).thenReturn(updated);
+
+        animeStatsService.onReviewDeleted(new ReviewDeletedEvent(Review.builder().animeId("a1").rating(7).build()));
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).findAndModify(any(Query.class), update.capture(),
+                any(FindAndModifyOptions.class), eq(AnimeStatistics.class));
+        Document inc = (Document) update.getValue().getUpdateObject().get("$inc");
+        assertEquals(-1, inc.get("counters.reviews"));
+        assertEquals(-1, inc.get("ratingHistogram.6"));
+        verify(cache).put("a1", updated);
+    }
+
+    @Test
+    @DisplayName("Should move histogram count when review rating changes")
+    void onReviewUpdated_MovesHistogramBucket() {
+        when(cacheManager.getCache("animeStats")).thenReturn(cache);
+        Review review = Review.builder().animeId("a1").rating(9).build();
+
+        animeStatsService.onReviewUpdated(new ReviewUpdatedEvent(review, 6));
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).findAndModify(any(Query.class), update.capture(),
+                any(FindAndModifyOptions.class), eq(AnimeStatistics.class));
+        Document inc = (Document) update.getValue().getUpdateObject().get("$inc");
+        assertEquals(-1, inc.get("ratingHistogram.5"));
+        assertEquals(1, inc.get("ratingHistogram.8"));
+        assertNull(inc.get("counters.reviews"));
+    }
+
+    @Test
+    @DisplayName("Should serve rating distribution from cached histogram")
+    void getRatingDistribution_FromHistogram() {
+        long[] histogram = new long[AnimeStatistics.RATING_SCALE];
+        histogram[4] = 3;
+        histogram[9] = 5;
+        when(cacheManager.getCache("animeStats")).thenReturn(cache);
+        when(cache.get("a1", AnimeStatistics.class))
+                .thenReturn(AnimeStatistics.builder().animeId("a1").ratingHistogram(histogram).build());
+
+        List<ReviewRepository.RatingDistribution> distribution = animeStatsService.getRatingDistribution("a1");
+
+        assertEquals(List.of(5, 10), distribution.stream().map(ReviewRepository.RatingDistribution::getId).toList());
+        assertEquals(5L, distribution.get(1).getCount());
+        verifyNoInteractions(reviewRepository);
+    }
+
+    private static ReviewRepository.RatingDistribution bucket(int rating, long count) {
+        return new ReviewRepository.RatingDistribution() {
+            @Override
+            public Integer getId() {
+                return rating;
+            }
+
+            @Override
+            public Long getCount() {
+                return count;
+            }
+        };
+    }
+}
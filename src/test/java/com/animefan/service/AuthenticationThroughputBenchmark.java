@@ -0,0 +1,142 @@
+package com.animefan.service;
+
+import com.animefan.model.User;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.security.authentication.CachingUserDetailsService;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Authentication throughput with and without the user details cache, on 16 threads for 1000 users.
+ * Each uncached load decodes and maps a stored user document and waits out a simulated database
+ * round trip ({@code -Dbenchmark.roundTripMicros}, 500 by default). Remember-me requests only
+ * load the user; form logins also check a BCrypt hash, which dominates their cost.
+ * Run with: mvn test -Dtest=AuthenticationThroughputBenchmark -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class AuthenticationThroughputBenchmark {
+
+    private static final int THREADS = 16;
+    private static final int USERS = 1_000;
+    private static final int LOOKUPS = 100_000;
+    private static final int LOGINS = 800;
+    // Logins cycle over fewer users than there are logins, so the cached provider gets hits
+    private static final int LOGIN_USERS = 100;
+    private static final long ROUND_TRIP_NANOS = Long.getLong("benchmark.roundTripMicros", 500) * 1_000;
+
+    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+
+    @Test
+    void rememberMeAndFormLogin() throws Exception {
+        UserDetailsService store = userStore();
+
+        CachingUserDetailsService cached = new CachingUserDetailsService(store);
+        cached.setUserCache(new UserDetailsCache(10_000, 300));
+        double uncachedLookups = throughput(LOOKUPS, i -> store.loadUserByUsername(username(i)));
+        double cachedLookups = throughput(LOOKUPS, i -> cached.loadUserByUsername(username(i)));
+        System.out.printf("Remember-me lookups: %,.0f/s uncached, %,.0f/s cached (x%.1f)%n",
+                uncachedLookups, cachedLookups, cachedLookups / uncachedLookups);
+
+        DaoAuthenticationProvider plainProvider = provider(store, null);
+        double uncachedLogins = throughput(LOGINS, i -> plainProvider.authenticate(login(i)));
+        DaoAuthenticationProvider cachingProvider = provider(store, new UserDetailsCache(10_000, 300));
+        double cachedLogins = throughput(LOGINS, i -> cachingProvider.authenticate(login(i)));
+        System.out.printf("Form logins: %,.0f/s uncached, %,.0f/s cached (x%.2f)%n",
+                uncachedLogins, cachedLogins, cachedLogins / uncachedLogins);
+
+        assertTrue(cachedLookups > uncachedLookups);
+    }
+
+    /**
+     * Users stored as raw BSON, loaded the way the repository would: decode, map, plus the round trip
+     */
+    private UserDetailsService userStore() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        DocumentCodec codec = new DocumentCodec();
+
+        String hash = passwordEncoder.encode("password");
+        List<RawBsonDocument> stored = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            User user = User.builder().id("u" + i).username(username(i)).email(username(i) + "@example.com")
+                    .password(hash).displayName("User " + i).role(User.Role.USER).enabled(true)
+                    .accountNonExpired(true).accountNonLocked(true).credentialsNonExpired(true)
+                    .emailVerified(true).watchedCount(120).reviewCount(8).favoriteCount(15)
+                    .createdAt(LocalDateTime.now()).build();
+            Document document = new Document();
+            converter.write(user, document);
+            stored.add(new RawBsonDocument(document, codec));
+        }
+        return username -> {
+            LockSupport.parkNanos(ROUND_TRIP_NANOS);
+            int index = Integer.parseInt(username.substring("user".length()));
+            return converter.read(User.class, stored.get(index).decode(codec));
+        };
+    }
+
+    private DaoAuthenticationProvider provider(UserDetailsService store, UserDetailsCache cache) {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(store);
+        provider.setPasswordEncoder(passwordEncoder);
+        if (cache != null) {
+            provider.setUserCache(cache);
+        }
+        return provider;
+    }
+
+    private static UsernamePasswordAuthenticationToken login(int i) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(username(i % LOGIN_USERS), "password");
+    }
+
+    private static String username(int i) {
+        return "user" + (i % USERS);
+    }
+
+    private static double throughput(int operations, IntConsumer operation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                workers.add(executor.submit(() -> {
+                    for (int i = thread; i < operations; i += THREADS) {
+                        operation.accept(i);
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+            return operations / ((System.nanoTime() - start) / 1e9);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
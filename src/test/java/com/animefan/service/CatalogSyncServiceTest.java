@@ -0,0 +1,104 @@
+package com.animefan.service;
+
+import com.animefan.dto.CatalogSyncResultDTO;
+import com.animefan.event.AnimeBulkImportedEvent;
+import com.animefan.event.AnimeUpdatedEvent;
+import com.animefan.model.Anime;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogSyncServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache cache;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    private CatalogSyncService syncService;
+
+    @BeforeEach
+    void setUp() {
+        syncService = new CatalogSyncService(mongoTemplate, new ObjectMapper().findAndRegisterModules(),
+                eventPublisher, cacheManager);
+        lenient().when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(Anime.class))).thenReturn(bulkOperations);
+        lenient().when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+        lenient().when(cacheManager.getCache(anyString())).thenReturn(cache);
+    }
+
+    @Test
+    @DisplayName("Should skip anime whose hash is unchanged and $set only the changed fields of the others")
+    void sync_DiffsByHashAndField() throws Exception {
+        Anime unchanged = Anime.builder().title("Mushishi").description("Ginko wanders the countryside")
+                .genres(List.of("Mystery")).build();
+        unchanged.setId("a1");
+        unchanged.setSyncHash(CatalogSyncService.contentHash(unchanged));
+        Anime stale = Anime.builder().title("Naruto").description("A ninja who dreams of becoming Hokage")
+                .genres(List.of("Action")).episodeCount(200).build();
+        stale.setId("a2");
+        stale.setSyncHash("outdated");
+
+        when(mongoTemplate.find(any(Query.class), eq(Anime.class))).thenAnswer(invocation -> {
+            Query query = invocation.getArgument(0);
+            return query.getQueryObject().isEmpty() ? List.of(unchanged, stale) : List.of(stale);
+        });
+
+        String feed = """
+                {"title": "Mushishi", "description": "Ginko wanders the countryside", "genres": ["Mystery"]}
+                {"title": "Naruto", "description": "A ninja who dreams of becoming Hokage", "genres": ["Action"], "episodeCount": 220}
+                {"title": "Frieren", "description": "An elf mage outlives her party", "genres": ["Fantasy"]}
+                not json
+                """;
+
+        CatalogSyncResultDTO result = syncService.sync(new StringReader(feed));
+
+        assertEquals(1, result.getInsertedCount());
+        assertEquals(1, result.getUpdatedCount());
+        assertEquals(1, result.getUnchangedCount());
+        assertEquals(1, result.getErrorCount());
+        assertEquals(Map.of("episodeCount", 1), result.getChangedFields());
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(bulkOperations).updateOne(any(Query.class), update.capture());
+        Document set = (Document) update.getValue().getUpdateObject().get("$set");
+        assertEquals(220, set.get("episodeCount"));
+        assertFalse(set.containsKey("description"));
+        assertFalse(set.containsKey("genres"));
+
+        verify(eventPublisher).publishEvent(any(AnimeUpdatedEvent.class));
+        verify(eventPublisher).publishEvent(any(AnimeBulkImportedEvent.class));
+        verify(cache, times(2)).clear();
+    }
+}
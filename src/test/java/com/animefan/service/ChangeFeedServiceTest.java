@@ -0,0 +1,73 @@
+package com.animefan.service;
+
+import com.animefan.model.Anime;
+import com.animefan.model.AnimeChange;
+import com.animefan.model.ChangeFeedState;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChangeFeedServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @InjectMocks
+    private ChangeFeedService changeFeedService;
+
+    @Test
+    @DisplayName("Should return summaries and tombstones in sequence order with a continuation cursor")
+    void getChanges_PagesBySequence() {
+        when(mongoTemplate.find(any(Query.class), eq(AnimeChange.class))).thenReturn(List.of(
+                AnimeChange.builder().animeId("a1").seq(11).build(),
+                AnimeChange.builder().animeId("a2").seq(12).deleted(true).build(),
+                AnimeChange.builder().animeId("a3").seq(13).build()));
+        when(mongoTemplate.find(any(Query.class), eq(Anime.class))).thenReturn(List.of(
+                Anime.builder().id("a1").title("Naruto").rating(8.1).build()));
+
+        ChangeFeedService.ChangesPage page = changeFeedService.getChanges(10, 2);
+
+        assertTrue(page.hasMore());
+        assertEquals(12, page.nextSince());
+        assertEquals(2, page.changes().size());
+        assertEquals("Naruto", page.changes().get(0).getTitle());
+        assertTrue(page.changes().get(1).isDeleted());
+        assertNull(page.changes().get(1).getTitle());
+    }
+
+    @Test
+    @DisplayName("Should reserve a sequence range and assign it in order")
+    void record_AssignsAscendingSequence() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(ChangeFeedState.class))).thenReturn(ChangeFeedState.builder().lastSeq(42).build());
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, AnimeChange.class)).thenReturn(bulkOperations);
+
+        changeFeedService.record(List.of("a1", "a2"), false);
+
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(bulkOperations, times(2)).upsert(any(Query.class), updates.capture());
+        assertEquals(41L, ((Document) updates.getAllValues().get(0).getUpdateObject().get("$set")).get("seq"));
+        assertEquals(42L, ((Document) updates.getAllValues().get(1).getUpdateObject().get("$set")).get("seq"));
+        verify(bulkOperations).execute();
+    }
+}
@@ -0,0 +1,63 @@
+package com.animefan.service;
+
+import com.animefan.model.Anime;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentSimilarityEngineTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(2);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should rank anime with shared genres, studio and description terms first")
+    void compute_RanksByContent() {
+        List<Anime> catalog = List.of(
+                anime("a1", List.of("Action", "Fantasy"), "s1", "TV", 2015, "A young swordsman hunts demons in a cursed village"),
+                anime("a2", List.of("Action", "Fantasy"), "s1", "TV", 2017, "The swordsman returns to hunt demons near the cursed castle"),
+                anime("a3", List.of("Action"), "s2", "MOVIE", 1995, "Space pilots fight a galactic empire"),
+                anime("a4", List.of("Romance"), "s3", "TV", 2015, "Two students fall in love during summer"),
+                anime("a5", List.of("Comedy"), "s4", "OVA", 2001, "Cats run a small cafe"));
+
+        Map<String, List<Anime.SimilarAnime>> result = new ContentSimilarityEngine(3).compute(catalog, pool);
+
+        List<Anime.SimilarAnime> similar = result.get("a1");
+        assertEquals("a2", similar.get(0).getAnimeId());
+        assertEquals("Title a2", similar.get(0).getTitle());
+        assertTrue(similar.get(0).getScore() > similar.get(1).getScore());
+        assertTrue(result.get("a5").isEmpty());
+        assertTrue(similar.stream().noneMatch(other -> other.getAnimeId().equals("a1")));
+    }
+
+    @Test
+    @DisplayName("Should decay year similarity linearly within the window")
+    void yearSimilarity_DecaysWithDistance() {
+        assertEquals(1.0f, ContentSimilarityEngine.yearSimilarity(2010, 2010));
+        assertEquals(0.5f, ContentSimilarityEngine.yearSimilarity(2010, 2015), 1e-6);
+        assertEquals(0.0f, ContentSimilarityEngine.yearSimilarity(1990, 2015));
+        assertEquals(0.0f, ContentSimilarityEngine.yearSimilarity(null, 2015));
+    }
+
+    private static Anime anime(String id, List<String> genres, String studioId, String type, int year, String description) {
+        return Anime.builder()
+                .id(id)
+                .title("Title " + id)
+                .genres(genres)
+                .studioId(studioId)
+                .type(type)
+                .releaseYear(year)
+                .description(description)
+                .build();
+    }
+}
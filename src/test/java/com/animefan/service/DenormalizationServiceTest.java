@@ -0,0 +1,202 @@
+package com.animefan.service;
+
+import com.animefan.event.AnimeUpdatedEvent;
+import com.animefan.event.UserProfileUpdatedEvent;
+import com.animefan.model.Anime;
+import com.animefan.model.Review;
+import com.animefan.model.User;
+import com.animefan.model.UserAnimeRelation;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DenormalizationServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private UserStatsService userStatsService;
+
+    @Mock
+    private ExecutorService executor;
+
+    private DenormalizationService denormalizationService;
+
+    @BeforeEach
+    void setUp() {
+        denormalizationService = new DenormalizationService(mongoTemplate, userStatsService, executor, 2, 0);
+    }
+
+    @Test
+    @DisplayName("Should not queue anything when no copied field changed")
+    void onAnimeUpdated_NothingCopiedChanged() {
+        Anime anime = Anime.builder().id("a1").title("Title").posterUrl("poster.jpg").build();
+
+        denormalizationService.onAnimeUpdated(new AnimeUpdatedEvent(anime, List.of(), "Title", "poster.jpg", null));
+
+        verifyNoInteractions(executor);
+        assertEquals(0, denormalizationService.getStatus().queued());
+    }
+
+    @Test
+    @DisplayName("Should rewrite list entries in id batches with the current title and poster")
+    void onAnimeUpdated_BatchesListEntries() {
+        when(mongoTemplate.getCollectionName(any())).thenAnswer(invocation ->
+                ((Class<?>) invocation.getArgument(0)).getSimpleName());
+        when(mongoTemplate.stream(any(Query.class), eq(Document.class), anyString())).thenAnswer(invocation ->
+                invocation.getArgument(2).equals("UserAnimeRelation") ? ids(5) : Stream.empty());
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), any(Class.class)))
+                .thenAnswer(invocation -> UpdateResult.acknowledged(2, 2L, null));
+        Anime anime = Anime.builder().id("a1").title("Title").posterUrl("new.jpg").build();
+
+        denormalizationService.onAnimeUpdated(new AnimeUpdatedEvent(anime, List.of(), "Title", "old.jpg", null));
+        runQueued(1);
+
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(3)).updateMulti(any(Query.class), updates.capture(), eq(UserAnimeRelation.class));
+        Document set = (Document) updates.getValue().getUpdateObject().get("$set");
+        assertEquals("new.jpg", set.get("animePosterUrl"));
+        assertEquals("Title", set.get("animeTitle"));
+
+        DenormalizationService.PropagationStatus status = denormalizationService.getStatus();
+        assertEquals(1, status.completed());
+        assertEquals(6, status.documentsUpdated());
+        assertNull(status.running());
+    }
+
+    @Test
+    @DisplayName("Should run only the latest of several changes queued for the same anime")
+    void onAnimeUpdated_CoalescesQueuedChanges() {
+        when(mongoTemplate.getCollectionName(any())).thenReturn("collection");
+        when(mongoTemplate.stream(any(Query.class), eq(Document.class), anyString())).thenAnswer(invocation -> ids(1));
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), any(Class.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        denormalizationService.onAnimeUpdated(new AnimeUpdatedEvent(
+                Anime.builder().id("a1").title("Second").build(), List.of(), "First", null, null));
+        denormalizationService.onAnimeUpdated(new AnimeUpdatedEvent(
+                Anime.builder().id("a1").title("Third").build(), List.of(), "Second", null, null));
+        runQueued(2);
+
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateMulti(any(Query.class), updates.capture(), eq(Review.class));
+        assertEquals("Third", ((Document) updates.getValue().getUpdateObject().get("$set")).get("animeTitle"));
+        assertEquals(1, denormalizationService.getStatus().completed());
+    }
+
+    @Test
+    @DisplayName("Should keep an earlier title change when a poster change replaces its job")
+    void onAnimeUpdated_ReplacedJobKeepsEarlierFields() {
+        when(mongoTemplate.getCollectionName(any())).thenReturn("collection");
+        when(mongoTemplate.stream(any(Query.class), eq(Document.class), anyString())).thenAnswer(invocation -> ids(1));
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), any(Class.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        denormalizationService.onAnimeUpdated(new AnimeUpdatedEvent(
+                Anime.builder().id("a1").title("New").posterUrl("old.jpg").build(), List.of(), "Old", "old.jpg", null));
+        denormalizationService.onAnimeUpdated(new AnimeUpdatedEvent(
+                Anime.builder().id("a1").title("New").posterUrl("new.jpg").build(), List.of(), "New", "old.jpg", null));
+        runQueued(2);
+
+        ArgumentCaptor<Update> reviews = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateMulti(any(Query.class), reviews.capture(), eq(Review.class));
+        assertEquals("New", ((Document) reviews.getValue().getUpdateObject().get("$set")).get("animeTitle"));
+
+        ArgumentCaptor<Update> relations = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateMulti(any(Query.class), relations.capture(), eq(UserAnimeRelation.class));
+        Document set = (Document) relations.getValue().getUpdateObject().get("$set");
+        assertEquals("New", set.get("animeTitle"));
+        assertEquals("new.jpg", set.get("animePosterUrl"));
+    }
+
+    @Test
+    @DisplayName("Should copy changed genres and invalidate affinity of users who completed the anime, per batch")
+    void onAnimeUpdated_GenresChanged() {
+        when(mongoTemplate.getCollectionName(any())).thenAnswer(invocation ->
+                ((Class<?>) invocation.getArgument(0)).getSimpleName());
+        when(mongoTemplate.stream(any(Query.class), eq(Document.class), anyString())).thenAnswer(invocation ->
+                invocation.getArgument(2).equals("UserAnimeRelation") ? Stream.of(
+                        new Document("_id", "r1").append("userId", "u1").append("status", "COMPLETED"),
+                        new Document("_id", "r2").append("userId", "u2").append("status", "WATCHING"),
+                        new Document("_id", "r3").append("userId", "u3").append("status", "COMPLETED"))
+                        : Stream.empty());
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), any(Class.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+        Anime anime = Anime.builder().id("a1").title("Title").genres(List.of("Drama", "Action")).build();
+
+        denormalizationService.onAnimeUpdated(new AnimeUpdatedEvent(anime, List.of("Action"), "Title", null, null));
+        runQueued(1);
+
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(2)).updateMulti(any(Query.class), updates.capture(), eq(UserAnimeRelation.class));
+        assertEquals(List.of("Drama", "Action"),
+                ((Document) updates.getValue().getUpdateObject().get("$set")).get("animeGenres"));
+        verify(userStatsService).invalidateGenreAffinity(List.of("u1"));
+        verify(userStatsService).invalidateGenreAffinity(List.of("u3"));
+    }
+
+    @Test
+    @DisplayName("Should copy only the latest of several rating changes to list entries")
+    void onRatingChanged_CoalescesPerAnime() {
+        when(mongoTemplate.getCollectionName(UserAnimeRelation.class)).thenReturn("relations");
+        when(mongoTemplate.stream(any(Query.class), eq(Document.class), eq("relations"))).thenAnswer(invocation -> ids(1));
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(UserAnimeRelation.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        denormalizationService.onRatingChanged("a1", 7.9);
+        denormalizationService.onRatingChanged("a1", 8.1);
+        runQueued(2);
+
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateMulti(any(Query.class), updates.capture(), eq(UserAnimeRelation.class));
+        assertEquals(8.1, ((Document) updates.getValue().getUpdateObject().get("$set")).get("animeRating"));
+    }
+
+    @Test
+    @DisplayName("Should copy a changed avatar to the user's reviews")
+    void onUserProfileUpdated_AvatarChanged() {
+        when(mongoTemplate.getCollectionName(Review.class)).thenReturn("reviews");
+        when(mongoTemplate.stream(any(Query.class), eq(Document.class), eq("reviews"))).thenReturn(ids(1));
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(Review.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+        User user = User.builder().id("u1").avatarUrl("avatar.png").build();
+
+        denormalizationService.onUserProfileUpdated(new UserProfileUpdatedEvent(user, null));
+        runQueued(1);
+
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).stream(queries.capture(), eq(Document.class), eq("reviews"));
+        assertEquals("u1", queries.getValue().getQueryObject().get("userId"));
+        assertEquals(1, denormalizationService.getStatus().documentsUpdated());
+    }
+
+    private void runQueued(int expected) {
+        ArgumentCaptor<Runnable> runs = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor, times(expected)).execute(runs.capture());
+        runs.getAllValues().forEach(Runnable::run);
+    }
+
+    private static Stream<Document> ids(int count) {
+        return IntStream.range(0, count).mapToObj(i -> new Document("_id", "id" + i));
+    }
+}
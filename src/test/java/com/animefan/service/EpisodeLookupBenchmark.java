@@ -0,0 +1,107 @@
+package com.animefan.service;
+
+import com.animefan.model.Anime;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Watch-page episode lookup for a long-running show (2000 episodes with descriptions).
+ * Compares what the application decodes and maps per request: the whole embedded episode
+ * array scanned three times, against the server-filtered window of the current episode
+ * and its neighbours. Database round trips are not included.
+ * Run with: mvn test -Dtest=EpisodeLookupBenchmark -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class EpisodeLookupBenchmark {
+
+    private static final int EPISODES = 2_000;
+    private static final int WINDOW = 50;
+    private static final int LOOKUPS = 2_000;
+
+    @Test
+    void currentAndNeighboursOfTwoThousandEpisodes() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        DocumentCodec codec = new DocumentCodec();
+
+        List<Document> all = new ArrayList<>(EPISODES);
+        for (int number = 1; number <= EPISODES; number++) {
+            all.add(episode(number));
+        }
+        RawBsonDocument embedded = new RawBsonDocument(new Document("_id", "a1").append("episodes", all), codec);
+
+        long start = System.nanoTime();
+        int found = 0;
+        for (int n = 0; n < LOOKUPS; n++) {
+            int number = 1 + n % EPISODES;
+            List<Anime.Episode> episodes = read(converter, embedded.decode(codec));
+            Anime.Episode current = episodes.stream().filter(e -> e.getNumber() == number).findFirst().orElse(null);
+            episodes.stream().filter(e -> e.getNumber() == number - 1).findFirst();
+            episodes.stream().filter(e -> e.getNumber() == number + 1).findFirst();
+            found += current != null ? 1 : 0;
+        }
+        long embeddedNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        long windowBytes = 0;
+        for (int n = 0; n < LOOKUPS; n++) {
+            int number = 1 + n % EPISODES;
+            int from = Math.max(1, number - WINDOW / 2);
+            int to = Math.min(EPISODES, number + WINDOW / 2);
+            // The projected aggregation returns only the window, already filtered
+            RawBsonDocument projected = new RawBsonDocument(
+                    new Document("_id", "b").append("episodes", all.subList(from - 1, to)), codec);
+            windowBytes += projected.getByteBuffer().remaining();
+            Map<Integer, Anime.Episode> byNumber = read(converter, projected.decode(codec)).stream()
+                    .collect(Collectors.toMap(Anime.Episode::getNumber, Function.identity()));
+            byNumber.get(number - 1);
+            byNumber.get(number + 1);
+            found += byNumber.containsKey(number) ? 1 : 0;
+        }
+        long windowNanos = System.nanoTime() - start;
+
+        System.out.printf("embedded array: %d bytes per request, %.3f ms per lookup%n",
+                embedded.getByteBuffer().remaining(), embeddedNanos / 1e6 / LOOKUPS);
+        System.out.printf("filtered window: %d bytes per request, %.3f ms per lookup%n",
+                windowBytes / LOOKUPS, windowNanos / 1e6 / LOOKUPS);
+
+        assertEquals(2 * LOOKUPS, found);
+        assertTrue(windowNanos < embeddedNanos);
+    }
+
+    private static List<Anime.Episode> read(MappingMongoConverter converter, Document document) {
+        return document.getList("episodes", Document.class).stream()
+                .map(episode -> converter.read(Anime.Episode.class, episode))
+                .toList();
+    }
+
+    private static Document episode(int number) {
+        return new Document("number", number)
+                .append("title", "Эпизод " + number)
+                .append("description", "Краткое содержание эпизода " + number + ", пара предложений о событиях серии.")
+                .append("duration", 24)
+                .append("videoUrl", "https://video.example/anime/a1/" + number)
+                .append("thumbnailUrl", "https://img.example/anime/a1/" + number + ".jpg")
+                .append("filler", false);
+    }
+}
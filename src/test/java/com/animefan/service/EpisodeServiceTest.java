@@ -0,0 +1,166 @@
+package com.animefan.service;
+
+import com.animefan.exception.ValidationException;
+import com.animefan.model.Anime;
+import com.animefan.model.EpisodeBucket;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EpisodeServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @InjectMocks
+    private EpisodeService episodeService;
+
+    @Test
+    @DisplayName("Should map episode numbers to fixed buckets of 100")
+    void bucketOf_FixedRanges() {
+        assertEquals(0, EpisodeBucket.bucketOf(1));
+        assertEquals(0, EpisodeBucket.bucketOf(100));
+        assertEquals(1, EpisodeBucket.bucketOf(101));
+        assertEquals(10, EpisodeBucket.bucketOf(1050));
+    }
+
+    @Test
+    @DisplayName("Should page across buckets from the requested number and return the next cursor")
+    void getEpisodes_PagesAcrossBuckets() {
+        when(mongoTemplate.find(any(Query.class), eq(EpisodeBucket.class))).thenReturn(
+                List.of(bucket(0, 1, 100), bucket(1, 101, 200)),
+                List.of(EpisodeBucket.builder().count(100).build(), EpisodeBucket.builder().count(100).build()));
+
+        EpisodeService.EpisodePage page = episodeService.getEpisodes("a1", 95, 10);
+
+        assertEquals(10, page.episodes().size());
+        assertEquals(95, page.episodes().get(0).getNumber());
+        assertEquals(104, page.episodes().get(9).getNumber());
+        assertEquals(105, page.nextFrom());
+        assertTrue(page.hasMore());
+        assertEquals(200, page.total());
+    }
+
+    @Test
+    @DisplayName("Should end the last page without a cursor")
+    void getEpisodes_LastPage() {
+        when(mongoTemplate.find(any(Query.class), eq(EpisodeBucket.class))).thenReturn(
+                List.of(bucket(0, 1, 12)),
+                List.of(EpisodeBucket.builder().count(12).build()));
+
+        EpisodeService.EpisodePage page = episodeService.getEpisodes("a1", 1, 50);
+
+        assertEquals(12, page.episodes().size());
+        assertNull(page.nextFrom());
+        assertFalse(page.hasMore());
+    }
+
+    @Test
+    @DisplayName("Should fetch only the requested range, filtered inside the buckets")
+    @SuppressWarnings("unchecked")
+    void getEpisodeRange_FiltersOnServer() {
+        when(mongoTemplate.aggregate(any(TypedAggregation.class), eq(EpisodeBucket.class))).thenReturn(
+                new AggregationResults<>(List.of(
+                        EpisodeBucket.builder().episodes(List.of(episode(99), episode(100))).build(),
+                        EpisodeBucket.builder().episodes(List.of(episode(101))).build()), new Document()));
+
+        List<Anime.Episode> episodes = episodeService.getEpisodeRange("a1", 99, 101);
+
+        assertEquals(List.of(99, 100, 101), episodes.stream().map(Anime.Episode::getNumber).toList());
+        ArgumentCaptor<TypedAggregation<EpisodeBucket>> aggregation = ArgumentCaptor.forClass(TypedAggregation.class);
+        verify(mongoTemplate).aggregate(aggregation.capture(), eq(EpisodeBucket.class));
+        List<Document> pipeline = aggregation.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT);
+        Document bucketRange = (Document) ((Document) pipeline.get(0).get("$match")).get("bucket");
+        assertEquals(0, bucketRange.get("$gte"));
+        assertEquals(1, bucketRange.get("$lte"));
+        assertTrue(pipeline.get(2).toJson().contains("$$episode.number"));
+    }
+
+    @Test
+    @DisplayName("Should reject an episode number that is already taken")
+    void addEpisode_Duplicate() {
+        when(mongoTemplate.exists(any(Query.class), eq(Anime.class))).thenReturn(true);
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(EpisodeBucket.class)))
+                .thenThrow(new DuplicateKeyException("duplicate"));
+
+        Anime.Episode episode = Anime.Episode.builder().number(3).title("Эпизод").build();
+
+        assertThrows(ValidationException.class, () -> episodeService.addEpisode("a1", episode));
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(Anime.class));
+    }
+
+    @Test
+    @DisplayName("Should write one sorted bucket per episode range")
+    void saveEpisodes_GroupsByBucket() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EpisodeBucket.class)).thenReturn(bulkOperations);
+
+        episodeService.saveEpisodes("a1", List.of(episode(150), episode(2), episode(1), episode(2)));
+
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(bulkOperations, times(2)).upsert(any(Query.class), updates.capture());
+        Document first = (Document) updates.getAllValues().get(0).getUpdateObject().get("$set");
+        List<?> episodes = (List<?>) first.get("episodes");
+        assertEquals(2, first.get("count"));
+        assertEquals(2, episodes.size());
+        assertEquals(1, ((Anime.Episode) episodes.get(0)).getNumber());
+        verify(bulkOperations).execute();
+    }
+
+    @Test
+    @DisplayName("Should fail the migration, and with it startup, while embedded episodes remain")
+    void migrateEmbeddedEpisodes_FailsWhenEpisodesRemain() {
+        when(mongoTemplate.getCollectionName(Anime.class)).thenReturn("anime");
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EpisodeBucket.class)).thenReturn(bulkOperations);
+        when(mongoTemplate.stream(any(Query.class), eq(Document.class), eq("anime"))).thenReturn(Stream.empty());
+        when(mongoTemplate.exists(any(Query.class), eq("anime"))).thenReturn(true);
+
+        assertThrows(IllegalStateException.class, () -> episodeService.afterSingletonsInstantiated());
+    }
+
+    @Test
+    @DisplayName("Should do nothing when no anime has embedded episodes")
+    void migrateEmbeddedEpisodes_NothingToMigrate() {
+        when(mongoTemplate.getCollectionName(Anime.class)).thenReturn("anime");
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EpisodeBucket.class)).thenReturn(bulkOperations);
+        when(mongoTemplate.stream(any(Query.class), eq(Document.class), eq("anime"))).thenReturn(Stream.empty());
+
+        episodeService.migrateEmbeddedEpisodes();
+
+        verify(bulkOperations, never()).execute();
+        verify(mongoTemplate, never()).updateMulti(any(Query.class), any(Update.class), anyString());
+    }
+
+    private static EpisodeBucket bucket(int index, int from, int to) {
+        List<Anime.Episode> episodes = IntStream.rangeClosed(from, to).mapToObj(EpisodeServiceTest::episode).toList();
+        return EpisodeBucket.builder().animeId("a1").bucket(index).count(episodes.size()).episodes(episodes).build();
+    }
+
+    private static Anime.Episode episode(int number) {
+        return Anime.Episode.builder().number(number).title("Эпизод " + number).build();
+    }
+}
@@ -0,0 +1,88 @@
+package com.animefan.service;
+
+import com.animefan.exception.ValidationException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportServiceTest {
+
+    private static final ObjectId FIRST_ID = new ObjectId("65a000000000000000000001");
+    private static final ObjectId SECOND_ID = new ObjectId("65a000000000000000000002");
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private ExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new ExportService(mongoTemplate, new ObjectMapper());
+    }
+
+    @Test
+    @DisplayName("Should write one projected JSON object per line")
+    void export_Ndjson() throws Exception {
+        when(mongoTemplate.stream(any(Query.class), eq(Document.class), eq("anime"))).thenReturn(Stream.of(
+                new Document("_id", FIRST_ID).append("title", "Naruto").append("genres", List.of("Action", "Shounen"))
+                        .append("rating", 8.5),
+                new Document("_id", SECOND_ID).append("title", "Mushishi")));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = exportService.export(ExportService.Dataset.ANIME, ExportService.Format.NDJSON,
+                List.of("id", "title", "genres", "rating"), out);
+
+        assertEquals(2, count);
+        assertEquals("""
+                {"id":"65a000000000000000000001","title":"Naruto","genres":["Action","Shounen"],"rating":8.5}
+                {"id":"65a000000000000000000002","title":"Mushishi","genres":null,"rating":null}
+                """, out.toString(StandardCharsets.UTF_8));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).stream(query.capture(), eq(Document.class), eq("anime"));
+        assertEquals(new Document("_id", 1).append("title", 1).append("genres", 1).append("rating", 1),
+                query.getValue().getFieldsObject());
+    }
+
+    @Test
+    @DisplayName("Should write a CSV header and quote cells that need it")
+    void export_Csv() throws Exception {
+        when(mongoTemplate.stream(any(Query.class), eq(Document.class), eq("reviews"))).thenReturn(Stream.of(
+                new Document("_id", FIRST_ID).append("title", "Good, \"really\"").append("rating", 9)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(ExportService.Dataset.REVIEWS, ExportService.Format.CSV,
+                List.of("id", "title", "rating"), out);
+
+        assertEquals("id,title,rating\r\n65a000000000000000000001,\"Good, \"\"really\"\"\",9\r\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Should reject fields outside the allow-list")
+    void resolveFields_RejectsPassword() {
+        assertThrows(ValidationException.class,
+                () -> exportService.resolveFields(ExportService.Dataset.USERS, "username,password"));
+        assertEquals(List.of("username", "email"),
+                exportService.resolveFields(ExportService.Dataset.USERS, " username , email"));
+    }
+}
@@ -0,0 +1,73 @@
+package com.animefan.service;
+
+import com.animefan.model.Genre;
+import com.animefan.repository.AnimeRepository;
+import com.animefan.repository.GenreRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GenreServiceTest {
+
+    @Mock
+    private GenreRepository genreRepository;
+
+    @Mock
+    private AnimeRepository animeRepository;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @InjectMocks
+    private GenreService genreService;
+
+    @Test
+    @DisplayName("Should only touch genres that were added or removed")
+    void applyGenreDelta_OnlyChangedGenres() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Genre.class)).thenReturn(bulkOperations);
+
+        genreService.applyGenreDelta(List.of("Action", "Drama"), List.of("Action", "Comedy"));
+
+        verify(bulkOperations, times(2)).updateOne(any(Query.class), any(Update.class));
+        verify(bulkOperations).execute();
+    }
+
+    @Test
+    @DisplayName("Should skip write when genres are unchanged")
+    void applyGenreDelta_NoChange() {
+        genreService.applyGenreDelta(List.of("Action", "Drama"), List.of("Drama", "Action"));
+
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    @DisplayName("Should recalculate all genres from one aggregation")
+    void recalculateAllGenreCounts_SingleAggregation() {
+        when(animeRepository.getGenreStatistics()).thenReturn(List.of());
+        when(genreRepository.findAll()).thenReturn(List.of(
+                Genre.builder().name("Action").build(), Genre.builder().name("Drama").build()));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Genre.class)).thenReturn(bulkOperations);
+
+        genreService.recalculateAllGenreCounts();
+
+        verify(animeRepository, never()).countByGenresContaining(anyString());
+        verify(bulkOperations, times(2)).updateOne(any(Query.class), any(Update.class));
+        verify(bulkOperations).execute();
+    }
+}
@@ -0,0 +1,93 @@
+package com.animefan.service;
+
+import com.animefan.event.AnimeViewedEvent;
+import com.animefan.model.Anime;
+import com.animefan.model.GenreAffinity;
+import com.animefan.model.UserAnimeRelation;
+import com.animefan.model.UserStatistics;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HomeFeedServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private TopRatedAnimeIndex topRatedAnimeIndex;
+
+    @InjectMocks
+    private HomeFeedService homeFeedService;
+
+    @BeforeEach
+    void setUp() {
+        when(topRatedAnimeIndex.getTop(anyInt())).thenReturn(List.of(
+                anime("a1", 9.0, "Comedy"), anime("a2", 8.5, "Drama"), anime("a3", 8.0, "Drama"), anime("a4", 7.0, "Action")));
+    }
+
+    @Test
+    @DisplayName("Should blend genre affinity into ranking and skip anime already in the list")
+    void getFeed_ScoresPooledCandidates() {
+        homeFeedService.refreshPools();
+        UserAnimeRelation completed = relation("a2", UserAnimeRelation.Status.COMPLETED, LocalDateTime.now().minusDays(2));
+        UserAnimeRelation watching = relation("a4", UserAnimeRelation.Status.WATCHING, LocalDateTime.now());
+        when(mongoTemplate.find(any(Query.class), eq(UserAnimeRelation.class))).thenAnswer(invocation -> {
+            Document query = invocation.<Query>getArgument(0).getQueryObject();
+            // The WATCHING read, then the lookup of candidates already on the list
+            return query.containsKey("status") ? List.of(watching) : List.of(completed, watching);
+        });
+        when(mongoTemplate.findOne(any(Query.class), eq(UserStatistics.class))).thenReturn(UserStatistics.builder()
+                .genreAffinity(Map.of("Drama", GenreAffinity.builder().count(4).build())).build());
+
+        HomeFeedService.HomeFeed feed = homeFeedService.getFeed("u1", 10);
+
+        assertEquals(List.of("a3", "a1"), feed.forYou().stream().map(Anime::getId).toList());
+        assertEquals(List.of("a4"), feed.continueWatching().stream().map(UserAnimeRelation::getAnimeId).toList());
+        verify(mongoTemplate, never()).aggregate(any(), anyString(), any());
+
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(2)).find(queries.capture(), eq(UserAnimeRelation.class));
+        assertEquals(6, queries.getAllValues().get(0).getLimit());
+        assertTrue(queries.getAllValues().get(1).getQueryObject().containsKey("animeId"));
+    }
+
+    @Test
+    @DisplayName("Should pool viewed anime as trending and rank them above equally rated titles")
+    void refreshPools_TrendingFromViews() {
+        when(mongoTemplate.find(any(Query.class), eq(Anime.class))).thenReturn(List.of(anime("a9", 6.0, "Action")));
+        homeFeedService.onAnimeViewed(new AnimeViewedEvent("a9", null));
+        homeFeedService.onAnimeViewed(new AnimeViewedEvent("a9", null));
+        homeFeedService.refreshPools();
+        when(mongoTemplate.find(any(Query.class), eq(UserAnimeRelation.class))).thenReturn(List.of());
+
+        HomeFeedService.HomeFeed feed = homeFeedService.getFeed("u1", 2);
+
+        assertEquals(List.of("a9", "a1"), feed.forYou().stream().map(Anime::getId).toList());
+    }
+
+    private static Anime anime(String id, double rating, String genre) {
+        return Anime.builder().id(id).rating(rating).genres(List.of(genre)).build();
+    }
+
+    private static UserAnimeRelation relation(String animeId, UserAnimeRelation.Status status, LocalDateTime updatedAt) {
+        return UserAnimeRelation.builder().animeId(animeId).status(status).updatedAt(updatedAt).build();
+    }
+}
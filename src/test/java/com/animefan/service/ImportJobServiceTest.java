@@ -0,0 +1,194 @@
+package com.animefan.service;
+
+import com.animefan.dto.BulkImportResultDTO;
+import com.animefan.exception.ValidationException;
+import com.animefan.model.ImportJob;
+import com.animefan.repository.ImportJobRepository;
+import com.mongodb.client.gridfs.model.GridFSFile;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.gridfs.GridFsResource;
+import org.springframework.data.mongodb.gridfs.GridFsTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.ByteArrayInputStream;
+import java.io.Reader;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ImportJobServiceTest {
+
+    @Mock
+    private ImportJobRepository importJobRepository;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private GridFsTemplate gridFsTemplate;
+
+    @Mock
+    private AnimeImportService animeImportService;
+
+    @Mock
+    private ExecutorService executor;
+
+    @Mock
+    private GridFsResource resource;
+
+    private ImportJobService importJobService;
+
+    @BeforeEach
+    void setUp() {
+        importJobService = new ImportJobService(importJobRepository, mongoTemplate, gridFsTemplate,
+                animeImportService, executor);
+    }
+
+    @Test
+    @DisplayName("Should checkpoint every committed chunk and complete the job")
+    void run_CheckpointsAndCompletes() throws Exception {
+        stubJobFile(job(ImportJob.Status.QUEUED));
+        when(animeImportService.importEntries(any(), any(Reader.class), anyBoolean(), anyInt(), any(), any()))
+                .thenAnswer(invocation -> {
+                    AnimeImportService.ImportProgress progress = invocation.getArgument(5);
+                    assertFalse(progress.stopRequested());
+                    progress.committed(2, BulkImportResultDTO.builder().successCount(2).build());
+                    return new BulkImportResultDTO();
+                });
+
+        importJobService.run("j1");
+
+        List<Update> updates = capturedUpdates();
+        assertEquals(2, setOf(updates.get(1)).get("processed"));
+        assertEquals(2, setOf(updates.get(1)).get("successCount"));
+        assertEquals(ImportJob.Status.COMPLETED, setOf(updates.get(2)).get("status"));
+        verify(gridFsTemplate).delete(any(Query.class));
+    }
+
+    @Test
+    @DisplayName("Should stop at the next chunk on shutdown, without interrupting, and leave the job resumable")
+    void shutdown_StopsAfterCurrentChunk() throws Exception {
+        stubJobFile(job(ImportJob.Status.RUNNING));
+        when(executor.awaitTermination(anyLong(), any(TimeUnit.class))).thenReturn(true);
+        when(animeImportService.importEntries(any(), any(Reader.class), anyBoolean(), anyInt(), any(), any()))
+                .thenAnswer(invocation -> {
+                    AnimeImportService.ImportProgress progress = invocation.getArgument(5);
+                    progress.committed(1, new BulkImportResultDTO());
+                    importJobService.shutdown();
+                    assertTrue(progress.stopRequested());
+                    return new BulkImportResultDTO();
+                });
+
+        importJobService.run("j1");
+
+        verify(executor).shutdown();
+        verify(executor, never()).shutdownNow();
+        List<Update> updates = capturedUpdates();
+        assertEquals(ImportJob.Status.INTERRUPTED, setOf(updates.get(updates.size() - 1)).get("status"));
+        verify(gridFsTemplate, never()).delete(any(Query.class));
+    }
+
+    @Test
+    @DisplayName("Should not start queued jobs once shutdown has begun")
+    void run_SkipsJobsAfterShutdown() throws Exception {
+        when(importJobRepository.findById("j1")).thenReturn(Optional.of(job(ImportJob.Status.QUEUED)));
+        importJobService.shutdown();
+
+        importJobService.run("j1");
+
+        verifyNoInteractions(mongoTemplate, animeImportService);
+    }
+
+    @Test
+    @DisplayName("Should queue a failed job again and refuse to resume a completed one")
+    void resume_FailedOnly() {
+        when(importJobRepository.findById("j1")).thenReturn(Optional.of(job(ImportJob.Status.FAILED)));
+        stubUpdates();
+
+        ImportJob resumed = importJobService.resume("j1");
+
+        assertEquals(ImportJob.Status.QUEUED, resumed.getStatus());
+        verify(executor).execute(any(Runnable.class));
+
+        when(importJobRepository.findById("j2")).thenReturn(Optional.of(job(ImportJob.Status.COMPLETED)));
+        assertThrows(ValidationException.class, () -> importJobService.resume("j2"));
+    }
+
+    @Test
+    @DisplayName("Should close the stream right away when subscribing to a finished job")
+    void subscribe_FinishedJob() {
+        when(importJobRepository.findById("j1")).thenReturn(Optional.of(job(ImportJob.Status.COMPLETED)));
+
+        SseEmitter emitter = importJobService.subscribe("j1");
+
+        assertThrows(IllegalStateException.class, () -> emitter.send("more"));
+    }
+
+    @Test
+    @DisplayName("Should close the stream when the job finishes while the subscriber registers")
+    void subscribe_JobFinishesDuringRegistration() throws Exception {
+        when(importJobRepository.findById("j1")).thenReturn(
+                Optional.of(job(ImportJob.Status.RUNNING)), Optional.of(job(ImportJob.Status.COMPLETED)));
+
+        SseEmitter closed = importJobService.subscribe("j1");
+        assertThrows(IllegalStateException.class, () -> closed.send("more"));
+
+        when(importJobRepository.findById("j1")).thenReturn(Optional.of(job(ImportJob.Status.RUNNING)));
+        SseEmitter open = importJobService.subscribe("j1");
+        open.send("more");
+    }
+
+    private void stubJobFile(ImportJob job) throws Exception {
+        when(importJobRepository.findById("j1")).thenReturn(Optional.of(job));
+        stubUpdates();
+        GridFSFile file = new GridFSFile(new BsonString("f1"), "anime.json", 2, 255, new Date(), new Document());
+        when(gridFsTemplate.findOne(any(Query.class))).thenReturn(file);
+        when(gridFsTemplate.getResource(file)).thenReturn(resource);
+        when(resource.getInputStream()).thenReturn(new ByteArrayInputStream("[]".getBytes()));
+    }
+
+    /**
+     * Every job update returns the job with the status it sets, RUNNING otherwise
+     */
+    private void stubUpdates() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(ImportJob.class))).thenAnswer(invocation -> {
+                    Object status = setOf(invocation.getArgument(1)).get("status");
+                    return job(status != null ? (ImportJob.Status) status : ImportJob.Status.RUNNING);
+                });
+    }
+
+    private List<Update> capturedUpdates() {
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, atLeastOnce()).findAndModify(any(Query.class), updates.capture(),
+                any(FindAndModifyOptions.class), eq(ImportJob.class));
+        return updates.getAllValues();
+    }
+
+    private static Document setOf(Update update) {
+        return (Document) update.getUpdateObject().get("$set");
+    }
+
+    private static ImportJob job(ImportJob.Status status) {
+        return ImportJob.builder().id("j1").status(status).format(ImportJob.Format.JSON).fileId("f1").build();
+    }
+}
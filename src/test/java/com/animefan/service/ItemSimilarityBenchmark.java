@@ -0,0 +1,58 @@
+package com.animefan.service;
+
+import com.animefan.model.AnimeNeighbors;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Item-item similarity on a synthetic dataset of one million list entries
+ * (50k users, 15k anime, popularity skewed towards a head of titles).
+ * Run with: mvn test -Dtest=ItemSimilarityBenchmark -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ItemSimilarityBenchmark {
+
+    private static final int USERS = 50_000;
+    private static final int ANIME = 15_000;
+    private static final int RELATIONS = 1_000_000;
+
+    @Test
+    void computeNeighborsForOneMillionRelations() {
+        Random random = new Random(42);
+        long start = System.nanoTime();
+        ItemSimilarityEngine.Matrix.Builder builder = ItemSimilarityEngine.matrix();
+        for (int n = 0; n < RELATIONS; n++) {
+            int user = random.nextInt(USERS);
+            // Squaring a uniform value skews picks towards low (popular) ids
+            double u = random.nextDouble();
+            int anime = (int) (u * u * ANIME);
+            builder.add("u" + user, "a" + anime, 0.3f + random.nextInt(8) / 10.0f);
+        }
+        ItemSimilarityEngine.Matrix matrix = builder.build(500);
+        long built = System.nanoTime();
+
+        ItemSimilarityEngine engine = new ItemSimilarityEngine(20, 10);
+        for (int parallelism : new int[]{1, Runtime.getRuntime().availableProcessors()}) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                long computeStart = System.nanoTime();
+                Map<String, List<AnimeNeighbors.Neighbor>> result = engine.compute(matrix, pool);
+                long computed = System.nanoTime();
+                System.out.printf("parallelism=%d: %d interactions, %d users, %d anime -> neighbours for %d anime in %d ms%n",
+                        parallelism, matrix.interactions(), matrix.users(), matrix.items(), result.size(),
+                        (computed - computeStart) / 1_000_000);
+                assertFalse(result.isEmpty());
+            } finally {
+                pool.shutdown();
+            }
+        }
+        System.out.printf("matrix build: %d ms%n", (built - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,87 @@
+package com.animefan.service;
+
+import com.animefan.model.AnimeNeighbors;
+import com.animefan.model.UserAnimeRelation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemSimilarityEngineTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(2);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should rank anime sharing more users as closer neighbours")
+    void compute_RanksByCoOccurrence() {
+        ItemSimilarityEngine.Matrix matrix = ItemSimilarityEngine.matrix()
+                .add("u1", "a", 1).add("u1", "b", 1).add("u1", "c", 1)
+                .add("u2", "a", 1).add("u2", "b", 1)
+                .add("u3", "a", 1).add("u3", "b", 1)
+                .add("u4", "d", 1)
+                .build(100);
+
+        Map<String, List<AnimeNeighbors.Neighbor>> result = new ItemSimilarityEngine(5, 0).compute(matrix, pool);
+
+        assertEquals(List.of("b", "c"), ids(result.get("a")));
+        assertEquals(1.0, result.get("a").get(0).getScore(), 1e-6);
+        assertEquals(1 / Math.sqrt(3), result.get("a").get(1).getScore(), 1e-6);
+        assertFalse(result.containsKey("d"));
+    }
+
+    @Test
+    @DisplayName("Should keep only top-K neighbours, best first")
+    void compute_KeepsTopK() {
+        ItemSimilarityEngine.Matrix.Builder builder = ItemSimilarityEngine.matrix();
+        for (int item = 0; item < 10; item++) {
+            // Item i is shared with "x" by i + 1 users
+            for (int user = 0; user <= item; user++) {
+                builder.add("u" + item + "-" + user, "x", 1).add("u" + item + "-" + user, "i" + item, 1);
+            }
+        }
+
+        List<AnimeNeighbors.Neighbor> neighbors = new ItemSimilarityEngine(3, 0)
+                .compute(builder.build(100), pool).get("x");
+
+        assertEquals(List.of("i9", "i8", "i7"), ids(neighbors));
+    }
+
+    @Test
+    @DisplayName("Should drop a user's weakest interactions beyond the degree cap")
+    void build_TruncatesLargeLists() {
+        ItemSimilarityEngine.Matrix matrix = ItemSimilarityEngine.matrix()
+                .add("u1", "a", 0.3f).add("u1", "b", 1.0f).add("u1", "c", 0.8f)
+                .build(2);
+
+        assertEquals(2, matrix.interactions());
+        Map<String, List<AnimeNeighbors.Neighbor>> result = new ItemSimilarityEngine(5, 0).compute(matrix, pool);
+        assertEquals(List.of("c"), ids(result.get("b")));
+        assertFalse(result.containsKey("a"));
+    }
+
+    @Test
+    @DisplayName("Should weight completed and favourite entries above dropped ones")
+    void weight_ReflectsStatusRatingAndFavorite() {
+        float completed = ItemSimilarityEngine.weight(UserAnimeRelation.Status.COMPLETED, null, false);
+        float favorite = ItemSimilarityEngine.weight(UserAnimeRelation.Status.COMPLETED, 10, true);
+        float dropped = ItemSimilarityEngine.weight(UserAnimeRelation.Status.DROPPED, 1, false);
+
+        assertTrue(favorite > completed);
+        assertTrue(completed > dropped);
+        assertTrue(dropped > 0);
+    }
+
+    private static List<String> ids(List<AnimeNeighbors.Neighbor> neighbors) {
+        return neighbors.stream().map(AnimeNeighbors.Neighbor::getAnimeId).toList();
+    }
+}
@@ -0,0 +1,73 @@
+package com.animefan.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Similar-user lookup over one million synthetic users (about 20 completed/favorite anime each,
+ * popularity skewed towards a head of titles). Every 1000th user is a near copy of the previous
+ * one, so recall of planted pairs can be checked alongside lookup latency.
+ * Run with: mvn test -Dtest=MinHashIndexBenchmark -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class MinHashIndexBenchmark {
+
+    private static final int USERS = 1_000_000;
+    private static final int ANIME = 15_000;
+    private static final int QUERIES = 1_000;
+
+    @Test
+    void similarUsersAmongOneMillion() {
+        Random random = new Random(42);
+        MinHashIndex index = new MinHashIndex(16, 4, 7);
+
+        long start = System.nanoTime();
+        List<String> previous = List.of();
+        for (int user = 0; user < USERS; user++) {
+            List<String> set;
+            if (user % 1000 == 1) {
+                // Planted near duplicate: previous user's set with one title swapped
+                set = new ArrayList<>(previous);
+                set.set(0, "a" + random.nextInt(ANIME));
+            } else {
+                int size = 5 + random.nextInt(30);
+                set = new ArrayList<>(size);
+                for (int n = 0; n < size; n++) {
+                    double u = random.nextDouble();
+                    set.add("a" + (int) (u * u * ANIME));
+                }
+            }
+            index.put("u" + user, set);
+            previous = set;
+        }
+        long built = System.nanoTime();
+        System.out.printf("indexed %d users in %d ms%n", index.size(), (built - start) / 1_000_000);
+
+        int found = 0;
+        long queryStart = System.nanoTime();
+        for (int q = 0; q < QUERIES; q++) {
+            int user = q * (USERS / QUERIES);
+            List<MinHashIndex.Match> matches = index.query("u" + user, 10, 0.1);
+            if (matches.stream().anyMatch(match -> match.key().equals("u" + (user + 1)))) {
+                found++;
+            }
+        }
+        long queried = System.nanoTime();
+        System.out.printf("%d lookups: %.3f ms avg, planted pair recall %d/%d%n",
+                QUERIES, (queried - queryStart) / 1e6 / QUERIES, found, QUERIES);
+
+        long updateStart = System.nanoTime();
+        for (int n = 0; n < 10_000; n++) {
+            index.put("u" + random.nextInt(USERS), List.of("a" + random.nextInt(ANIME), "a" + random.nextInt(ANIME)));
+        }
+        System.out.printf("10000 incremental updates: %d ms%n", (System.nanoTime() - updateStart) / 1_000_000);
+
+        assertTrue(found > QUERIES * 9 / 10);
+    }
+}
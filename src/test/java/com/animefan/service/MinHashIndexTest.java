@@ -0,0 +1,71 @@
+package com.animefan.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MinHashIndexTest {
+
+    private final MinHashIndex index = new MinHashIndex(16, 4, 1);
+
+    @Test
+    @DisplayName("Should find near-identical sets and rank them by exact Jaccard")
+    void query_FindsSimilarSets() {
+        index.put("u1", range(0, 20));
+        index.put("u2", range(0, 19));
+        index.put("u3", range(0, 16));
+        index.put("u4", range(100, 120));
+
+        List<MinHashIndex.Match> matches = index.query("u1", 10, 0.1);
+
+        assertEquals(List.of("u2", "u3"), matches.stream().map(MinHashIndex.Match::key).toList());
+        assertEquals(19 / 20.0, matches.get(0).similarity(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should move a user between buckets when their set changes and drop removed users")
+    void put_ReplacesSignature() {
+        index.put("u1", range(0, 20));
+        index.put("u2", range(0, 20));
+        assertEquals(1, index.query("u1", 10, 0.1).size());
+
+        index.put("u2", range(200, 220));
+        assertTrue(index.query("u1", 10, 0.1).isEmpty());
+
+        index.put("u2", range(0, 20));
+        index.remove("u1");
+        assertTrue(index.query("u2", 10, 0.1).isEmpty());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    @DisplayName("Should keep every bucket reachable across several table rehashes")
+    void put_SurvivesRehashes() {
+        MinHashIndex singleBand = new MinHashIndex(1, 1, 7);
+        int pairs = 5_000;
+        for (int k = 0; k < pairs; k++) {
+            singleBand.put("a" + k, List.of("x" + k));
+            singleBand.put("b" + k, List.of("x" + k));
+        }
+
+        for (int k = 0; k < pairs; k++) {
+            List<String> matches = singleBand.query("b" + k, 10, 0.5).stream().map(MinHashIndex.Match::key).toList();
+            assertEquals(List.of("a" + k), matches, "pair " + k);
+        }
+    }
+
+    @Test
+    @DisplayName("Should compute exact Jaccard over sorted arrays")
+    void jaccard_SortedArrays() {
+        assertEquals(0.4, MinHashIndex.jaccard(new int[]{1, 2, 3}, new int[]{2, 3, 4, 5}), 1e-9);
+        assertEquals(0.0, MinHashIndex.jaccard(new int[]{1}, new int[]{2}), 1e-9);
+    }
+
+    private static List<String> range(int from, int to) {
+        return IntStream.range(from, to).mapToObj(i -> "a" + i).toList();
+    }
+}
@@ -0,0 +1,74 @@
+package com.animefan.service;
+
+import com.animefan.model.Anime;
+import com.animefan.model.AnimeNeighbors;
+import com.animefan.model.UserAnimeRelation;
+import com.animefan.repository.UserAnimeRelationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecommendationServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private UserAnimeRelationRepository relationRepository;
+
+    @InjectMocks
+    private RecommendationService recommendationService;
+
+    @BeforeEach
+    void setUp() {
+        when(mongoTemplate.find(any(Query.class), eq(AnimeNeighbors.class))).thenReturn(List.of(
+                neighbors("a1", "a2", 0.9, "a3", 0.5),
+                neighbors("a2", "a1", 0.9, "a4", 0.8)));
+        when(mongoTemplate.find(any(Query.class), eq(Anime.class))).thenAnswer(invocation -> List.of(
+                Anime.builder().id("a2").build(), Anime.builder().id("a3").build(), Anime.builder().id("a4").build()));
+    }
+
+    @Test
+    @DisplayName("Should serve also-watched anime in neighbour order")
+    void getAlsoWatched_NeighbourOrder() {
+        List<Anime> result = recommendationService.getAlsoWatched("a1", 5);
+
+        assertEquals(List.of("a2", "a3"), result.stream().map(Anime::getId).toList());
+        recommendationService.getAlsoWatched("a2", 5);
+        verify(mongoTemplate, times(1)).find(any(Query.class), eq(AnimeNeighbors.class));
+    }
+
+    @Test
+    @DisplayName("Should score neighbours of listed anime and exclude anime already in the list")
+    void getPersonalized_ExcludesListed() {
+        when(relationRepository.findByUserId("u1")).thenReturn(List.of(
+                UserAnimeRelation.builder().animeId("a1").status(UserAnimeRelation.Status.COMPLETED).favorite(false).build(),
+                UserAnimeRelation.builder().animeId("a2").status(UserAnimeRelation.Status.DROPPED).favorite(false).build()));
+
+        List<Anime> result = recommendationService.getPersonalized("u1", 10);
+
+        // a3: 1.0 * 0.5 from a1; a4: 0.1 * 0.8 from a2
+        assertEquals(List.of("a3", "a4"), result.stream().map(Anime::getId).toList());
+    }
+
+    private static AnimeNeighbors neighbors(String animeId, String first, double firstScore, String second, double secondScore) {
+        return AnimeNeighbors.builder()
+                .animeId(animeId)
+                .collaborative(List.of(new AnimeNeighbors.Neighbor(first, firstScore),
+                        new AnimeNeighbors.Neighbor(second, secondScore)))
+                .build();
+    }
+}
@@ -0,0 +1,82 @@
+package com.animefan.service;
+
+import com.animefan.event.ReviewCreatedEvent;
+import com.animefan.event.ReviewDeletedEvent;
+import com.animefan.event.UserReviewCount;
+import com.animefan.model.Review;
+import com.animefan.model.User;
+import com.animefan.repository.ReviewRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReviewerLeaderboardServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @InjectMocks
+    private ReviewerLeaderboardService leaderboardService;
+
+    @Test
+    @DisplayName("Should rank loaded users and re-rank on review events")
+    void getTopReviewers_ReRanksOnEvents() {
+        when(mongoTemplate.find(any(Query.class), eq(User.class))).thenReturn(List.of(
+                user("u1", "alice", 3), user("u2", "bob", 2), user("u3", "carol", 1)));
+        leaderboardService.rebuild();
+
+        leaderboardService.onReviewCreated(new ReviewCreatedEvent(review("u2")));
+        leaderboardService.onReviewCreated(new ReviewCreatedEvent(review("u2")));
+        leaderboardService.onReviewDeleted(new ReviewDeletedEvent(review("u3")));
+        leaderboardService.onReviewCreated(new ReviewCreatedEvent(Review.builder().userId("u4").username("dave").build()));
+
+        List<ReviewRepository.TopReviewer> top = leaderboardService.getTopReviewers(10);
+
+        assertEquals(List.of("u2", "u1", "u4"), top.stream().map(ReviewRepository.TopReviewer::getId).toList());
+        assertEquals(4L, top.get(0).getReviewCount());
+        assertEquals("dave", top.get(2).getUsername());
+        assertEquals(1, leaderboardService.getTopReviewers(1).size());
+        verify(mongoTemplate, times(1)).find(any(Query.class), eq(User.class));
+    }
+
+    @Test
+    @DisplayName("Should skip review events whose count change the reload already read")
+    void onReviewCreated_SkipsChangesAlreadyLoaded() {
+        User loadedAfterIncrement = user("u1", "alice", 3);
+        loadedAfterIncrement.setReviewCountVersion(5L);
+        when(mongoTemplate.find(any(Query.class), eq(User.class))).thenReturn(List.of(loadedAfterIncrement));
+        leaderboardService.rebuild();
+
+        leaderboardService.onReviewCreated(new ReviewCreatedEvent(review("u1"), new UserReviewCount(3, 5)));
+        assertEquals(3L, leaderboardService.getTopReviewers(1).get(0).getReviewCount());
+
+        leaderboardService.onReviewDeleted(new ReviewDeletedEvent(review("u1"), new UserReviewCount(1, 7)));
+        leaderboardService.onReviewCreated(new ReviewCreatedEvent(review("u1"), new UserReviewCount(2, 6)));
+        assertEquals(1L, leaderboardService.getTopReviewers(1).get(0).getReviewCount());
+        assertTrue(leaderboardService.getTopReviewers(-1).isEmpty());
+    }
+
+    private static User user(String id, String username, int reviewCount) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        user.setReviewCount(reviewCount);
+        return user;
+    }
+
+    private static Review review(String userId) {
+        return Review.builder().userId(userId).build();
+    }
+}
@@ -0,0 +1,141 @@
+package com.animefan.service;
+
+import com.animefan.event.AnimeBulkImportedEvent;
+import com.animefan.event.AnimeUpdatedEvent;
+import com.animefan.model.Anime;
+import com.animefan.model.Studio;
+import com.animefan.model.StudioStatistics;
+import com.animefan.repository.StudioStatisticsRepository;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StudioStatsServiceTest {
+
+    @Mock
+    private StudioStatisticsRepository studioStatisticsRepository;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @InjectMocks
+    private StudioStatsService studioStatsService;
+
+    @Test
+    @DisplayName("Should move an anime's count, rating and views to its new studio")
+    void onAnimeUpdated_StudioChanged() {
+        Anime anime = Anime.builder().id("a1").studioId("s2").rating(8.0).ratingCount(3).viewCount(40).build();
+
+        studioStatsService.onAnimeUpdated(new AnimeUpdatedEvent(anime, List.of(), null, null, "s1"));
+
+        ArgumentCaptor<Update> removed = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), removed.capture(), eq(StudioStatistics.class));
+        Document decrement = (Document) removed.getValue().getUpdateObject().get("$inc");
+        assertEquals(-1L, decrement.get("animeCount"));
+        assertEquals(-8.0, decrement.get("ratingSum"));
+        assertEquals(-40L, decrement.get("totalViews"));
+
+        ArgumentCaptor<Query> added = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).upsert(added.capture(), any(Update.class), eq(StudioStatistics.class));
+        assertEquals("s2", added.getValue().getQueryObject().get("studioId"));
+    }
+
+    @Test
+    @DisplayName("Should ignore updates that keep the studio")
+    void onAnimeUpdated_SameStudio() {
+        Anime anime = Anime.builder().id("a1").studioId("s1").build();
+
+        studioStatsService.onAnimeUpdated(new AnimeUpdatedEvent(anime, List.of(), null, null, "s1"));
+
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    @DisplayName("Should apply only the rating difference, counting an anime as rated from its first review")
+    void onRatingChanged_AppliesDifference() {
+        Anime previous = Anime.builder().studioId("s1").rating(0.0).ratingCount(0).build();
+
+        studioStatsService.onRatingChanged(previous, 7.5, 1);
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq(StudioStatistics.class));
+        Document increment = (Document) update.getValue().getUpdateObject().get("$inc");
+        assertEquals(0L, increment.get("animeCount"));
+        assertEquals(1L, increment.get("ratedAnimeCount"));
+        assertEquals(7.5, increment.get("ratingSum"));
+    }
+
+    @Test
+    @DisplayName("Should add bulk-imported anime to their studios with one increment per studio")
+    void onAnimeBulkImported_IncrementsPerStudio() {
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(Anime.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(
+                        new Document("_id", "s1").append("animeCount", 2).append("ratedAnimeCount", 1)
+                                .append("ratingSum", 8.0).append("totalViews", 0),
+                        new Document("_id", "s2").append("animeCount", 1).append("ratedAnimeCount", 0)
+                                .append("ratingSum", 0).append("totalViews", 0)), new Document()));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, StudioStatistics.class)).thenReturn(bulkOperations);
+
+        studioStatsService.onAnimeBulkImported(new AnimeBulkImportedEvent(List.of("a1", "a2", "a3")));
+
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(bulkOperations, times(2)).upsert(any(Query.class), updates.capture());
+        Document increment = (Document) updates.getAllValues().get(0).getUpdateObject().get("$inc");
+        assertEquals(2L, increment.get("animeCount"));
+        assertEquals(8.0, increment.get("ratingSum"));
+        verify(bulkOperations).execute();
+    }
+
+    @Test
+    @DisplayName("Should build statistics before dropping anime ID arrays from studios")
+    void migrateStudioMembership_RebuildsThenUnsets() {
+        when(mongoTemplate.exists(any(Query.class), eq(Studio.class))).thenReturn(true);
+        when(mongoTemplate.aggregate(any(Aggregation.class), eq(Anime.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(new Document("_id", "s1")
+                        .append("animeCount", 2).append("ratedAnimeCount", 1)
+                        .append("ratingSum", 8.0).append("totalViews", 15)), new Document()));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, StudioStatistics.class)).thenReturn(bulkOperations);
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(Studio.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        studioStatsService.migrateStudioMembership();
+
+        InOrder order = inOrder(bulkOperations, mongoTemplate);
+        order.verify(bulkOperations).execute();
+        ArgumentCaptor<Update> unset = ArgumentCaptor.forClass(Update.class);
+        order.verify(mongoTemplate).updateMulti(any(Query.class), unset.capture(), eq(Studio.class));
+        assertTrue(((Document) unset.getValue().getUpdateObject().get("$unset")).containsKey("animeIds"));
+    }
+
+    @Test
+    @DisplayName("Should average rating over rated anime only")
+    void avgRating_RatedAnimeOnly() {
+        StudioStatistics stats = StudioStatistics.builder().animeCount(3).ratedAnimeCount(2).ratingSum(15.5).build();
+
+        assertEquals(7.8, stats.getAvgRating());
+        assertNull(StudioStatistics.builder().animeCount(1).build().getAvgRating());
+    }
+}
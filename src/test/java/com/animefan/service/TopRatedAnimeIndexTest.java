@@ -0,0 +1,81 @@
+package com.animefan.service;
+
+import com.animefan.model.Anime;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TopRatedAnimeIndexTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @InjectMocks
+    private TopRatedAnimeIndex index;
+
+    @BeforeEach
+    void setUp() {
+        when(mongoTemplate.find(any(Query.class), eq(Anime.class))).thenReturn(new ArrayList<>(List.of(
+                anime("a1", 8.5, 20), anime("a2", 9.1, 15), anime("a3", 7.0, 40))));
+        index.rebuild();
+    }
+
+    @Test
+    @DisplayName("Should answer top-N from memory in rating order")
+    void getTop_OrderedByRating() {
+        assertEquals(List.of("a2", "a1"), ids(index.getTop(2)));
+        assertEquals(3, index.getTop(50).size());
+        verify(mongoTemplate, times(1)).find(any(Query.class), eq(Anime.class));
+    }
+
+    @Test
+    @DisplayName("Should load only the fields the ranked lists display")
+    void rebuild_ProjectsListedFields() {
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(Anime.class));
+
+        Document fields = query.getValue().getFieldsObject();
+        assertEquals(1, fields.get("title"));
+        assertEquals(1, fields.get("studioName"));
+        assertFalse(fields.containsKey("description"));
+        assertFalse(fields.containsKey("relatedAnime"));
+    }
+
+    @Test
+    @DisplayName("Should re-position anime on rating change and drop it below threshold")
+    void onRatingChanged_UpdatesInPlace() {
+        when(mongoTemplate.findOne(any(Query.class), eq(Anime.class))).thenReturn(anime("a3", 7.0, 40));
+        List<Anime> before = index.getTop(3);
+
+        index.onRatingChanged("a3", 9.5, 41);
+        assertEquals(List.of("a3", "a2", "a1"), ids(index.getTop(3)));
+        assertEquals(List.of("a2", "a1", "a3"), ids(before));
+
+        index.onRatingChanged("a2", 9.0, 5);
+        assertEquals(List.of("a3", "a1"), ids(index.getTop(10)));
+    }
+
+    private static List<String> ids(List<Anime> anime) {
+        return anime.stream().map(Anime::getId).toList();
+    }
+
+    private static Anime anime(String id, double rating, int ratingCount) {
+        return Anime.builder().id(id).title(id).rating(rating).ratingCount(ratingCount).build();
+    }
+}
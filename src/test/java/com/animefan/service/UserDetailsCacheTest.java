@@ -0,0 +1,49 @@
+package com.animefan.service;
+
+import com.animefan.event.UserDeletedEvent;
+import com.animefan.model.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.CachingUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserDetailsCacheTest {
+
+    private final UserDetailsCache userDetailsCache = new UserDetailsCache(100, 60);
+
+    @Test
+    @DisplayName("Should load a user once for repeated remember-me lookups until evicted")
+    void cachingUserDetailsService_LoadsOnceUntilEvicted() {
+        UserDetailsService userService = mock(UserDetailsService.class);
+        when(userService.loadUserByUsername("testuser")).thenReturn(user("1", "testuser"));
+        CachingUserDetailsService caching = new CachingUserDetailsService(userService);
+        caching.setUserCache(userDetailsCache);
+
+        caching.loadUserByUsername("testuser");
+        caching.loadUserByUsername("testuser");
+        userDetailsCache.removeUserFromCache("testuser");
+        caching.loadUserByUsername("testuser");
+
+        verify(userService, times(2)).loadUserByUsername("testuser");
+    }
+
+    @Test
+    @DisplayName("Should drop a deleted user found by ID")
+    void onUserDeleted_RemovesById() {
+        userDetailsCache.putUserInCache(user("1", "first"));
+        userDetailsCache.putUserInCache(user("2", "second"));
+
+        userDetailsCache.onUserDeleted(new UserDeletedEvent("1"));
+
+        assertNull(userDetailsCache.getUserFromCache("first"));
+        assertNotNull(userDetailsCache.getUserFromCache("second"));
+        assertEquals(1, userDetailsCache.size());
+    }
+
+    private static User user(String id, String username) {
+        return User.builder().id(id).username(username).password("hash").role(User.Role.USER).enabled(true).build();
+    }
+}
@@ -11,6 +11,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
@@ -29,6 +30,12 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private UserDetailsCache userDetailsCache;
+
     @InjectMocks
     private UserService userService;
 
@@ -142,6 +149,7 @@ class UserServiceTest {
             userService.changePassword("1", "oldPassword", "newPassword");
         });
         verify(userRepository).save(any(User.class));
+        verify(userDetailsCache).removeUserFromCache("testuser");
     }
 
     @Test
@@ -153,6 +161,7 @@ class UserServiceTest {
         assertThrows(ValidationException.class, () -> {
             userService.changePassword("1", "wrongPassword", "newPassword");
         });
+        verifyNoInteractions(userDetailsCache);
     }
 
     @Test
@@ -166,4 +175,15 @@ class UserServiceTest {
         assertNotNull(result);
         assertEquals(User.Role.ADMIN, result.getRole());
     }
+
+    @Test
+    @DisplayName("Should drop a disabled user from the authentication cache")
+    void setUserEnabled_EvictsCachedUser() {
+        when(userRepository.findById("1")).thenReturn(Optional.of(testUser));
+        when(userRepository.save(any(User.class))).thenReturn(testUser);
+
+        userService.setUserEnabled("1", false);
+
+        verify(userDetailsCache).removeUserFromCache("testuser");
+    }
 }
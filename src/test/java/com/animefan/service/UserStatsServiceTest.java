@@ -0,0 +1,138 @@
+package com.animefan.service;
+
+import com.animefan.event.ReviewCreatedEvent;
+import com.animefan.event.UserAnimeRelationChangedEvent;
+import com.animefan.model.Anime;
+import com.animefan.model.GenreAffinity;
+import com.animefan.model.ListCounters;
+import com.animefan.model.Review;
+import com.animefan.model.UserAnimeRelation;
+import com.animefan.model.UserStatistics;
+import com.animefan.repository.ReviewRepository;
+import com.animefan.repository.UserAnimeRelationRepository;
+import com.animefan.repository.UserStatisticsRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserStatsServiceTest {
+
+    @Mock
+    private UserStatisticsRepository userStatisticsRepository;
+
+    @Mock
+    private UserAnimeRelationRepository relationRepository;
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @InjectMocks
+    private UserStatsService userStatsService;
+
+    @Test
+    @DisplayName("Should move counter between statuses on status change")
+    void onRelationChanged_StatusTransition() {
+        userStatsService.onRelationChanged(new UserAnimeRelationChangedEvent("u1", "a1",
+                UserAnimeRelation.Status.WATCHING, UserAnimeRelation.Status.COMPLETED, false, true, null));
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq(UserStatistics.class));
+
+        Document inc = (Document) update.getValue().getUpdateObject().get("$inc");
+        assertEquals(-1, inc.get("counters.watching"));
+        assertEquals(1, inc.get("counters.completed"));
+        assertEquals(1, inc.get("counters.favorites"));
+    }
+
+    @Test
+    @DisplayName("Should skip update when nothing relevant changed")
+    void onRelationChanged_NoChange() {
+        userStatsService.onRelationChanged(new UserAnimeRelationChangedEvent("u1", "a1",
+                UserAnimeRelation.Status.WATCHING, UserAnimeRelation.Status.WATCHING, true, true, null));
+
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    @DisplayName("Should increment review counter on new review")
+    void onReviewCreated_IncrementsReviews() {
+        userStatsService.onReviewCreated(new ReviewCreatedEvent(Review.builder().userId("u1").build()));
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq(UserStatistics.class));
+        assertEquals(1, ((Document) update.getValue().getUpdateObject().get("$inc")).get("counters.reviews"));
+    }
+
+    @Test
+    @DisplayName("Should rebuild counters when document is missing")
+    void getUserStatistics_RebuildsWhenMissing() {
+        ListCounters totals = ListCounters.builder().watching(2).completed(3).favorites(1).build();
+        when(userStatisticsRepository.findById("u1")).thenReturn(Optional.empty());
+        when(relationRepository.countListEntries("userId", List.of("u1"))).thenReturn(Map.of("u1", totals));
+        when(reviewRepository.countByUserId("u1")).thenReturn(4L);
+        when(userStatisticsRepository.save(any(UserStatistics.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        UserStatistics result = userStatsService.getUserStatistics("u1");
+
+        assertEquals(2, result.getCounters().getWatching());
+        assertEquals(3, result.getCounters().getCompleted());
+        assertEquals(0, result.getCounters().getDropped());
+        assertEquals(4, result.getCounters().getReviews());
+        assertEquals(5, result.getCounters().totalInList());
+        verify(userStatisticsRepository).save(any(UserStatistics.class));
+    }
+
+    @Test
+    @DisplayName("Should add anime genres to affinity vector on completion")
+    void onRelationChanged_UpdatesGenreAffinity() {
+        when(mongoTemplate.findOne(any(Query.class), eq(Anime.class)))
+                .thenReturn(Anime.builder().id("a1").genres(List.of("Action", "Drama")).build());
+
+        userStatsService.onRelationChanged(new UserAnimeRelationChangedEvent("u1", "a1",
+                UserAnimeRelation.Status.WATCHING, UserAnimeRelation.Status.COMPLETED, false, false, null, 8));
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(2)).updateFirst(any(Query.class), update.capture(), eq(UserStatistics.class));
+        Document inc = (Document) update.getAllValues().get(1).getUpdateObject().get("$inc");
+        assertEquals(1L, inc.get("genreAffinity.Action.count"));
+        assertEquals(8L, inc.get("genreAffinity.Drama.ratingSum"));
+        assertEquals(1L, inc.get("genreAffinity.Drama.ratedCount"));
+    }
+
+    @Test
+    @DisplayName("Should compute genre preferences once and serve them from the stored vector")
+    void getGenrePreferences_ComputesWhenMissing() {
+        when(userStatisticsRepository.findById("u1"))
+                .thenReturn(Optional.of(UserStatistics.builder().userId("u1").build()));
+        when(relationRepository.computeGenreAffinity("u1")).thenReturn(Map.of(
+                "Action", GenreAffinity.builder().count(2).ratingSum(15).ratedCount(2).build(),
+                "Drama", GenreAffinity.builder().count(5).build()));
+
+        List<UserAnimeRelationRepository.GenrePreference> preferences = userStatsService.getGenrePreferences("u1", 10);
+
+        assertEquals(List.of("Drama", "Action"), preferences.stream().map(UserAnimeRelationRepository.GenrePreference::getId).toList());
+        assertEquals(7.5, preferences.get(1).getAvgRating());
+        assertNull(preferences.get(0).getAvgRating());
+        verify(mongoTemplate).updateFirst(any(Query.class), any(Update.class), eq(UserStatistics.class));
+    }
+}
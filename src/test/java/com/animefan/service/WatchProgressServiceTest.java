@@ -0,0 +1,110 @@
+package com.animefan.service;
+
+import com.animefan.dto.WatchProgressDTO;
+import com.animefan.model.WatchProgress;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WatchProgressServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    private WatchProgressService watchProgressService;
+
+    @BeforeEach
+    void setUp() {
+        watchProgressService = new WatchProgressService(mongoTemplate, 1000, 60);
+    }
+
+    @Test
+    @DisplayName("Should coalesce heartbeats for the same episode into one upsert of the latest position")
+    void flush_CoalescesHeartbeats() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, WatchProgress.class)).thenReturn(bulkOperations);
+
+        watchProgressService.heartbeat("u1", heartbeat("a1", 3, 10));
+        watchProgressService.heartbeat("u1", heartbeat("a1", 3, 20));
+        watchProgressService.heartbeat("u1", heartbeat("a1", 3, 30));
+        watchProgressService.heartbeat("u1", heartbeat("a1", 4, 5));
+        watchProgressService.flush();
+
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(bulkOperations, times(2)).upsert(queries.capture(), updates.capture());
+        verify(bulkOperations).execute();
+        int episode3 = queries.getAllValues().get(0).getQueryObject().get("id").equals("u1:a1:3") ? 0 : 1;
+        assertEquals(30, ((Document) updates.getAllValues().get(episode3).getUpdateObject().get("$set")).get("position"));
+        assertEquals(0, watchProgressService.pendingCount());
+    }
+
+    @Test
+    @DisplayName("Should answer resume lookups from memory, including unflushed positions")
+    void getResumePosition_FromMemory() {
+        watchProgressService.heartbeat("u1", heartbeat("a1", 1, 754));
+
+        Optional<WatchProgressDTO> resume = watchProgressService.getResumePosition("u1", "a1", 1);
+
+        assertTrue(resume.isPresent());
+        assertEquals(754, resume.get().getPosition());
+        verify(mongoTemplate, never()).findById(any(), eq(WatchProgress.class));
+    }
+
+    @Test
+    @DisplayName("Should load a missing position once and remember that the episode was never played")
+    void getResumePosition_CachesMisses() {
+        watchProgressService.getResumePosition("u1", "a1", 2);
+        Optional<WatchProgressDTO> resume = watchProgressService.getResumePosition("u1", "a1", 2);
+
+        assertTrue(resume.isEmpty());
+        verify(mongoTemplate, times(1)).findById("u1:a1:2", WatchProgress.class);
+    }
+
+    @Test
+    @DisplayName("Should restart a nearly finished episode from the beginning")
+    void getResumePosition_Completed() {
+        WatchProgressDTO heartbeat = heartbeat("a1", 1, 1400);
+        heartbeat.setDuration(1440);
+        watchProgressService.heartbeat("u1", heartbeat);
+
+        WatchProgressDTO resume = watchProgressService.getResumePosition("u1", "a1", 1).orElseThrow();
+
+        assertTrue(resume.isCompleted());
+        assertEquals(0, resume.getPosition());
+    }
+
+    @Test
+    @DisplayName("Should keep positions pending when the bulk write fails")
+    void flush_RequeuesOnFailure() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, WatchProgress.class)).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenThrow(new RuntimeException("unavailable"));
+
+        watchProgressService.heartbeat("u1", heartbeat("a1", 1, 60));
+        watchProgressService.flush();
+
+        assertEquals(1, watchProgressService.pendingCount());
+    }
+
+    private static WatchProgressDTO heartbeat(String animeId, int episode, int position) {
+        return WatchProgressDTO.builder().animeId(animeId).episode(episode).position(position).build();
+    }
+}